@@ -0,0 +1,108 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.JsonUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Deterministic bookings and data files shared by the benchmarks. Files are written once per
+ * size under {@code target/jmh-data} and reused by later runs.
+ */
+final class BenchmarkData {
+
+    private static final String[] NAMES = {"John", "Jane", "Alice", "Bob", "Charlie", "David", "Eva", "Frank"};
+
+    private BenchmarkData() {
+    }
+
+    static Booking booking(int i, int additionalneedsLength) {
+        return new Booking(NAMES[i % NAMES.length], "Doe" + i, 100 + i % 5000, i % 2 == 0,
+                new BookingDates("2021-01-01", "2021-01-10"), needs(additionalneedsLength));
+    }
+
+    static String needs(int length) {
+        StringBuilder needs = new StringBuilder(length);
+        while (needs.length() < length) {
+            needs.append("Breakfast, ");
+        }
+        needs.setLength(length);
+        return needs.toString();
+    }
+
+    static Path csv(int rows) throws IOException {
+        Path file = file("bookings-" + rows + ".csv");
+        if (!Files.exists(file)) {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("firstname,lastname,totalprice,depositpaid,checkin,checkout,additionalneeds\n");
+                for (int i = 0; i < rows; i++) {
+                    Booking booking = booking(i, 16);
+                    writer.write(booking.getFirstname() + "," + booking.getLastname() + "," + booking.getTotalprice() + ","
+                            + booking.isDepositpaid() + ",2021-01-01,2021-01-10,\"" + booking.getAdditionalneeds() + "\"\n");
+                }
+            }
+        }
+        return file;
+    }
+
+    static Path json(int rows) throws IOException {
+        Path file = file("bookings-" + rows + ".json");
+        if (!Files.exists(file)) {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write('[');
+                for (int i = 0; i < rows; i++) {
+                    if (i > 0) {
+                        writer.write(",\n");
+                    }
+                    writer.write(JsonUtil.toJson(booking(i, 16)));
+                }
+                writer.write(']');
+            }
+        }
+        return file;
+    }
+
+    static Path xlsx(int rows) throws IOException {
+        Path file = file("bookings-" + rows + ".xlsx");
+        if (!Files.exists(file)) {
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(file)) {
+                Sheet sheet = workbook.createSheet("Bookings");
+                String[] header = {"firstname", "lastname", "totalprice", "depositpaid", "checkin", "checkout", "additionalneeds"};
+                Row first = sheet.createRow(0);
+                for (int c = 0; c < header.length; c++) {
+                    first.createCell(c).setCellValue(header[c]);
+                }
+                for (int i = 0; i < rows; i++) {
+                    Booking booking = booking(i, 16);
+                    Row row = sheet.createRow(i + 1);
+                    row.createCell(0).setCellValue(booking.getFirstname());
+                    row.createCell(1).setCellValue(booking.getLastname());
+                    row.createCell(2).setCellValue(booking.getTotalprice());
+                    row.createCell(3).setCellValue(booking.isDepositpaid());
+                    row.createCell(4).setCellValue("2021-01-01");
+                    row.createCell(5).setCellValue("2021-01-10");
+                    row.createCell(6).setCellValue(booking.getAdditionalneeds());
+                }
+                workbook.write(out);
+                workbook.dispose();
+            }
+        }
+        return file;
+    }
+
+    private static Path file(String name) throws IOException {
+        Path dir = Paths.get("target", "jmh-data");
+        Files.createDirectories(dir);
+        return dir.resolve(name);
+    }
+}
@@ -0,0 +1,66 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BookingClient.getBooking} against the embedded server, reading 16 hot bookings from
+ * four threads, with and without the client-side cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BookingCacheBenchmark {
+
+    @Param({"0", "1000"})
+    int cacheEntries;
+
+    private EmbeddedBookerServer server;
+    private BookingClient client;
+    private int[] ids;
+
+    @Setup
+    public void setUp() {
+        server = new EmbeddedBookerServer(0).start();
+        client = BookingClient.builder(server.getBaseUri()).cache(cacheEntries, Duration.ofMinutes(5)).build();
+        ids = new int[16];
+        for (int i = 0; i < ids.length; i++) {
+            Booking booking = new Booking("Hot" + i, "Doe", 100, true, new BookingDates("2021-01-01", "2021-01-02"), "Breakfast");
+            ids[i] = client.createBooking(booking).join().getBookingid();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public Booking getHotBooking() {
+        return client.getBooking(ids[ThreadLocalRandom.current().nextInt(ids.length)]).join();
+    }
+}
@@ -0,0 +1,86 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@code GET /booking/{id}} against the embedded server through a RestAssured chain (the previous
+ * path) and through {@link BookingClient}, one request at a time to compare per-request overhead,
+ * then with the client keeping 32 requests in flight from a single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingClientBenchmark {
+
+    private static final int IN_FLIGHT = 32;
+
+    private EmbeddedBookerServer server;
+    private BookingClient client;
+    private RequestSpecification spec;
+    private int id;
+
+    @Setup
+    public void setUp() {
+        server = new EmbeddedBookerServer(0).start();
+        client = BookingClient.builder(server.getBaseUri()).maxConcurrentRequests(IN_FLIGHT).build();
+        spec = new RequestSpecBuilder()
+                .setBaseUri(server.getBaseUri())
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Accept", "application/json")
+                .build();
+        Booking booking = new Booking("John", "Doe", 123, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+        id = client.createBooking(booking).join().getBookingid();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public ValidatableResponse restAssured() {
+        return given(spec).get("/booking/" + id).then().statusCode(200);
+    }
+
+    @Benchmark
+    public Booking bookingClient() {
+        return client.getBooking(id).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public void bookingClientPipelined() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            requests[i] = client.getBooking(id);
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+}
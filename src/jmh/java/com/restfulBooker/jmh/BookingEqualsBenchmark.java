@@ -0,0 +1,59 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Lombok-generated {@link Booking#equals} and {@link Booking#hashCode}, which the tests use
+ * to compare expected and returned bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingEqualsBenchmark {
+
+    @Param({"16", "4096"})
+    int additionalneedsLength;
+
+    private Booking booking;
+    private Booking equalCopy;
+    private Booking differentLast;
+
+    @Setup
+    public void setUp() {
+        booking = BenchmarkData.booking(1, additionalneedsLength);
+        equalCopy = BenchmarkData.booking(1, additionalneedsLength);
+        differentLast = BenchmarkData.booking(1, additionalneedsLength);
+        differentLast.setAdditionalneeds(differentLast.getAdditionalneeds() + "!");
+    }
+
+    @Benchmark
+    public boolean equalsEqual() {
+        return booking.equals(equalCopy);
+    }
+
+    @Benchmark
+    public boolean equalsDifferentAtEnd() {
+        return booking.equals(differentLast);
+    }
+
+    @Benchmark
+    public int hashCodeBooking() {
+        return booking.hashCode();
+    }
+}
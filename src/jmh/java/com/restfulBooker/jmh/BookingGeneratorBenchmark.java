@@ -0,0 +1,59 @@
+package com.restfulBooker.jmh;
+
+import com.github.javafaker.Faker;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.BookingGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one synthetic booking: {@link BookingGenerator} against building the same shape with a
+ * Faker lookup per field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingGeneratorBenchmark {
+
+    private BookingGenerator generator;
+    private Faker faker;
+    private SimpleDateFormat format;
+    private long index;
+
+    @Setup
+    public void setUp() {
+        generator = new BookingGenerator(1);
+        faker = new Faker(Locale.ENGLISH, new Random(1));
+        format = new SimpleDateFormat("yyyy-MM-dd");
+    }
+
+    @Benchmark
+    public Booking generator() {
+        return generator.booking(index++ % generator.capacity());
+    }
+
+    @Benchmark
+    public Booking faker() {
+        return new Booking(faker.name().firstName(), faker.name().lastName(), faker.number().numberBetween(50, 5000),
+                faker.bool().bool(),
+                new BookingDates(format.format(faker.date().future(365, TimeUnit.DAYS)), format.format(faker.date().future(400, TimeUnit.DAYS))),
+                faker.food().dish());
+    }
+}
@@ -0,0 +1,62 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.CsvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Summing the prices of a large booking CSV through commons-csv and through the memory-mapped
+ * reader, sequential and parallel. The commons-csv path holds every row, so give the fork a
+ * heap several times the file size for more rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvReadBenchmark {
+
+    @Param({"100000", "1000000"})
+    int rows;
+
+    private String csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = BenchmarkData.csv(rows).toString();
+    }
+
+    @Benchmark
+    public long commonsCsv() throws IOException {
+        return CsvUtil.readBookingsFromCsv(csv).stream().mapToLong(Booking::getTotalprice).sum();
+    }
+
+    @Benchmark
+    public long mappedSequential() throws IOException {
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv, false)) {
+            return bookings.mapToLong(Booking::getTotalprice).sum();
+        }
+    }
+
+    @Benchmark
+    public long mappedParallel() throws IOException {
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv, true)) {
+            return bookings.mapToLong(Booking::getTotalprice).sum();
+        }
+    }
+}
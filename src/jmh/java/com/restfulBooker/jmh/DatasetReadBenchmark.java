@@ -0,0 +1,114 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.BookingDataset;
+import com.restfulBooker.utilities.CsvUtil;
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.JsonFileUtil;
+import com.restfulBooker.utilities.WorkbookCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading a whole booking dataset through {@link CsvUtil}, {@link JsonFileUtil} and
+ * {@link ExcelUtil#getDataList()}, each with its list and streaming variant, and through the
+ * precompiled {@link BookingDataset}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatasetReadBenchmark {
+
+    @Param({"100", "10000"})
+    int rows;
+
+    private String csv;
+    private String json;
+    private String xlsx;
+
+    @Setup
+    public void setUp() throws IOException {
+        csv = BenchmarkData.csv(rows).toString();
+        json = BenchmarkData.json(rows).toString();
+        xlsx = BenchmarkData.xlsx(rows).toString();
+        // compile the dataset cache once, so the dataset benchmarks measure loading it
+        BookingDataset.load(csv);
+    }
+
+    @Benchmark
+    public List<Booking> csvReadList() throws IOException {
+        return CsvUtil.readBookingsFromCsv(csv);
+    }
+
+    @Benchmark
+    public long csvStream() throws IOException {
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv)) {
+            return bookings.mapToLong(Booking::getTotalprice).sum();
+        }
+    }
+
+    @Benchmark
+    public int datasetLoad() throws IOException {
+        return BookingDataset.load(csv).size();
+    }
+
+    @Benchmark
+    public long datasetLoadAndScan() throws IOException {
+        return BookingDataset.load(csv).stream().mapToLong(Booking::getTotalprice).sum();
+    }
+
+    @Benchmark
+    public List<Booking> jsonReadList() throws IOException {
+        return JsonFileUtil.readBookingsFromJson(json);
+    }
+
+    @Benchmark
+    public long jsonStream() throws IOException {
+        try (Stream<Booking> bookings = JsonFileUtil.streamBookingsFromJson(json)) {
+            return bookings.mapToLong(Booking::getTotalprice).sum();
+        }
+    }
+
+    /**
+     * The workbook stays in {@link WorkbookCache}, so this measures building the row maps.
+     */
+    @Benchmark
+    public List<Map<String, String>> excelGetDataListCached() {
+        try (ExcelUtil excel = new ExcelUtil(xlsx, "Bookings")) {
+            return excel.getDataList();
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, String>> excelGetDataListUncached() {
+        WorkbookCache.shared().evictUnused();
+        try (ExcelUtil excel = new ExcelUtil(xlsx, "Bookings")) {
+            return excel.getDataList();
+        }
+    }
+
+    @Benchmark
+    public long excelStream() {
+        try (Stream<Map<String, String>> rows = ExcelUtil.streamDataList(xlsx, "Bookings")) {
+            return rows.count();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.ExcelWriteSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-update cost of {@link ExcelUtil#setCellData}, which rewrites the workbook on every call,
+ * against {@link ExcelWriteSession}s buffering {@value #UPDATES} updates and committing once.
+ * Each trial writes to its own copy of the generated workbook.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelWriteBenchmark {
+
+    private static final int UPDATES = 200;
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private Path file;
+    private ExcelUtil excel;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path source = BenchmarkData.xlsx(rows);
+        file = source.resolveSibling("excel-write-" + rows + ".xlsx");
+        Files.copy(source, file, StandardCopyOption.REPLACE_EXISTING);
+        excel = new ExcelUtil(file.toString(), "Bookings");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        excel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void setCellData() {
+        excel.setCellData("Legacy" + index, 1 + index++ % rows, 6);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public void session() {
+        try (ExcelWriteSession session = ExcelWriteSession.open(file.toString(), "Bookings")) {
+            for (int i = 0; i < UPDATES; i++) {
+                session.setCellData("Session" + i, 1 + (index + i) % rows, 6);
+            }
+        }
+        index += UPDATES;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(UPDATES)
+    public void streamingSession() {
+        try (ExcelWriteSession session = ExcelWriteSession.openStreaming(file.toString(), "Bookings")) {
+            for (int i = 0; i < UPDATES; i++) {
+                session.setCellData("Streamed" + i, 1 + (index + i) % rows, 6);
+            }
+        }
+        index += UPDATES;
+    }
+}
@@ -0,0 +1,77 @@
+package com.restfulBooker.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking serialization through {@link JsonUtil}, with plain ObjectMapper databinding as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Param({"16", "4096"})
+    int additionalneedsLength;
+
+    private Booking booking;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        booking = BenchmarkData.booking(1, additionalneedsLength);
+        json = JsonUtil.toJson(booking);
+        jsonBytes = JsonUtil.toJsonBytes(booking);
+    }
+
+    @Benchmark
+    public String toJson() throws IOException {
+        return JsonUtil.toJson(booking);
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() throws IOException {
+        return JsonUtil.toJsonBytes(booking);
+    }
+
+    @Benchmark
+    public String objectMapperToJson() throws IOException {
+        return objectMapper.writeValueAsString(booking);
+    }
+
+    @Benchmark
+    public Booking fromJson() throws IOException {
+        return JsonUtil.fromJson(json, Booking.class);
+    }
+
+    @Benchmark
+    public Booking fromJsonBytes() throws IOException {
+        return JsonUtil.fromJson(jsonBytes, Booking.class);
+    }
+
+    @Benchmark
+    public Booking objectMapperFromJson() throws IOException {
+        return objectMapper.readValue(json, Booking.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.metrics.LatencyFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link LatencyFilter} adds to every request: normalizing the path, finding the series and
+ * recording the value, from several threads into the same histogram.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LatencyFilterBenchmark {
+
+    private LatencyFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new LatencyFilter();
+    }
+
+    @Benchmark
+    public void recordIdPath() {
+        filter.record("GET", "/booking/12345", 200, 1_500_000);
+    }
+
+    @Benchmark
+    public void recordPlainPath() {
+        filter.record("POST", "/booking", 200, 1_500_000);
+    }
+}
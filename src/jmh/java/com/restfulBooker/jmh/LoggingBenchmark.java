@@ -0,0 +1,110 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.logging.FailureLogBuffer;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the tests' logging costs the request thread per request: two INFO lines with parameters,
+ * as {@code BookingTests} logs around each call, and one DEBUG line.
+ * <ul>
+ *   <li>{@code sync}: the previous configuration. Root at DEBUG, synchronous console and file
+ *   appenders, and {@code %L} in the pattern. The console is written to a file here, so the
+ *   numbers do not depend on the terminal.</li>
+ *   <li>{@code async}: the current {@code src/test/resources} setup. Asynchronous loggers, a
+ *   garbage-free pattern, and the test logger feeding the in-memory {@code FailureLogBuffer}.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String SYNC =
+            "<Configuration status='WARN'>"
+            + "<Appenders>"
+            + "<File name='Console' fileName='${dir}/console.log'><PatternLayout pattern='%d{yyyy-MM-dd HH:mm:ss} %-5p %c{1}:%L - %m%n'/></File>"
+            + "<File name='File' fileName='${dir}/app.log'><PatternLayout pattern='%d{yyyy-MM-dd HH:mm:ss} %-5p %c{1}:%L - %m%n'/></File>"
+            + "</Appenders>"
+            + "<Loggers><Root level='debug'><AppenderRef ref='Console'/><AppenderRef ref='File'/></Root></Loggers>"
+            + "</Configuration>";
+
+    private static final String ASYNC =
+            "<Configuration status='WARN'>"
+            + "<Properties><Property name='pattern'>%d{DEFAULT} %-5p %c{1} - %m%n</Property></Properties>"
+            + "<Appenders>"
+            + "<File name='Console' fileName='${dir}/console.log'><PatternLayout pattern='${pattern}'/></File>"
+            + "<RandomAccessFile name='File' fileName='${dir}/app.log' immediateFlush='false'><PatternLayout pattern='${pattern}'/></RandomAccessFile>"
+            + "<FailureLogBuffer name='FailureBuffer' directory='${dir}/failed'><PatternLayout pattern='${pattern}'/></FailureLogBuffer>"
+            + "</Appenders>"
+            + "<Loggers>"
+            + "<Logger name='com.restfulBooker.tests' level='debug' additivity='false'><AppenderRef ref='FailureBuffer'/></Logger>"
+            + "<Root level='debug'><AppenderRef ref='Console' level='info'/><AppenderRef ref='File' level='info'/><AppenderRef ref='FailureBuffer'/></Root>"
+            + "</Loggers>"
+            + "</Configuration>";
+
+    @Param({"sync", "async"})
+    String mode;
+
+    private Path dir;
+    private LoggerContext context;
+    private Logger logger;
+    private int bookingId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("logging-benchmark");
+        String xml = ("sync".equals(mode) ? SYNC : ASYNC).replace("${dir}", dir.toString());
+        context = "sync".equals(mode) ? new LoggerContext(mode) : new AsyncLoggerContext(mode);
+        ConfigurationSource source = new ConfigurationSource(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        context.start(new XmlConfiguration(context, source));
+        logger = context.getLogger("com.restfulBooker.tests.BookingTests");
+        String test = "[engine:junit-jupiter]/[class:BookingTests]/[method:testCreateBooking()]";
+        ThreadContext.put(FailureLogBuffer.TEST_KEY, test);
+        FailureLogBuffer buffer = context.getConfiguration().getAppender("FailureBuffer");
+        if (buffer != null) {
+            buffer.begin(test);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+        ThreadContext.clearMap();
+    }
+
+    @Benchmark
+    public void logRequest() {
+        int id = ++bookingId;
+        logger.info("Creating a new booking with firstname: {}, lastname: {}", "John", "Doe");
+        logger.debug("Request body for booking {}: {}", id, "{\"firstname\":\"John\",\"lastname\":\"Doe\"}");
+        logger.info("Booking created successfully with bookingId: {}", id);
+    }
+}
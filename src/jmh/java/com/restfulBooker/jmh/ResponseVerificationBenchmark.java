@@ -0,0 +1,64 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.BookingVerifier;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifying a create response through seven JsonPath lookups under {@code assertAll} (the
+ * previous path) and through {@link BookingVerifier}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseVerificationBenchmark {
+
+    private static final String BODY = "{\"bookingid\":1,\"booking\":{\"firstname\":\"John\",\"lastname\":\"Doe\",\"totalprice\":123,"
+            + "\"depositpaid\":true,\"bookingdates\":{\"checkin\":\"2021-01-01\",\"checkout\":\"2021-01-10\"},\"additionalneeds\":\"Breakfast\"}}";
+
+    private final Booking booking = new Booking("John", "Doe", 123, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+
+    @Benchmark
+    public void jsonPath() {
+        JsonPath jsonPath = response().jsonPath();
+        assertAll("Verify booking details",
+                () -> assertEquals(booking.getFirstname(), jsonPath.getString("booking.firstname")),
+                () -> assertEquals(booking.getLastname(), jsonPath.getString("booking.lastname")),
+                () -> assertEquals(booking.getTotalprice(), jsonPath.getInt("booking.totalprice")),
+                () -> assertEquals(booking.isDepositpaid(), jsonPath.getBoolean("booking.depositpaid")),
+                () -> assertEquals(booking.getBookingdates().getCheckin(), jsonPath.getString("booking.bookingdates.checkin")),
+                () -> assertEquals(booking.getBookingdates().getCheckout(), jsonPath.getString("booking.bookingdates.checkout")),
+                () -> assertEquals(booking.getAdditionalneeds(), jsonPath.getString("booking.additionalneeds"))
+        );
+    }
+
+    @Benchmark
+    public void bookingVerifier() {
+        BookingVerifier.assertBookingResponse("Verify booking details", response(), booking);
+    }
+
+    // a fresh response per verification, as each test gets its own
+    private static Response response() {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(BODY).build();
+    }
+}
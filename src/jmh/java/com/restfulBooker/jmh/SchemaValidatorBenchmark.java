@@ -0,0 +1,63 @@
+package com.restfulBooker.jmh;
+
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.CompiledSchema;
+import com.restfulBooker.utilities.JsonUtil;
+import com.restfulBooker.utilities.SchemaValidator;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a booking response with the compiled booking schema, and with RestAssured's
+ * classpath schema matcher that it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidatorBenchmark {
+
+    @Param({"16", "4096"})
+    int additionalneedsLength;
+
+    private CompiledSchema schema;
+    private byte[] response;
+    private String responseText;
+
+    @Setup
+    public void setUp() throws IOException {
+        schema = SchemaValidator.schema(SchemaValidator.BOOKING_SCHEMA);
+        BookingResponse bookingResponse = new BookingResponse();
+        bookingResponse.setBookingid(1);
+        bookingResponse.setBooking(BenchmarkData.booking(1, additionalneedsLength));
+        response = JsonUtil.toJsonBytes(bookingResponse);
+        responseText = new String(response, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return schema.validate(response);
+    }
+
+    @Benchmark
+    public boolean classpathMatcher() {
+        return JsonSchemaValidator.matchesJsonSchemaInClasspath(SchemaValidator.BOOKING_SCHEMA).matches(responseText);
+    }
+}
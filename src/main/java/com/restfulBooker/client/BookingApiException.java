@@ -0,0 +1,26 @@
+package com.restfulBooker.client;
+
+/**
+ * A response from the booking API that does not carry the status or body the operation expects.
+ */
+public class BookingApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String body;
+
+    public BookingApiException(String operation, int statusCode, String body) {
+        super(operation + " failed with status " + statusCode + ": " + body);
+        this.statusCode = statusCode;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,214 @@
+package com.restfulBooker.client;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link BookingClient}'s cache of bookings by id, and its register of reads in flight.
+ * <p>
+ * Entries expire {@code ttl} after they were stored and are kept in least-recently-used order.
+ * When the cache is full a newcomer replaces the least recently used entry only if it is not
+ * requested less often than that entry, as estimated by a {@link FrequencySketch} of recent
+ * reads (TinyLFU admission), so a burst of one-off reads cannot flush the hot bookings.
+ * <p>
+ * Invalidating an id also marks the read in flight for it, if any, as stale, so a response that
+ * left the server before a write cannot be cached after it. One lock guards everything: it is
+ * held for map operations only, never across I/O.
+ */
+final class BookingCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entry> entries;
+    private final Map<Integer, Fetch> fetches = new HashMap<>();
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long coalesced;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long rejections;
+
+    BookingCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1 << 16) * 4 / 3 + 1, 0.75f, true);
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    /**
+     * @return a copy of the cached booking, or null if the caller has to read it
+     */
+    synchronized Booking get(int bookingId) {
+        sketch.increment(bookingId);
+        Entry entry = entries.get(bookingId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(bookingId);
+            expirations++;
+            return null;
+        }
+        hits++;
+        return copy(entry.booking);
+    }
+
+    /**
+     * @return the read already in flight for {@code bookingId}, which the caller should wait for,
+     * or null if the caller should run {@code fetch}, now registered as the read in flight
+     */
+    synchronized Fetch join(int bookingId, Fetch fetch) {
+        Fetch running = fetches.get(bookingId);
+        if (running != null) {
+            coalesced++;
+            return running;
+        }
+        misses++;
+        fetches.put(bookingId, fetch);
+        return null;
+    }
+
+    /**
+     * Ends {@code fetch}, caching what it read unless the id was invalidated meanwhile.
+     */
+    synchronized void complete(int bookingId, Fetch fetch, Booking booking) {
+        if (fetches.get(bookingId) == fetch) {
+            fetches.remove(bookingId);
+        }
+        if (booking != null && !fetch.stale) {
+            put(bookingId, booking);
+        }
+    }
+
+    synchronized void put(int bookingId, Booking booking) {
+        Entry entry = new Entry(copy(booking), System.nanoTime() + ttlNanos);
+        if (entries.containsKey(bookingId) || entries.size() < maxEntries) {
+            entries.put(bookingId, entry);
+            return;
+        }
+        Iterator<Map.Entry<Integer, Entry>> eldest = entries.entrySet().iterator();
+        Map.Entry<Integer, Entry> victim = eldest.next();
+        if (System.nanoTime() - victim.getValue().expiresAt >= 0) {
+            expirations++;
+        } else if (sketch.frequency(bookingId) < sketch.frequency(victim.getKey())) {
+            rejections++;
+            return;
+        } else {
+            evictions++;
+        }
+        eldest.remove();
+        entries.put(bookingId, entry);
+    }
+
+    synchronized void invalidate(int bookingId) {
+        entries.remove(bookingId);
+        Fetch fetch = fetches.remove(bookingId);
+        if (fetch != null) {
+            fetch.stale = true;
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        fetches.values().forEach(fetch -> fetch.stale = true);
+        fetches.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized CacheStats stats() {
+        return new CacheStats(hits, coalesced, misses, evictions, expirations, rejections);
+    }
+
+    static Booking copy(Booking booking) {
+        BookingDates dates = booking.getBookingdates();
+        return new Booking(booking.getFirstname(), booking.getLastname(), booking.getTotalprice(), booking.isDepositpaid(),
+                dates == null ? null : new BookingDates(dates.getCheckin(), dates.getCheckout()), booking.getAdditionalneeds());
+    }
+
+    private static final class Entry {
+
+        private final Booking booking;
+        private final long expiresAt;
+
+        private Entry(Booking booking, long expiresAt) {
+            this.booking = booking;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A read of one booking that later readers of the same id wait for instead of sending their own.
+     */
+    static final class Fetch {
+
+        final CompletableFuture<Booking> result = new CompletableFuture<>();
+        // guarded by the cache's lock
+        private boolean stale;
+    }
+
+    /**
+     * Count-min sketch of how often each id was read recently: four rows of counters that
+     * saturate at 15, all halved after ten reads per counter in a row, so that bookings which
+     * were hot long ago fade.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+        private final byte[][] rows = new byte[SEEDS.length][];
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            int width = Integer.highestOneBit(Math.max(16, Math.min(maxEntries, 1 << 24)) * 2 - 1);
+            for (int row = 0; row < rows.length; row++) {
+                rows[row] = new byte[width];
+            }
+            this.mask = width - 1;
+            this.sampleSize = width * 10;
+        }
+
+        void increment(int key) {
+            for (int row = 0; row < rows.length; row++) {
+                int slot = slot(key, row);
+                if (rows[row][slot] < 15) {
+                    rows[row][slot]++;
+                }
+            }
+            if (++additions == sampleSize) {
+                for (byte[] counters : rows) {
+                    for (int slot = 0; slot < counters.length; slot++) {
+                        counters[slot] >>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(int key) {
+            int frequency = 15;
+            for (int row = 0; row < rows.length; row++) {
+                frequency = Math.min(frequency, rows[row][slot(key, row)]);
+            }
+            return frequency;
+        }
+
+        private int slot(int key, int row) {
+            long hash = (key + SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.restfulBooker.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.restfulBooker.config.EnvironmentProfile;
+import com.restfulBooker.config.TestConfig;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.JsonUtil;
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Typed, asynchronous access to the booking API on {@link java.net.http.HttpClient}.
+ * <p>
+ * Every operation returns at once with a {@link CompletableFuture}; no thread waits on the
+ * network. At most {@code maxConcurrentRequests} requests are on the wire at a time, and the
+ * rest queue without blocking the caller. An HTTP/1.1 connection carries one request at a time,
+ * so this limit also bounds the client's connection pool. Bodies go through {@link JsonUtil},
+ * and a response with an unexpected status completes the future with a
+ * {@link BookingApiException}.
+ * <p>
+ * Optionally, {@link #getBooking} reads through a bounded, expiring cache of bookings (see
+ * {@link Builder#cache}). Concurrent reads of the same id share one request whether or not the
+ * result is cached, creates prime the cache with the booking they return, and updates, patches
+ * and deletes through this client invalidate the id both when they are sent and when they
+ * complete. Leave the cache off for tests that assert what the server returns.
+ * <p>
+ * Instances are thread-safe and meant to be shared. Close the client once it is no longer needed.
+ */
+public class BookingClient implements AutoCloseable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private final URI baseUri;
+    private final Duration requestTimeout;
+    private final Supplier<String> tokenSupplier;
+    private final ExecutorService executor;
+    private final HttpClient http;
+
+    private final Semaphore permits;
+    private final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+    // null when the client does not cache
+    private final BookingCache cache;
+
+    private BookingClient(Builder builder) {
+        String uri = builder.baseUri.endsWith("/") ? builder.baseUri.substring(0, builder.baseUri.length() - 1) : builder.baseUri;
+        this.baseUri = URI.create(uri);
+        this.requestTimeout = builder.requestTimeout;
+        this.tokenSupplier = builder.tokenSupplier;
+        this.permits = new Semaphore(builder.maxConcurrentRequests);
+        this.cache = builder.cacheMaxEntries > 0 ? new BookingCache(builder.cacheMaxEntries, builder.cacheTtl) : null;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "booking-client-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.http = HttpClient.newBuilder()
+                .version(builder.version)
+                .connectTimeout(builder.connectTimeout)
+                .executor(executor)
+                .build();
+    }
+
+    public static Builder builder(String baseUri) {
+        return new Builder(baseUri);
+    }
+
+    /**
+     * Client for {@link TestConfig}'s target, timeouts and token, with as many requests in flight
+     * as the profile allows connections per route, over HTTP/2 if the profile enables it, and
+     * caching bookings if the profile's {@code cache.maxEntries} is positive.
+     */
+    public static BookingClient forTestConfig() {
+        // reading the profile initialises TestConfig, which points RestAssured at the target
+        EnvironmentProfile profile = TestConfig.profile;
+        return builder(RestAssured.baseURI)
+                .connectTimeout(profile.getConnectTimeout())
+                .requestTimeout(profile.getReadTimeout())
+                .maxConcurrentRequests(profile.getPoolMaxPerRoute())
+                .version(profile.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .token(TestConfig::getToken)
+                .cache(profile.getCacheMaxEntries(), profile.getCacheTtl())
+                .build();
+    }
+
+    /**
+     * @return the token issued for these credentials
+     */
+    public CompletableFuture<String> auth(String username, String password) {
+        byte[] body;
+        try {
+            body = JsonUtil.toJsonBytes(Map.of("username", username, "password", password));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send("auth", request("/auth").POST(HttpRequest.BodyPublishers.ofByteArray(body)), 200, response -> {
+            String token = readStringField(response.body(), "token");
+            if (token == null) {
+                throw new BookingApiException("auth", response.statusCode(), asString(response.body()));
+            }
+            return token;
+        });
+    }
+
+    public CompletableFuture<BookingResponse> createBooking(Booking booking) {
+        CompletableFuture<BookingResponse> created = sendBooking("createBooking", request("/booking"), "POST", booking, BookingResponse.class, false);
+        if (cache == null) {
+            return created;
+        }
+        return created.thenApply(response -> {
+            if (response.getBooking() != null) {
+                cache.put(response.getBookingid(), response.getBooking());
+            }
+            return response;
+        });
+    }
+
+    /**
+     * Each caller gets its own {@link Booking}, even when the read was cached or shared.
+     */
+    public CompletableFuture<Booking> getBooking(int bookingId) {
+        if (cache == null) {
+            return fetchBooking(bookingId);
+        }
+        Booking cached = cache.get(bookingId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        BookingCache.Fetch fetch = new BookingCache.Fetch();
+        BookingCache.Fetch running = cache.join(bookingId, fetch);
+        if (running != null) {
+            return running.result.thenApply(BookingCache::copy);
+        }
+        fetchBooking(bookingId).whenComplete((booking, failure) -> {
+            cache.complete(bookingId, fetch, booking);
+            if (failure != null) {
+                fetch.result.completeExceptionally(failure);
+            } else {
+                fetch.result.complete(booking);
+            }
+        });
+        return fetch.result.thenApply(BookingCache::copy);
+    }
+
+    public CompletableFuture<Booking> updateBooking(int bookingId, Booking booking) {
+        return invalidating(bookingId, sendBooking("updateBooking", request("/booking/" + bookingId), "PUT", booking, Booking.class, true));
+    }
+
+    /**
+     * The server keeps the fields that are null in {@code patch}; {@code totalprice} and
+     * {@code depositpaid} are primitives and always sent.
+     */
+    public CompletableFuture<Booking> partialUpdateBooking(int bookingId, Booking patch) {
+        return invalidating(bookingId, sendBooking("partialUpdateBooking", request("/booking/" + bookingId), "PATCH", patch, Booking.class, true));
+    }
+
+    public CompletableFuture<Void> deleteBooking(int bookingId) {
+        HttpRequest.Builder request = request("/booking/" + bookingId).DELETE();
+        return invalidating(bookingId, send("deleteBooking", request, true, 201, response -> null));
+    }
+
+    public CompletableFuture<List<Integer>> getBookingIds() {
+        return send("getBookingIds", request("/booking").GET(), 200, response -> readBookingIds(response.body()));
+    }
+
+    public CompletableFuture<Void> ping() {
+        return send("ping", request("/ping").GET(), 201, response -> null);
+    }
+
+    /**
+     * @return the booking cache's counters, all zero if this client does not cache
+     */
+    public CacheStats getCacheStats() {
+        return cache == null ? new CacheStats(0, 0, 0, 0, 0, 0) : cache.stats();
+    }
+
+    public boolean isCaching() {
+        return cache != null;
+    }
+
+    /**
+     * Drops every cached booking, for when they may have been changed by someone else.
+     */
+    public void clearCache() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * @return requests waiting for one of the {@code maxConcurrentRequests} slots
+     */
+    public int getQueuedRequests() {
+        return queued.size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<Booking> fetchBooking(int bookingId) {
+        return send("getBooking", request("/booking/" + bookingId).GET(), 200, response -> read(response.body(), Booking.class));
+    }
+
+    /**
+     * Invalidates {@code bookingId} now, as {@code write} has been queued, and again once it
+     * completes, in case a read sent in between got the old booking.
+     */
+    private <T> CompletableFuture<T> invalidating(int bookingId, CompletableFuture<T> write) {
+        if (cache == null) {
+            return write;
+        }
+        cache.invalidate(bookingId);
+        return write.whenComplete((result, failure) -> cache.invalidate(bookingId));
+    }
+
+    private <T> CompletableFuture<T> sendBooking(String operation, HttpRequest.Builder request, String method, Booking booking, Class<T> type, boolean authorized) {
+        byte[] body;
+        try {
+            body = JsonUtil.toJsonBytes(booking);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(operation, request.method(method, HttpRequest.BodyPublishers.ofByteArray(body)), authorized, 200, response -> read(response.body(), type));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder request) {
+        if (tokenSupplier == null) {
+            throw new IllegalStateException("This BookingClient has no token supplier");
+        }
+        return request.header("Cookie", "token=" + tokenSupplier.get()).build();
+    }
+
+    private <T> CompletableFuture<T> send(String operation, HttpRequest.Builder builder, int expectedStatus, Function<HttpResponse<byte[]>, T> reader) {
+        return send(operation, builder, false, expectedStatus, reader);
+    }
+
+    /**
+     * Queues the request. An {@code authorized} request gets its token once it holds a slot, on
+     * the client's executor, as the token supplier may block on a fetch; a missing or failing
+     * supplier fails the returned future.
+     */
+    private <T> CompletableFuture<T> send(String operation, HttpRequest.Builder builder, boolean authorized, int expectedStatus, Function<HttpResponse<byte[]>, T> reader) {
+        HttpRequest request = authorized ? null : builder.build();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        queued.add(() -> {
+            CompletableFuture<HttpResponse<byte[]>> sent;
+            if (authorized) {
+                sent = CompletableFuture.supplyAsync(() -> authorized(builder), executor)
+                        .thenCompose(withToken -> http.sendAsync(withToken, HttpResponse.BodyHandlers.ofByteArray()));
+            } else {
+                try {
+                    sent = http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+                } catch (RuntimeException e) {
+                    sent = CompletableFuture.failedFuture(e);
+                }
+            }
+            sent.whenComplete((response, failure) -> {
+                permits.release();
+                dispatch();
+                if (failure != null) {
+                    result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+                    return;
+                }
+                try {
+                    if (response.statusCode() != expectedStatus) {
+                        throw new BookingApiException(operation, response.statusCode(), asString(response.body()));
+                    }
+                    result.complete(reader.apply(response));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        });
+        dispatch();
+        return result;
+    }
+
+    /**
+     * Starts queued requests while slots are free. Whoever adds a request or frees a slot calls
+     * this, so a request never waits in the queue while a slot is free.
+     */
+    private void dispatch() {
+        while (!queued.isEmpty() && permits.tryAcquire()) {
+            Runnable next = queued.poll();
+            if (next == null) {
+                // another thread took it; check again in case a request was added meanwhile
+                permits.release();
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private static <T> T read(byte[] body, Class<T> type) {
+        try {
+            return JsonUtil.fromJson(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response is not a " + type.getSimpleName() + ": " + asString(body), e);
+        }
+    }
+
+    private static List<Integer> readBookingIds(byte[] body) {
+        List<Integer> ids = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("expected an array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("bookingid".equals(name)) {
+                        ids.add(parser.getIntValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response is not a list of booking ids: " + asString(body), e);
+        }
+        return ids;
+    }
+
+    private static String readStringField(byte[] body, String field) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (field.equals(name)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response is not JSON: " + asString(body), e);
+        }
+    }
+
+    private static String asString(byte[] body) {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    public static class Builder {
+
+        private final String baseUri;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private int maxConcurrentRequests = 64;
+        private HttpClient.Version version = HttpClient.Version.HTTP_1_1;
+        private Supplier<String> tokenSupplier;
+        private int cacheMaxEntries;
+        private Duration cacheTtl = Duration.ofSeconds(30);
+
+        private Builder(String baseUri) {
+            if (baseUri == null) {
+                throw new IllegalArgumentException("baseUri is required");
+            }
+            this.baseUri = baseUri;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            if (maxConcurrentRequests < 1) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be at least 1");
+            }
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * HTTP/1.1 by default; {@link HttpClient.Version#HTTP_2} multiplexes requests over fewer
+         * connections where the server supports it.
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Token sent as a cookie by the operations that need one.
+         */
+        public Builder token(Supplier<String> tokenSupplier) {
+            this.tokenSupplier = tokenSupplier;
+            return this;
+        }
+
+        /**
+         * Caches up to {@code maxEntries} bookings read by {@link #getBooking} for {@code ttl}
+         * each. 0, the default, turns caching off; concurrent reads are then not shared either.
+         */
+        public Builder cache(int maxEntries, Duration ttl) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("maxEntries must not be negative");
+            }
+            this.cacheMaxEntries = maxEntries;
+            this.cacheTtl = ttl;
+            return this;
+        }
+
+        public BookingClient build() {
+            return new BookingClient(this);
+        }
+    }
+}
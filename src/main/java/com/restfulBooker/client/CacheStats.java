@@ -0,0 +1,46 @@
+package com.restfulBooker.client;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * Counters of a {@link BookingClient}'s booking cache since it was built. All zero when the
+ * client does not cache.
+ */
+@Value
+public class CacheStats {
+
+    /** Reads answered from the cache. */
+    long hits;
+    /** Reads that joined a request another caller already had in flight for the same booking. */
+    long coalesced;
+    /** Reads that went to the server. */
+    long misses;
+    long evictions;
+    long expirations;
+    /** Bookings not cached because they were requested less often than the one they would replace. */
+    long rejections;
+
+    public long getLookups() {
+        return hits + coalesced + misses;
+    }
+
+    public double getHitRatio() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return reads that did not cause a request of their own
+     */
+    public long getSavedRequests() {
+        return hits + coalesced;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "hits=%d coalesced=%d misses=%d hitRatio=%.3f saved=%d evictions=%d expirations=%d rejections=%d",
+                hits, coalesced, misses, getHitRatio(), getSavedRequests(), evictions, expirations, rejections);
+    }
+}
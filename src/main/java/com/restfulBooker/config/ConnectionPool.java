@@ -0,0 +1,179 @@
+package com.restfulBooker.config;
+
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.SSLContext;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connections shared by every RestAssured request made through a specification configured with
+ * {@link #httpClientFactory()}.
+ * <p>
+ * RestAssured builds a new Apache client for every request, and by default each of those opens
+ * its own connection, so every request pays a TCP and, for HTTPS, a TLS handshake. Here those
+ * clients all draw on one pooling connection manager instead. Connections are kept alive as
+ * long as the server allows, capped at {@code keepAlive}, and closed after {@code idleTimeout}
+ * without use. Because the socket factory is shared, TLS sessions are resumed as well. The
+ * clients stay per request, so concurrent tests never share RestAssured's mutable client state.
+ * <p>
+ * TLS trust comes from the pool's {@link SSLContext}, the JVM default unless one is given.
+ * SSL settings on a specification, such as relaxed HTTPS validation, do not reach pooled
+ * connections.
+ * <p>
+ * Apache HttpClient 4 speaks HTTP/1.1 only; the profile's {@code http2} setting applies to
+ * {@link com.restfulBooker.client.BookingClient}.
+ */
+@SuppressWarnings("deprecation")
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ConnectionPool.class);
+
+    private final PoolingClientConnectionManager manager;
+    private final ScheduledExecutorService evictor;
+    private final long keepAliveMillis;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    // the connection is bound by the time request interceptors run; a fresh one has sent nothing yet
+    private final HttpRequestInterceptor connectionCounter = (request, context) -> {
+        HttpConnection connection = (HttpConnection) context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+        if (connection != null) {
+            if (connection.getMetrics().getRequestCount() == 0) {
+                opened.increment();
+            } else {
+                reused.increment();
+            }
+        }
+    };
+
+    // RestAssured leaves the body stream open unless the test reads it, which would keep the
+    // connection leased for good; a buffered body lets the client release it straight away
+    private static final HttpResponseInterceptor bodyBuffer = (response, context) -> {
+        HttpEntity entity = response.getEntity();
+        if (entity != null && entity.isStreaming()) {
+            response.setEntity(new BufferedHttpEntity(entity));
+        }
+    };
+
+    public ConnectionPool(int maxTotal, int maxPerRoute, Duration idleTimeout, Duration keepAlive) {
+        this(maxTotal, maxPerRoute, idleTimeout, keepAlive, SchemeRegistryFactory.createSystemDefault());
+    }
+
+    public ConnectionPool(int maxTotal, int maxPerRoute, Duration idleTimeout, Duration keepAlive, SSLContext sslContext) {
+        this(maxTotal, maxPerRoute, idleTimeout, keepAlive, schemes(sslContext));
+    }
+
+    private ConnectionPool(int maxTotal, int maxPerRoute, Duration idleTimeout, Duration keepAlive, SchemeRegistry schemes) {
+        this.manager = new PoolingClientConnectionManager(schemes);
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        this.keepAliveMillis = keepAlive.toMillis();
+
+        long idleMillis = idleTimeout.toMillis();
+        long period = Math.max(1_000, idleMillis / 2);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleMillis, TimeUnit.MILLISECONDS);
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static ConnectionPool forProfile(EnvironmentProfile profile) {
+        return new ConnectionPool(profile.getPoolMaxTotal(), profile.getPoolMaxPerRoute(), profile.getPoolIdleTimeout(), profile.getKeepAlive());
+    }
+
+    /**
+     * Factory for {@link HttpClientConfig#httpClientFactory}; the clients it creates share this pool.
+     */
+    public HttpClientConfig.HttpClientFactory httpClientFactory() {
+        return () -> {
+            DefaultHttpClient client = new DefaultHttpClient(manager);
+            client.setKeepAliveStrategy(this::keepAliveDuration);
+            client.addRequestInterceptor(connectionCounter);
+            client.addResponseInterceptor(bodyBuffer);
+            return client;
+        };
+    }
+
+    /**
+     * @return connections opened so far, i.e. TCP (and TLS) handshakes
+     */
+    public long getConnectionsOpened() {
+        return opened.sum();
+    }
+
+    /**
+     * @return requests sent over a connection that had already carried an earlier request
+     */
+    public long getConnectionsReused() {
+        return reused.sum();
+    }
+
+    public int getLeasedConnections() {
+        return manager.getTotalStats().getLeased();
+    }
+
+    public int getIdleConnections() {
+        return manager.getTotalStats().getAvailable();
+    }
+
+    private static SchemeRegistry schemes(SSLContext sslContext) {
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, PlainSocketFactory.getSocketFactory()));
+        schemes.register(new Scheme("https", 443, new SSLSocketFactory(sslContext)));
+        return schemes;
+    }
+
+    // the server's Keep-Alive timeout, capped at keepAliveMillis
+    private long keepAliveDuration(HttpResponse response, HttpContext context) {
+        HeaderElementIterator elements = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+        while (elements.hasNext()) {
+            HeaderElement element = elements.nextElement();
+            if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                try {
+                    return Math.min(Long.parseLong(element.getValue()) * 1000, keepAliveMillis);
+                } catch (NumberFormatException e) {
+                    break;
+                }
+            }
+        }
+        return keepAliveMillis;
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        manager.shutdown();
+        logger.info("Connection pool closed after {} connections opened and {} reuses", getConnectionsOpened(), getConnectionsReused());
+    }
+}
@@ -0,0 +1,92 @@
+package com.restfulBooker.config;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Settings for one target environment, read from {@code environments/<name>.properties} on the
+ * classpath. The profile is picked with {@code -Dbooker.env=<name>} (default {@code remote}) and
+ * any key can be overridden with a {@code booker.<key>} system property.
+ */
+@Getter
+public class EnvironmentProfile {
+
+    public static final String DEFAULT_PROFILE = "remote";
+    public static final String DEFAULT_BASE_URI = "https://restful-booker.herokuapp.com";
+
+    private final String name;
+    private final boolean embedded;
+    private final String baseUri;
+    private final int embeddedPort;
+    private final String username;
+    private final String password;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration tokenTtl;
+    private final Duration tokenRefreshAhead;
+    private final int poolMaxTotal;
+    private final int poolMaxPerRoute;
+    private final Duration poolIdleTimeout;
+    private final Duration keepAlive;
+    private final boolean http2;
+    private final int cacheMaxEntries;
+    private final Duration cacheTtl;
+
+    private final Properties properties;
+
+    private EnvironmentProfile(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.embedded = "embedded".equalsIgnoreCase(get("mode", "remote"));
+        this.baseUri = get("baseUri", DEFAULT_BASE_URI);
+        this.embeddedPort = Integer.parseInt(get("embedded.port", "0"));
+        this.username = get("username", "admin");
+        this.password = get("password", "password123");
+        this.connectTimeout = Duration.ofMillis(Long.parseLong(get("connectTimeoutMs", "10000")));
+        this.readTimeout = Duration.ofMillis(Long.parseLong(get("readTimeoutMs", "30000")));
+        this.tokenTtl = Duration.ofSeconds(Long.parseLong(get("token.ttlSeconds", "600")));
+        this.tokenRefreshAhead = Duration.ofSeconds(Long.parseLong(get("token.refreshAheadSeconds", "60")));
+        this.poolMaxTotal = Integer.parseInt(get("pool.maxTotal", "50"));
+        this.poolMaxPerRoute = Integer.parseInt(get("pool.maxPerRoute", "20"));
+        this.poolIdleTimeout = Duration.ofMillis(Long.parseLong(get("pool.idleTimeoutMs", "30000")));
+        this.keepAlive = Duration.ofMillis(Long.parseLong(get("keepAliveMs", "30000")));
+        this.http2 = Boolean.parseBoolean(get("http2", "false"));
+        this.cacheMaxEntries = Integer.parseInt(get("cache.maxEntries", "0"));
+        this.cacheTtl = Duration.ofMillis(Long.parseLong(get("cache.ttlMs", "30000")));
+    }
+
+    public static EnvironmentProfile load() {
+        return load(System.getProperty("booker.env", DEFAULT_PROFILE));
+    }
+
+    public static EnvironmentProfile load(String name) {
+        Properties properties = new Properties();
+        String resource = "environments/" + name + ".properties";
+        try (InputStream in = EnvironmentProfile.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in != null) {
+                properties.load(in);
+            } else if (!DEFAULT_PROFILE.equals(name)) {
+                throw new IllegalArgumentException("Unknown environment profile: " + name + " (no " + resource + " on the classpath)");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + resource, e);
+        }
+        return new EnvironmentProfile(name, properties);
+    }
+
+    /**
+     * @return the {@code booker.<key>} system property if set, otherwise the profile value, otherwise {@code defaultValue}
+     */
+    public String get(String key, String defaultValue) {
+        return System.getProperty("booker." + key, properties.getProperty(key, defaultValue));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EnvironmentProfile[%s, %s]", name, embedded ? "embedded" : baseUri);
+    }
+}
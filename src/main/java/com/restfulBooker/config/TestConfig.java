@@ -1,24 +1,138 @@
 package com.restfulBooker.config;
 
 
+import com.restfulBooker.metrics.LatencyFilter;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import com.restfulBooker.traffic.TrafficCaptureFilter;
 import com.restfulBooker.utilities.AuthUtil;
+import com.restfulBooker.utilities.TokenProvider;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Shared configuration for the suites.
+ * <p>
+ * Class initialisation does no network I/O: it reads the {@link EnvironmentProfile}, builds the
+ * request specification and only <em>starts</em> fetching the auth token and warming up the
+ * connection in the background. The first caller of {@link #getToken()} waits for that fetch,
+ * and a failed fetch only fails the tests that needed a token.
+ * <p>
+ * Tests start each request with {@code given(TestConfig.requestSpecification)} instead of
+ * installing the specification in the global {@code RestAssured.requestSpecification}, so that
+ * they can run concurrently. Requests made through the specification share the profile's
+ * {@link ConnectionPool}, so the warm-up leaves an open connection behind for the first test,
+ * and are timed by {@link LatencyFilter}, whose histograms are written to
+ * {@code booker.metrics.dir} (default {@code target/metrics}) when the JVM exits. When
+ * {@code booker.capture.file} is set, every request is also appended to that file by a
+ * {@link TrafficCaptureFilter}, for replay with {@code TrafficReplayer}.
+ */
 public class TestConfig {
 
-    public static RequestSpecification requestSpecification;
-    public static String token;
+    private static final Logger logger = LogManager.getLogger(TestConfig.class);
+
+    public static final EnvironmentProfile profile;
+    public static final ConnectionPool connectionPool;
+    public static final LatencyFilter latencyFilter = new LatencyFilter();
+    public static final TrafficCaptureFilter captureFilter;
+    public static final RequestSpecification requestSpecification;
+    public static TokenProvider tokenProvider;
+    public static EmbeddedBookerServer embeddedServer;
+    public static CompletableFuture<Void> warmUp;
 
     static {
-        RestAssured.baseURI = "https://restful-booker.herokuapp.com";
-        token = AuthUtil.generateToken();
-        requestSpecification = new RequestSpecBuilder()
+        long started = System.nanoTime();
+        profile = EnvironmentProfile.load();
+        if (profile.isEmbedded()) {
+            embeddedServer = new EmbeddedBookerServer(profile.getEmbeddedPort()).start();
+            Runtime.getRuntime().addShutdownHook(new Thread(embeddedServer::stop, "embedded-booker-shutdown"));
+            RestAssured.baseURI = embeddedServer.getBaseUri();
+        } else {
+            RestAssured.baseURI = profile.getBaseUri();
+        }
+        connectionPool = ConnectionPool.forProfile(profile);
+        Runtime.getRuntime().addShutdownHook(new Thread(connectionPool::close, "connection-pool-shutdown"));
+        captureFilter = openCapture();
+        RequestSpecBuilder builder = new RequestSpecBuilder()
                 .setBaseUri(RestAssured.baseURI)
+                .setConfig(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(connectionPool.httpClientFactory())
+                        .setParam("http.connection.timeout", (int) profile.getConnectTimeout().toMillis())
+                        .setParam("http.socket.timeout", (int) profile.getReadTimeout().toMillis())))
                 .addHeader("Content-Type", "application/json")
                 .addHeader("Accept", "application/json")
-                .build();
+                .addFilter(latencyFilter);
+        if (captureFilter != null) {
+            builder.addFilter(captureFilter);
+        }
+        requestSpecification = builder.build();
+        Runtime.getRuntime().addShutdownHook(new Thread(TestConfig::exportLatency, "latency-export"));
+
+        tokenProvider = new TokenProvider(
+                () -> AuthUtil.generateToken(given(requestSpecification), profile.getUsername(), profile.getPassword()),
+                profile.getTokenTtl(),
+                profile.getTokenRefreshAhead());
+        tokenProvider.refresh();
+        warmUp = CompletableFuture.runAsync(TestConfig::warmUpConnection, runnable -> {
+            Thread thread = new Thread(runnable, "testconfig-warmup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+        logger.info("TestConfig bootstrapped for {} in {} ms", profile, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * @return a valid auth token, waiting for the background fetch if it has not finished yet
+     */
+    public static String getToken() {
+        return tokenProvider.getToken();
+    }
+
+    private static TrafficCaptureFilter openCapture() {
+        String file = System.getProperty("booker.capture.file");
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        try {
+            TrafficCaptureFilter filter = new TrafficCaptureFilter(Paths.get(file));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    filter.close();
+                } catch (IOException e) {
+                    logger.warn("Could not finish traffic capture {}: {}", file, e.getMessage());
+                }
+            }, "traffic-capture-close"));
+            return filter;
+        } catch (IOException e) {
+            logger.warn("Could not open traffic capture {}, traffic is not captured: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void exportLatency() {
+        try {
+            latencyFilter.export(Paths.get(System.getProperty("booker.metrics.dir", "target/metrics")));
+        } catch (IOException e) {
+            logger.warn("Could not write latency metrics: {}", e.getMessage());
+        }
+    }
+
+    private static void warmUpConnection() {
+        try {
+            given(requestSpecification).get("/ping");
+        } catch (RuntimeException e) {
+            logger.warn("Connection warm-up against {} failed: {}", RestAssured.baseURI, e.getMessage());
+        }
     }
 
 }
@@ -0,0 +1,17 @@
+package com.restfulBooker.load;
+
+/**
+ * The booking API calls the load engine can issue. All but {@link #CREATE} act on a booking
+ * created earlier in the same run.
+ */
+public enum BookingOperation {
+    CREATE,
+    GET,
+    UPDATE,
+    PATCH,
+    DELETE;
+
+    public boolean needsExistingBooking() {
+        return this != CREATE;
+    }
+}
@@ -0,0 +1,36 @@
+package com.restfulBooker.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class BulkLoadReport {
+
+    private final long submitted;
+    private final long created;
+    private final long failed;
+    private final long retries;
+    private final Duration elapsed;
+
+    BulkLoadReport(long submitted, long created, long failed, long retries, Duration elapsed) {
+        this.submitted = submitted;
+        this.created = created;
+        this.failed = failed;
+        this.retries = retries;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * @return creates per second sustained over the whole load
+     */
+    public double getCreatesPerSecond() {
+        return created / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("submitted=%d created=%d failed=%d retries=%d elapsed=%dms throughput=%.1f creates/s",
+                submitted, created, failed, retries, elapsed.toMillis(), getCreatesPerSecond());
+    }
+}
@@ -0,0 +1,219 @@
+package com.restfulBooker.load;
+
+import com.restfulBooker.client.BookingApiException;
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.CsvUtil;
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.JsonFileUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Creates every booking of a stream through a {@link BookingClient}, keeping at most
+ * {@code concurrency} creates in flight.
+ * <p>
+ * The stream is pulled on the calling thread, and only once a slot is free, so the reader is
+ * never more than {@code concurrency} bookings ahead of the server and a source much larger
+ * than the heap streams straight through. A create that fails with an I/O error, a 429 or a
+ * 5xx keeps its slot and is retried after an exponential, jittered backoff, up to
+ * {@code maxAttempts} in all. Each created booking is written to the output as
+ * {@code row,bookingid}, where {@code row} is the zero-based position in the stream; rows that
+ * still fail are logged and counted.
+ */
+public class BulkLoader {
+
+    private static final Logger logger = LogManager.getLogger(BulkLoader.class);
+
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(5);
+
+    private final BookingClient client;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    private final Semaphore slots;
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+
+    public BulkLoader(BookingClient client, int concurrency, int maxAttempts, Duration retryBackoff) {
+        if (concurrency < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("concurrency and maxAttempts must be at least 1");
+        }
+        this.client = client;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.slots = new Semaphore(concurrency);
+    }
+
+    /**
+     * Creates the bookings and waits for the last one. The caller remains responsible for closing
+     * {@code bookings}.
+     */
+    public BulkLoadReport load(Stream<Booking> bookings, Path output) throws IOException, InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-loader-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        created.reset();
+        failed.reset();
+        retries.reset();
+        long start = System.nanoTime();
+        long submitted = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            writer.write("row,bookingid");
+            writer.newLine();
+            long[] last = {start, 0};
+            scheduler.scheduleAtFixedRate(() -> logProgress(last), PROGRESS_INTERVAL.toMillis(), PROGRESS_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                Iterator<Booking> source = bookings.iterator();
+                while (true) {
+                    slots.acquire();
+                    Booking booking;
+                    try {
+                        if (!source.hasNext()) {
+                            slots.release();
+                            break;
+                        }
+                        booking = source.next();
+                    } catch (RuntimeException e) {
+                        // a source that fails to read a row gives its slot back, or the wait below never ends
+                        slots.release();
+                        throw e;
+                    }
+                    create(submitted++, booking, 1, writer, scheduler);
+                }
+            } finally {
+                // every slot back means every create has been written or given up on
+                slots.acquire(concurrency);
+                slots.release(concurrency);
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+        BulkLoadReport report = new BulkLoadReport(submitted, created.sum(), failed.sum(), retries.sum(), Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Bulk load finished: {}", report);
+        return report;
+    }
+
+    /**
+     * @return creates currently holding a slot, including those waiting to be retried
+     */
+    public int getInFlight() {
+        return concurrency - slots.availablePermits();
+    }
+
+    private void create(long row, Booking booking, int attempt, BufferedWriter writer, ScheduledExecutorService scheduler) {
+        client.createBooking(booking).whenComplete((response, failure) -> {
+            if (failure == null) {
+                written(row, response, writer);
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (attempt < maxAttempts && isTransient(cause)) {
+                retries.increment();
+                scheduler.schedule(() -> create(row, booking, attempt + 1, writer, scheduler), backoffMillis(attempt), TimeUnit.MILLISECONDS);
+                return;
+            }
+            logger.warn("Row {} not created after {} attempt(s): {}", row, attempt, cause.getMessage());
+            failed.increment();
+            slots.release();
+        });
+    }
+
+    private void written(long row, BookingResponse response, BufferedWriter writer) {
+        try {
+            synchronized (writer) {
+                writer.write(row + "," + response.getBookingid());
+                writer.newLine();
+            }
+            created.increment();
+        } catch (IOException e) {
+            logger.warn("Row {} created as booking {} but not written: {}", row, response.getBookingid(), e.getMessage());
+            failed.increment();
+        } finally {
+            slots.release();
+        }
+    }
+
+    private long backoffMillis(int attempt) {
+        long ceiling = retryBackoff.toMillis() << Math.min(attempt - 1, 16);
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    static boolean isTransient(Throwable failure) {
+        if (failure instanceof BookingApiException) {
+            int status = ((BookingApiException) failure).getStatusCode();
+            return status == 429 || status >= 500;
+        }
+        return failure instanceof IOException;
+    }
+
+    private void logProgress(long[] last) {
+        long now = System.nanoTime();
+        long total = created.sum();
+        double rate = (total - last[1]) / ((now - last[0]) / 1_000_000_000.0);
+        last[0] = now;
+        last[1] = total;
+        logger.info("Bulk load: {} created, {} failed, {} in flight, {} creates/s", total, failed.sum(), getInFlight(), Math.round(rate * 10) / 10.0);
+    }
+
+    /**
+     * Loads a CSV, JSON/NDJSON or XLSX file ({@code file.xlsx#Sheet}) into {@link com.restfulBooker.config.TestConfig}'s
+     * target:
+     * <pre>
+     * BulkLoader &lt;source&gt; &lt;output&gt; [concurrency]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BulkLoader <source> <output> [concurrency]");
+        }
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        long failed;
+        try (BookingClient client = BookingClient.forTestConfig();
+             Stream<Booking> bookings = open(args[0])) {
+            BulkLoadReport report = new BulkLoader(client, concurrency, 5, Duration.ofMillis(200)).load(bookings, Paths.get(args[1]));
+            failed = report.getFailed();
+        }
+        // an embedded target would otherwise keep the JVM alive
+        System.exit(failed > 0 ? 1 : 0);
+    }
+
+    static Stream<Booking> open(String source) throws IOException {
+        int hash = source.lastIndexOf('#');
+        String path = hash < 0 ? source : source.substring(0, hash);
+        String lower = path.toLowerCase();
+        if (lower.endsWith(".csv")) {
+            return CsvUtil.streamBookingsFromCsv(path);
+        }
+        if (lower.endsWith(".json") || lower.endsWith(".ndjson")) {
+            return JsonFileUtil.streamBookingsFromJson(path);
+        }
+        if (lower.endsWith(".xlsx")) {
+            return ExcelUtil.streamBookings(path, hash < 0 ? "Sheet1" : source.substring(hash + 1));
+        }
+        throw new IllegalArgumentException("Unsupported source " + source + ", expected .csv, .json, .ndjson or .xlsx");
+    }
+}
@@ -0,0 +1,237 @@
+package com.restfulBooker.load;
+
+import com.restfulBooker.config.TestConfig;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.JsonUtil;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Open-model load generator for the booking API.
+ * <p>
+ * Arrivals are released at the times dictated by the {@link LoadProfile}, independently of how
+ * quickly earlier requests complete, and each one runs on its own task. Latency is measured
+ * from the scheduled arrival time rather than the send time, so a stalled server shows up as
+ * queueing delay instead of being hidden by the generator slowing down (coordinated omission).
+ * <p>
+ * Tasks run on virtual threads when the runtime provides them, otherwise on a pool of at most
+ * {@link LoadProfile#getMaxInFlight()} platform threads. Either way an arrival that finds that
+ * many requests in flight is dropped and counted, so a slow server cannot make the generator
+ * start a thread per waiting request. A dropped arrival still counts towards its operation's
+ * latency: it was never answered, so it records the time from its scheduled arrival to the end
+ * of the run, and the report is marked {@link LoadReport#isValid() invalid}.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+
+    private final RequestSpecification requestSpecification;
+    private final Supplier<String> tokenSupplier;
+    private final Supplier<Booking> bookingSupplier;
+
+    private final Queue<Integer> bookingIds = new ConcurrentLinkedQueue<>();
+    private final Map<BookingOperation, Recorder> latencyRecorders = new EnumMap<>(BookingOperation.class);
+    private final Map<BookingOperation, Recorder> serviceTimeRecorders = new EnumMap<>(BookingOperation.class);
+    private final AtomicLongArray errors = new AtomicLongArray(BookingOperation.values().length);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(RequestSpecification requestSpecification, Supplier<String> tokenSupplier, Supplier<Booking> bookingSupplier) {
+        this.requestSpecification = requestSpecification;
+        this.tokenSupplier = tokenSupplier;
+        this.bookingSupplier = bookingSupplier;
+        for (BookingOperation operation : BookingOperation.values()) {
+            latencyRecorders.put(operation, new Recorder(3));
+            serviceTimeRecorders.put(operation, new Recorder(3));
+        }
+    }
+
+    /**
+     * Generator wired to {@link TestConfig}'s request specification and token, sending a fixed booking.
+     */
+    public static LoadGenerator forTestConfig() {
+        return new LoadGenerator(TestConfig.requestSpecification, TestConfig::getToken, LoadGenerator::defaultBooking);
+    }
+
+    public LoadReport run(LoadProfile profile) {
+        long total = profile.totalArrivals();
+        long dropped = 0;
+        // when each dropped arrival was due, from the start of the run; only this thread records
+        Map<BookingOperation, Histogram> droppedArrivals = new EnumMap<>(BookingOperation.class);
+        logger.info("Starting load run: {} arrivals over {} at up to {}/s", total, profile.getTotalDuration(), profile.getRatePerSecond());
+
+        ExecutorService executor = newTaskExecutor(profile.getMaxInFlight());
+        long start = System.nanoTime();
+        try {
+            for (long n = 0; n < total; n++) {
+                long due = start + profile.arrivalOffsetNanos(n);
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                BookingOperation operation = profile.nextOperation();
+                if (inFlight.incrementAndGet() > profile.getMaxInFlight()) {
+                    inFlight.decrementAndGet();
+                    dropped++;
+                    droppedArrivals.computeIfAbsent(operation, ignored -> new Histogram(3)).recordValue(due - start);
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        execute(operation, due);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    logger.warn("{} requests still in flight after the run, abandoning them", inFlight.get());
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<BookingOperation, OperationStats> operations = new EnumMap<>(BookingOperation.class);
+        for (BookingOperation operation : BookingOperation.values()) {
+            Histogram latency = latencyRecorders.get(operation).getIntervalHistogram();
+            Histogram due = droppedArrivals.get(operation);
+            long operationDropped = 0;
+            if (due != null) {
+                for (HistogramIterationValue value : due.recordedValues()) {
+                    latency.recordValueWithCount(Math.max(0, elapsed.toNanos() - value.getValueIteratedTo()), value.getCountAtValueIteratedTo());
+                }
+                operationDropped = due.getTotalCount();
+            }
+            OperationStats stats = new OperationStats(operation, errors.get(operation.ordinal()), operationDropped,
+                    latency, serviceTimeRecorders.get(operation).getIntervalHistogram());
+            if (latency.getTotalCount() > 0) {
+                operations.put(operation, stats);
+            }
+        }
+        LoadReport report = new LoadReport(total, dropped, elapsed, operations);
+        logger.info("Load run finished: {}", report);
+        return report;
+    }
+
+    private void execute(BookingOperation operation, long intendedStart) {
+        Integer bookingId = null;
+        if (operation.needsExistingBooking()) {
+            bookingId = bookingIds.poll();
+            if (bookingId == null) {
+                // nothing to act on yet, so seed the pool instead
+                operation = BookingOperation.CREATE;
+            }
+        }
+
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            ok = send(operation, bookingId);
+        } catch (Exception e) {
+            logger.debug("{} failed: {}", operation, e.getMessage());
+            ok = false;
+        }
+        long finished = System.nanoTime();
+
+        if (bookingId != null && operation != BookingOperation.DELETE) {
+            bookingIds.add(bookingId);
+        }
+        latencyRecorders.get(operation).recordValue(finished - intendedStart);
+        serviceTimeRecorders.get(operation).recordValue(finished - sent);
+        if (!ok) {
+            errors.incrementAndGet(operation.ordinal());
+        }
+    }
+
+    private boolean send(BookingOperation operation, Integer bookingId) throws Exception {
+        Response response;
+        switch (operation) {
+            case CREATE:
+                response = given(requestSpecification)
+                        .body(JsonUtil.toJsonBytes(bookingSupplier.get()))
+                        .post("/booking");
+                if (response.statusCode() != 200) {
+                    return false;
+                }
+                bookingIds.add(response.path("bookingid"));
+                return true;
+            case GET:
+                return given(requestSpecification)
+                        .get("/booking/" + bookingId)
+                        .statusCode() == 200;
+            case UPDATE:
+                return given(requestSpecification)
+                        .header("Cookie", "token=" + tokenSupplier.get())
+                        .body(JsonUtil.toJsonBytes(bookingSupplier.get()))
+                        .put("/booking/" + bookingId)
+                        .statusCode() == 200;
+            case PATCH:
+                return given(requestSpecification)
+                        .header("Cookie", "token=" + tokenSupplier.get())
+                        .body("{\"additionalneeds\":\"Late checkout\"}")
+                        .patch("/booking/" + bookingId)
+                        .statusCode() == 200;
+            case DELETE:
+                return given(requestSpecification)
+                        .header("Cookie", "token=" + tokenSupplier.get())
+                        .delete("/booking/" + bookingId)
+                        .statusCode() == 201;
+            default:
+                throw new IllegalArgumentException("Unsupported operation " + operation);
+        }
+    }
+
+    static Booking defaultBooking() {
+        return new Booking("Load", "Test", 100, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+    }
+
+    /**
+     * Uses {@code Executors.newVirtualThreadPerTaskExecutor()} when running on a JDK that has it,
+     * looked up reflectively so the project still compiles for Java 11. Otherwise a pool of up to
+     * {@code maxThreads} threads, which {@link #run} never gives more than that many tasks at once.
+     */
+    static ExecutorService newTaskExecutor(int maxThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "load-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
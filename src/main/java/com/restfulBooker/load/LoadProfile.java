@@ -0,0 +1,109 @@
+package com.restfulBooker.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Open-model arrival schedule: the rate rises linearly from zero to {@code ratePerSecond}
+ * over {@code rampUp}, holds for {@code steady}, then falls linearly back to zero over
+ * {@code rampDown}. Each arrival issues one operation drawn from the weighted {@code mix}.
+ */
+@Getter
+@Builder
+public class LoadProfile {
+
+    private static final Map<BookingOperation, Integer> DEFAULT_MIX = Collections.unmodifiableMap(defaultMix());
+
+    private final double ratePerSecond;
+    @Builder.Default
+    private final Duration rampUp = Duration.ZERO;
+    @Builder.Default
+    private final Duration steady = Duration.ZERO;
+    @Builder.Default
+    private final Duration rampDown = Duration.ZERO;
+    /**
+     * Arrivals that find this many requests already in flight are dropped and counted. Without
+     * virtual threads this is also how many platform threads the generator may start.
+     */
+    @Builder.Default
+    private final int maxInFlight = 256;
+    @Singular("weight")
+    private final Map<BookingOperation, Integer> mix;
+
+    public static Map<BookingOperation, Integer> defaultMix() {
+        Map<BookingOperation, Integer> mix = new EnumMap<>(BookingOperation.class);
+        mix.put(BookingOperation.CREATE, 20);
+        mix.put(BookingOperation.GET, 40);
+        mix.put(BookingOperation.UPDATE, 15);
+        mix.put(BookingOperation.PATCH, 15);
+        mix.put(BookingOperation.DELETE, 10);
+        return mix;
+    }
+
+    public Duration getTotalDuration() {
+        return rampUp.plus(steady).plus(rampDown);
+    }
+
+    /**
+     * @return the number of arrivals in the whole schedule
+     */
+    public long totalArrivals() {
+        double up = seconds(rampUp);
+        double down = seconds(rampDown);
+        return (long) Math.floor(ratePerSecond * (up / 2 + seconds(steady) + down / 2));
+    }
+
+    /**
+     * Inverts the cumulative arrival curve, so that arrival {@code n} (zero based) is
+     * scheduled exactly where the integral of the rate reaches {@code n}.
+     *
+     * @return nanoseconds from the start of the run at which arrival {@code n} is due
+     */
+    public long arrivalOffsetNanos(long n) {
+        double rate = ratePerSecond;
+        double up = seconds(rampUp);
+        double hold = seconds(steady);
+        double down = seconds(rampDown);
+
+        double upArrivals = rate * up / 2;
+        double holdArrivals = rate * hold;
+        double t;
+        if (n < upArrivals) {
+            t = Math.sqrt(2 * up * n / rate);
+        } else if (n < upArrivals + holdArrivals) {
+            t = up + (n - upArrivals) / rate;
+        } else {
+            double m = n - upArrivals - holdArrivals;
+            double discriminant = Math.max(0, 1 - 2 * m / (rate * down));
+            t = up + hold + down * (1 - Math.sqrt(discriminant));
+        }
+        return (long) (t * 1_000_000_000L);
+    }
+
+    BookingOperation nextOperation() {
+        Map<BookingOperation, Integer> weights = mix.isEmpty() ? DEFAULT_MIX : mix;
+        int total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<BookingOperation, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        return BookingOperation.CREATE;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.0;
+    }
+}
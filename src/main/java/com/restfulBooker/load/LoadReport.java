@@ -0,0 +1,56 @@
+package com.restfulBooker.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Getter
+public class LoadReport {
+
+    private final long scheduled;
+    private final long dropped;
+    private final Duration elapsed;
+    private final Map<BookingOperation, OperationStats> operations;
+
+    LoadReport(long scheduled, long dropped, Duration elapsed, Map<BookingOperation, OperationStats> operations) {
+        this.scheduled = scheduled;
+        this.dropped = dropped;
+        this.elapsed = elapsed;
+        this.operations = operations;
+    }
+
+    public long getCompleted() {
+        return operations.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    public long getErrors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    /**
+     * @return false if any arrival was dropped, in which case the latencies of the dropped
+     * operations are lower bounds: those arrivals were never answered
+     */
+    public boolean isValid() {
+        return dropped == 0;
+    }
+
+    public double getThroughputPerSecond() {
+        return getCompleted() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "scheduled=%d completed=%d errors=%d dropped=%d elapsed=%dms throughput=%.1f/s",
+                scheduled, getCompleted(), getErrors(), dropped, elapsed.toMillis(), getThroughputPerSecond()));
+        if (!isValid()) {
+            sb.append(" INVALID: latencies of dropped arrivals are lower bounds");
+        }
+        for (OperationStats stats : operations.values()) {
+            sb.append(System.lineSeparator()).append("  ").append(stats);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.restfulBooker.load;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency summary of one {@link BookingOperation}. {@code latency} is measured from the
+ * scheduled arrival time (corrected for coordinated omission), {@code serviceTime} from
+ * the moment the request was actually sent. {@code latency} also holds the {@code dropped}
+ * arrivals that were never sent, each as the time from its arrival to the end of the run;
+ * {@code count} and {@code serviceTime} cover only the requests that were sent.
+ */
+@Getter
+public class OperationStats {
+
+    private final BookingOperation operation;
+    private final long count;
+    private final long errors;
+    private final long dropped;
+    private final Histogram latency;
+    private final Histogram serviceTime;
+
+    OperationStats(BookingOperation operation, long errors, long dropped, Histogram latency, Histogram serviceTime) {
+        this.operation = operation;
+        this.count = latency.getTotalCount() - dropped;
+        this.errors = errors;
+        this.dropped = dropped;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+    }
+
+    public double latencyMillisAtPercentile(double percentile) {
+        return toMillis(latency.getValueAtPercentile(percentile));
+    }
+
+    public double serviceTimeMillisAtPercentile(double percentile) {
+        return toMillis(serviceTime.getValueAtPercentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s count=%d errors=%d dropped=%d latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms (service p99=%.2fms)",
+                operation, count, errors, dropped,
+                latencyMillisAtPercentile(50), latencyMillisAtPercentile(90), latencyMillisAtPercentile(99),
+                toMillis(latency.getMaxValue()), serviceTimeMillisAtPercentile(99));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.restfulBooker.load;
+
+import com.restfulBooker.config.ConnectionPool;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Reads the client-side resources a soak run tracks from the platform MXBeans and the
+ * connection pool.
+ */
+class ResourceSampler {
+
+    private final ConnectionPool connectionPool;
+    private final BufferPoolMXBean directBuffers;
+
+    ResourceSampler(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        BufferPoolMXBean direct = null;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                direct = pool;
+            }
+        }
+        this.directBuffers = direct;
+    }
+
+    SoakSample sample(long elapsedMillis, long iterations, long errors) {
+        return new SoakSample(elapsedMillis, iterations, errors, heapAfterGc(), openFiles(),
+                ManagementFactory.getThreadMXBean().getThreadCount(),
+                connectionPool == null ? -1 : connectionPool.getLeasedConnections() + connectionPool.getIdleConnections(),
+                directBuffers == null ? -1 : directBuffers.getMemoryUsed());
+    }
+
+    /**
+     * Collects before reading the heap, so the value is what is still reachable rather than
+     * how much garbage happens to be waiting. Explicit GCs are cheap next to a sample interval
+     * of seconds, but are ignored under {@code -XX:+DisableExplicitGC}, making this noisier.
+     */
+    private static long heapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long openFiles() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
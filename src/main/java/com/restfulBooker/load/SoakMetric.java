@@ -0,0 +1,32 @@
+package com.restfulBooker.load;
+
+/**
+ * Client-side resources sampled during a soak run, with how much each may grow over the
+ * measured part of the run before it counts as a leak.
+ */
+public enum SoakMetric {
+    HEAP_AFTER_GC("heapAfterGcBytes", 64L * 1024 * 1024),
+    OPEN_FILES("openFiles", 16),
+    THREADS("threads", 8),
+    CONNECTIONS("connections", 8),
+    DIRECT_BUFFERS("directBufferBytes", 16L * 1024 * 1024);
+
+    private final String column;
+    private final long defaultAllowedGrowth;
+
+    SoakMetric(String column, long defaultAllowedGrowth) {
+        this.column = column;
+        this.defaultAllowedGrowth = defaultAllowedGrowth;
+    }
+
+    /**
+     * @return the name of this metric's column in the soak time series
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    public long getDefaultAllowedGrowth() {
+        return defaultAllowedGrowth;
+    }
+}
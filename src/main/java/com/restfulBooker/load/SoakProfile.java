@@ -0,0 +1,33 @@
+package com.restfulBooker.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * How long a soak run lasts, how often resources are sampled, and how much each
+ * {@link SoakMetric} may grow after {@code warmup} before the run fails. Samples taken during
+ * {@code warmup} are written but not judged, as caches, pools and the JIT settle then.
+ */
+@Getter
+@Builder
+public class SoakProfile {
+
+    private final Duration duration;
+    @Builder.Default
+    private final Duration sampleInterval = Duration.ofSeconds(10);
+    @Builder.Default
+    private final Duration warmup = Duration.ofMinutes(1);
+    /** Threads each running the booking lifecycle back to back. */
+    @Builder.Default
+    private final int workers = 4;
+    @Singular("allowedGrowth")
+    private final Map<SoakMetric, Long> allowedGrowth;
+
+    public long allowedGrowth(SoakMetric metric) {
+        return allowedGrowth.getOrDefault(metric, metric.getDefaultAllowedGrowth());
+    }
+}
@@ -0,0 +1,100 @@
+package com.restfulBooker.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class SoakReport {
+
+    private final List<SoakSample> samples;
+    private final Duration elapsed;
+    private final long iterations;
+    private final long errors;
+    /** Growth of each metric over the judged samples, from a least-squares fit. */
+    private final Map<SoakMetric, Long> growth;
+    private final List<String> violations;
+
+    private SoakReport(List<SoakSample> samples, Map<SoakMetric, Long> growth, List<String> violations) {
+        this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+        SoakSample last = samples.isEmpty() ? null : samples.get(samples.size() - 1);
+        this.elapsed = Duration.ofMillis(last == null ? 0 : last.getElapsedMillis());
+        this.iterations = last == null ? 0 : last.getIterations();
+        this.errors = last == null ? 0 : last.getErrors();
+        this.growth = growth;
+        this.violations = violations;
+    }
+
+    /**
+     * Judges {@code samples} against {@code profile}. Each metric's growth is the slope of a
+     * least-squares line through the samples taken after the warmup, times the time they span,
+     * so a steady climb is caught while a one-off step or GC noise between samples is not
+     * mistaken for one. At least three samples after the warmup are needed to judge a metric.
+     */
+    public static SoakReport of(List<SoakSample> samples, SoakProfile profile) {
+        List<SoakSample> judged = new ArrayList<>();
+        for (SoakSample sample : samples) {
+            if (sample.getElapsedMillis() >= profile.getWarmup().toMillis()) {
+                judged.add(sample);
+            }
+        }
+        Map<SoakMetric, Long> growth = new EnumMap<>(SoakMetric.class);
+        List<String> violations = new ArrayList<>();
+        if (judged.size() >= 3) {
+            for (SoakMetric metric : SoakMetric.values()) {
+                if (judged.stream().anyMatch(sample -> sample.get(metric) < 0)) {
+                    continue;
+                }
+                long grown = growth(judged, metric);
+                growth.put(metric, grown);
+                if (grown > profile.allowedGrowth(metric)) {
+                    violations.add(String.format("%s grew by %d over the run, more than the %d allowed",
+                            metric.getColumn(), grown, profile.allowedGrowth(metric)));
+                }
+            }
+        }
+        return new SoakReport(samples, growth, violations);
+    }
+
+    private static long growth(List<SoakSample> samples, SoakMetric metric) {
+        double meanT = 0;
+        double meanV = 0;
+        for (SoakSample sample : samples) {
+            meanT += sample.getElapsedMillis();
+            meanV += sample.get(metric);
+        }
+        meanT /= samples.size();
+        meanV /= samples.size();
+        double covariance = 0;
+        double variance = 0;
+        for (SoakSample sample : samples) {
+            double dt = sample.getElapsedMillis() - meanT;
+            covariance += dt * (sample.get(metric) - meanV);
+            variance += dt * dt;
+        }
+        if (variance == 0) {
+            return 0;
+        }
+        long span = samples.get(samples.size() - 1).getElapsedMillis() - samples.get(0).getElapsedMillis();
+        return Math.round(covariance / variance * span);
+    }
+
+    public boolean isPassed() {
+        return violations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("elapsed=%ds iterations=%d errors=%d samples=%d growth=%s",
+                elapsed.getSeconds(), iterations, errors, samples.size(), growth));
+        for (String violation : violations) {
+            sb.append(System.lineSeparator()).append("  ").append(violation);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,224 @@
+package com.restfulBooker.load;
+
+import com.restfulBooker.config.ConnectionPool;
+import com.restfulBooker.config.TestConfig;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.BookingGenerator;
+import com.restfulBooker.utilities.BookingScenario;
+import com.restfulBooker.utilities.BookingTestContext;
+import com.restfulBooker.utilities.JsonUtil;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Soak mode: runs the booking lifecycle (create, get, update, patch, delete, get the 404) on
+ * a fixed number of threads for the length of a {@link SoakProfile}, sampling client-side
+ * resources as it goes.
+ * <p>
+ * Each sample is appended to a CSV time series as soon as it is taken, so a long run can be
+ * plotted while it is still going. At the end the samples are judged by {@link SoakReport},
+ * which fails the run if any resource kept growing. Each lifecycle goes through the same
+ * RestAssured specification and {@link BookingTestContext} binding the tests use, so leaks in
+ * either show up here.
+ */
+public class SoakRunner {
+
+    private static final Logger logger = LogManager.getLogger(SoakRunner.class);
+
+    static final String HEADER = "elapsedSeconds,iterations,errors,heapAfterGcBytes,openFiles,threads,connections,directBufferBytes";
+
+    private final RequestSpecification requestSpecification;
+    private final Supplier<String> tokenSupplier;
+    private final Supplier<Booking> bookingSupplier;
+    private final ResourceSampler sampler;
+
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * @param connectionPool the pool behind {@code requestSpecification}, or null to sample
+     *                       connections as unavailable
+     */
+    public SoakRunner(RequestSpecification requestSpecification, Supplier<String> tokenSupplier,
+                      Supplier<Booking> bookingSupplier, ConnectionPool connectionPool) {
+        this.requestSpecification = requestSpecification;
+        this.tokenSupplier = tokenSupplier;
+        this.bookingSupplier = bookingSupplier;
+        this.sampler = new ResourceSampler(connectionPool);
+    }
+
+    /**
+     * Runner wired to {@link TestConfig}, creating a different synthetic booking each lifecycle.
+     */
+    public static SoakRunner forTestConfig() {
+        BookingGenerator generator = new BookingGenerator(System.currentTimeMillis());
+        AtomicLong next = new AtomicLong();
+        return new SoakRunner(TestConfig.requestSpecification, TestConfig::getToken,
+                () -> generator.booking(next.getAndIncrement() % generator.capacity()), TestConfig.connectionPool);
+    }
+
+    public SoakReport run(SoakProfile profile, Path output) throws IOException {
+        logger.info("Starting soak run: {} workers for {}, sampling every {}", profile.getWorkers(), profile.getDuration(), profile.getSampleInterval());
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < profile.getWorkers(); i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() - end < 0) {
+                    lifecycle();
+                }
+            }, "soak-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+
+        List<SoakSample> samples = new ArrayList<>();
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            // the baseline is taken before the workers exist, so it is written but never judged
+            record(samples, out, sampler.sample(0, 0, 0));
+            workers.forEach(Thread::start);
+            long interval = profile.getSampleInterval().toNanos();
+            for (long due = start + interval; ; due += interval) {
+                long at = Math.min(due, end);
+                for (long wait = at - System.nanoTime(); wait > 0; wait = at - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (at == end) {
+                    join(workers);
+                }
+                SoakSample sample = sampler.sample((System.nanoTime() - start) / 1_000_000, iterations.get(), errors.get());
+                record(samples, out, sample);
+                if (at == end) {
+                    break;
+                }
+                logger.info("Soak {}s: {} lifecycles, {} errors, heap {} MB, {} threads, {} connections", sample.getElapsedMillis() / 1000,
+                        sample.getIterations(), sample.getErrors(), sample.getHeapAfterGcBytes() >> 20, sample.getThreads(), sample.getConnections());
+            }
+        } finally {
+            workers.forEach(Thread::interrupt);
+        }
+        SoakReport report = SoakReport.of(samples, profile);
+        if (report.isPassed()) {
+            logger.info("Soak run finished: {}", report);
+        } else {
+            logger.error("Soak run found growing resources: {}", report);
+        }
+        return report;
+    }
+
+    private static void record(List<SoakSample> samples, BufferedWriter out, SoakSample sample) throws IOException {
+        samples.add(sample);
+        out.write(String.format(Locale.ROOT, "%.3f,%d,%d,%d,%d,%d,%d,%d", sample.getElapsedMillis() / 1000.0, sample.getIterations(), sample.getErrors(),
+                sample.getHeapAfterGcBytes(), sample.getOpenFiles(), sample.getThreads(), sample.getConnections(), sample.getDirectBufferBytes()));
+        out.newLine();
+        out.flush();
+    }
+
+    private static void join(List<Thread> workers) {
+        try {
+            for (Thread worker : workers) {
+                // a worker finishes the lifecycle it is in, bounded by the socket timeout
+                worker.join(Duration.ofMinutes(1).toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void lifecycle() {
+        Booking booking = bookingSupplier.get();
+        try {
+            BookingTestContext.runWith(BookingScenario.of(booking), () -> {
+                if (!send(booking)) {
+                    errors.incrementAndGet();
+                }
+            });
+        } catch (Exception e) {
+            logger.debug("Soak lifecycle failed: {}", e.getMessage());
+            errors.incrementAndGet();
+        }
+        iterations.incrementAndGet();
+    }
+
+    private boolean send(Booking booking) {
+        try {
+            Response created = given(requestSpecification)
+                    .body(JsonUtil.toJsonBytes(booking))
+                    .post("/booking");
+            if (created.statusCode() != 200) {
+                return false;
+            }
+            BookingTestContext.setBookingId(created.path("bookingid"));
+            String path = "/booking/" + BookingTestContext.getBookingId();
+            String cookie = "token=" + tokenSupplier.get();
+            return given(requestSpecification).get(path).statusCode() == 200
+                    && given(requestSpecification)
+                            .header("Cookie", cookie)
+                            .body(JsonUtil.toJsonBytes(booking))
+                            .put(path)
+                            .statusCode() == 200
+                    && given(requestSpecification)
+                            .header("Cookie", cookie)
+                            .body("{\"additionalneeds\":\"Late checkout\"}")
+                            .patch(path)
+                            .statusCode() == 200
+                    && given(requestSpecification)
+                            .header("Cookie", cookie)
+                            .delete(path)
+                            .statusCode() == 201
+                    && given(requestSpecification).get(path).statusCode() == 404;
+        } catch (IOException e) {
+            logger.debug("Soak lifecycle failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Runs a soak against the configured environment:
+     * <pre>
+     * SoakRunner &lt;duration&gt; &lt;output.csv&gt; [workers] [sampleSeconds]
+     * </pre>
+     * The duration is ISO-8601 ({@code PT8H}) or a number of minutes. Exits with 1 if any
+     * resource kept growing or any lifecycle failed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: SoakRunner <duration> <output.csv> [workers] [sampleSeconds]");
+        }
+        Duration duration = args[0].toUpperCase().startsWith("P") ? Duration.parse(args[0]) : Duration.ofMinutes(Long.parseLong(args[0]));
+        SoakProfile.SoakProfileBuilder profile = SoakProfile.builder().duration(duration);
+        if (args.length > 2) {
+            profile.workers(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            profile.sampleInterval(Duration.ofSeconds(Long.parseLong(args[3])));
+        }
+        SoakReport report = forTestConfig().run(profile.build(), Paths.get(args[1]));
+        // an embedded target would otherwise keep the JVM alive
+        System.exit(report.isPassed() && report.getErrors() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.restfulBooker.load;
+
+import lombok.Value;
+
+/**
+ * One point of the soak time series. Resources the platform cannot report are -1.
+ */
+@Value
+public class SoakSample {
+
+    long elapsedMillis;
+    long iterations;
+    long errors;
+    long heapAfterGcBytes;
+    long openFiles;
+    long threads;
+    long connections;
+    long directBufferBytes;
+
+    public long get(SoakMetric metric) {
+        switch (metric) {
+            case HEAP_AFTER_GC:
+                return heapAfterGcBytes;
+            case OPEN_FILES:
+                return openFiles;
+            case THREADS:
+                return threads;
+            case CONNECTIONS:
+                return connections;
+            case DIRECT_BUFFERS:
+                return directBufferBytes;
+            default:
+                throw new IllegalArgumentException("Unsupported metric " + metric);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.restfulBooker.metrics;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one method, endpoint and status, as recorded by {@link LatencyFilter}, in nanoseconds.
+ */
+@Getter
+public class EndpointLatency {
+
+    private final String method;
+    private final String endpoint;
+    private final int status;
+    private final Histogram histogram;
+    private final double throughputPerSecond;
+
+    EndpointLatency(String method, String endpoint, int status, Histogram histogram, double elapsedSeconds) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.status = status;
+        this.histogram = histogram;
+        this.throughputPerSecond = histogram.getTotalCount() / elapsedSeconds;
+    }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public double millisAtPercentile(double percentile) {
+        return toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    public double getMaxMillis() {
+        return toMillis(histogram.getMaxValue());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s %-20s %3d count=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms %.1f/s",
+                method, endpoint, status, getCount(), millisAtPercentile(50), millisAtPercentile(90),
+                millisAtPercentile(99), millisAtPercentile(99.9), getMaxMillis(), throughputPerSecond);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,211 @@
+package com.restfulBooker.metrics;
+
+import com.restfulBooker.utilities.JsonUtil;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured filter that records the latency of every request into one HdrHistogram per
+ * method, endpoint and status. Numeric path segments are folded into {@code {id}}, so
+ * {@code GET /booking/17} and {@code GET /booking/42} share the {@code GET /booking/{id}}
+ * histogram.
+ * <p>
+ * Recording is wait-free: each histogram sits behind a {@link Recorder}, whose writers never
+ * block one another or a reader, and the map of series is only written the first time a series
+ * is seen. {@link #snapshot()} and the exports can run while requests are being recorded.
+ */
+public class LatencyFilter implements Filter {
+
+    private static final Logger logger = LogManager.getLogger(LatencyFilter.class);
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ConcurrentHashMap<Series, Recorder> recorders = new ConcurrentHashMap<>();
+    // everything recorded so far, accumulated from the recorders' interval histograms
+    private final Map<Series, Histogram> totals = new HashMap<>();
+    private final long started = System.nanoTime();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.getStatusCode();
+            return response;
+        } finally {
+            // status 0 is a request that failed without a response
+            record(requestSpec.getMethod(), requestSpec.getDerivedPath(), status, System.nanoTime() - start);
+        }
+    }
+
+    public void record(String method, String path, int status, long nanos) {
+        Series series = new Series(method, normalize(path), status);
+        Recorder recorder = recorders.get(series);
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(series, key -> new Recorder(3));
+        }
+        recorder.recordValue(nanos);
+    }
+
+    /**
+     * @return one entry per series seen so far, ordered by endpoint, method and status
+     */
+    public synchronized List<EndpointLatency> snapshot() {
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        List<EndpointLatency> snapshot = new ArrayList<>();
+        recorders.forEach((series, recorder) -> {
+            Histogram total = totals.computeIfAbsent(series, key -> new Histogram(3));
+            total.add(recorder.getIntervalHistogram());
+            snapshot.add(new EndpointLatency(series.method, series.endpoint, series.status, total.copy(), elapsedSeconds));
+        });
+        snapshot.sort(Comparator.comparing(EndpointLatency::getEndpoint)
+                .thenComparing(EndpointLatency::getMethod)
+                .thenComparingInt(EndpointLatency::getStatus));
+        return snapshot;
+    }
+
+    /**
+     * Writes {@code latency.json} and {@code latency.prom} (Prometheus text format) to {@code directory}.
+     */
+    public void export(Path directory) throws IOException {
+        List<EndpointLatency> snapshot = snapshot();
+        Files.createDirectories(directory);
+        Files.write(directory.resolve("latency.json"), toJson(snapshot));
+        Files.write(directory.resolve("latency.prom"), toPrometheus(snapshot).getBytes(StandardCharsets.UTF_8));
+        logger.info("Latency of {} series written to {}", snapshot.size(), directory.toAbsolutePath());
+    }
+
+    static byte[] toJson(List<EndpointLatency> snapshot) throws IOException {
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (EndpointLatency latency : snapshot) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", latency.getMethod());
+            entry.put("endpoint", latency.getEndpoint());
+            entry.put("status", latency.getStatus());
+            entry.put("count", latency.getCount());
+            entry.put("throughputPerSecond", latency.getThroughputPerSecond());
+            entry.put("p50Ms", latency.millisAtPercentile(50));
+            entry.put("p90Ms", latency.millisAtPercentile(90));
+            entry.put("p99Ms", latency.millisAtPercentile(99));
+            entry.put("p999Ms", latency.millisAtPercentile(99.9));
+            entry.put("maxMs", latency.getMaxMillis());
+            series.add(entry);
+        }
+        return JsonUtil.toJsonBytes(series);
+    }
+
+    static String toPrometheus(List<EndpointLatency> snapshot) {
+        StringBuilder prom = new StringBuilder();
+        prom.append("# HELP booker_request_duration_seconds Latency of requests to the booking API.\n");
+        prom.append("# TYPE booker_request_duration_seconds summary\n");
+        for (EndpointLatency latency : snapshot) {
+            String labels = labels(latency);
+            for (double quantile : QUANTILES) {
+                prom.append("booker_request_duration_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(latency.getHistogram().getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            prom.append("booker_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(seconds((long) (latency.getHistogram().getMean() * latency.getCount()))).append('\n');
+            prom.append("booker_request_duration_seconds_count{").append(labels).append("} ").append(latency.getCount()).append('\n');
+        }
+        prom.append("# HELP booker_request_duration_max_seconds Slowest request to the booking API.\n");
+        prom.append("# TYPE booker_request_duration_max_seconds gauge\n");
+        for (EndpointLatency latency : snapshot) {
+            prom.append("booker_request_duration_max_seconds{").append(labels(latency)).append("} ")
+                    .append(seconds(latency.getHistogram().getMaxValue())).append('\n');
+        }
+        prom.append("# HELP booker_requests_per_second Requests per second over the run.\n");
+        prom.append("# TYPE booker_requests_per_second gauge\n");
+        for (EndpointLatency latency : snapshot) {
+            prom.append("booker_requests_per_second{").append(labels(latency)).append("} ")
+                    .append(String.format(Locale.ROOT, "%.3f", latency.getThroughputPerSecond())).append('\n');
+        }
+        return prom.toString();
+    }
+
+    private static String labels(EndpointLatency latency) {
+        return "method=\"" + latency.getMethod() + "\",endpoint=\"" + latency.getEndpoint().replace("\"", "\\\"") + "\",status=\"" + latency.getStatus() + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Drops the query string and replaces every all-digit path segment with {@code {id}}.
+     */
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int end = path.indexOf('?');
+        if (end < 0) {
+            end = path.length();
+        }
+        StringBuilder normalized = null;
+        int segmentStart = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || path.charAt(i) == '/') {
+                if (i > segmentStart && isDigits(path, segmentStart, i)) {
+                    if (normalized == null) {
+                        normalized = new StringBuilder(end + 4).append(path, 0, segmentStart);
+                    }
+                    normalized.append("{id}");
+                } else if (normalized != null) {
+                    normalized.append(path, segmentStart, i);
+                }
+                if (normalized != null && i < end) {
+                    normalized.append('/');
+                }
+                segmentStart = i + 1;
+            }
+        }
+        if (normalized != null) {
+            return normalized.toString();
+        }
+        return end == path.length() ? path : path.substring(0, end);
+    }
+
+    private static boolean isDigits(String path, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Series {
+
+        private final String method;
+        private final String endpoint;
+        private final int status;
+    }
+}
@@ -0,0 +1,318 @@
+package com.restfulBooker.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.models.ErrorResponse;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transport-independent request handling for the embedded Restful-Booker API.
+ * <p>
+ * Mirrors the status codes of the public service: 200 for reads, creates and updates,
+ * 201 for {@code DELETE} and {@code /ping}, 403 for a missing or invalid token and 404 for
+ * unknown bookings. Rejected payloads are answered with an {@link ErrorResponse} body.
+ */
+public class BookingHandler {
+
+    static final String ADMIN_USERNAME = "admin";
+    static final String ADMIN_PASSWORD = "password123";
+    static final String ADMIN_BASIC_AUTH = "Basic YWRtaW46cGFzc3dvcmQxMjM=";
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BookingStore store;
+
+    public BookingHandler(BookingStore store) {
+        this.store = store;
+    }
+
+    public Result handle(String method, String path, String query, String cookie, String authorization, byte[] body) {
+        try {
+            if (path.equals("/ping")) {
+                return "GET".equals(method) ? Result.text(201, "Created") : methodNotAllowed();
+            }
+            if (path.equals("/auth")) {
+                return "POST".equals(method) ? auth(body) : methodNotAllowed();
+            }
+            if (path.equals("/booking") || path.equals("/booking/")) {
+                switch (method) {
+                    case "GET":
+                        return listIds(query);
+                    case "POST":
+                        return create(body);
+                    default:
+                        return methodNotAllowed();
+                }
+            }
+            if (path.startsWith("/booking/")) {
+                Integer id = parseId(path.substring("/booking/".length()));
+                if (id == null) {
+                    return notFound();
+                }
+                switch (method) {
+                    case "GET":
+                        return get(id);
+                    case "PUT":
+                        return isAuthorized(cookie, authorization) ? update(id, body) : forbidden();
+                    case "PATCH":
+                        return isAuthorized(cookie, authorization) ? partialUpdate(id, body) : forbidden();
+                    case "DELETE":
+                        return isAuthorized(cookie, authorization) ? delete(id) : forbidden();
+                    default:
+                        return methodNotAllowed();
+                }
+            }
+            return notFound();
+        } catch (JsonProcessingException e) {
+            return error(400, "Invalid input");
+        }
+    }
+
+    private Result auth(byte[] body) throws JsonProcessingException {
+        JsonNode credentials = readTree(body);
+        if (credentials != null
+                && ADMIN_USERNAME.equals(credentials.path("username").asText(null))
+                && ADMIN_PASSWORD.equals(credentials.path("password").asText(null))) {
+            return json(200, objectMapper.createObjectNode().put("token", store.issueToken()));
+        }
+        return json(200, objectMapper.createObjectNode().put("reason", "Bad credentials"));
+    }
+
+    private Result listIds(String query) throws JsonProcessingException {
+        Map<String, String> filters = parseQuery(query);
+        String firstname = filters.get("firstname");
+        String lastname = filters.get("lastname");
+
+        ArrayNode ids = objectMapper.createArrayNode();
+        store.snapshot().forEach((id, booking) -> {
+            if ((firstname == null || firstname.equals(booking.getFirstname()))
+                    && (lastname == null || lastname.equals(booking.getLastname()))) {
+                ids.addObject().put("bookingid", id);
+            }
+        });
+        return json(200, ids);
+    }
+
+    private Result create(byte[] body) throws JsonProcessingException {
+        JsonNode node = readTree(body);
+        String problem = validate(node);
+        if (problem != null) {
+            return error(400, problem);
+        }
+        Booking booking = objectMapper.treeToValue(node, Booking.class);
+
+        BookingResponse response = new BookingResponse();
+        response.setBookingid(store.create(booking));
+        response.setBooking(booking);
+        return json(200, response);
+    }
+
+    private Result get(int id) throws JsonProcessingException {
+        Booking booking = store.get(id);
+        return booking == null ? notFound() : json(200, booking);
+    }
+
+    private Result update(int id, byte[] body) throws JsonProcessingException {
+        JsonNode node = readTree(body);
+        String problem = validate(node);
+        if (problem != null) {
+            return error(400, problem);
+        }
+        Booking replacement = objectMapper.treeToValue(node, Booking.class);
+        Booking updated = store.update(id, current -> replacement);
+        return updated == null ? methodNotAllowed() : json(200, updated);
+    }
+
+    private Result partialUpdate(int id, byte[] body) throws JsonProcessingException {
+        JsonNode patch = readTree(body);
+        if (patch == null || !patch.isObject()) {
+            return error(400, "Invalid input");
+        }
+        String[] problem = new String[1];
+        Booking updated = store.update(id, current -> {
+            ObjectNode merged = objectMapper.valueToTree(current);
+            patch.fields().forEachRemaining(field -> {
+                if (field.getValue().isNull()) {
+                    return;
+                }
+                if (field.getKey().equals("bookingdates") && field.getValue().isObject() && merged.get("bookingdates").isObject()) {
+                    ((ObjectNode) merged.get("bookingdates")).setAll((ObjectNode) field.getValue());
+                } else {
+                    merged.set(field.getKey(), field.getValue());
+                }
+            });
+            problem[0] = validate(merged);
+            if (problem[0] != null) {
+                return current;
+            }
+            try {
+                return objectMapper.treeToValue(merged, Booking.class);
+            } catch (JsonProcessingException e) {
+                problem[0] = "Invalid input";
+                return current;
+            }
+        });
+        if (updated == null) {
+            return methodNotAllowed();
+        }
+        return problem[0] != null ? error(400, problem[0]) : json(200, updated);
+    }
+
+    private Result delete(int id) {
+        return store.delete(id) ? Result.text(201, "Created") : methodNotAllowed();
+    }
+
+    /**
+     * @return {@code null} if the node is a complete, well-formed booking, otherwise the error message
+     */
+    private static String validate(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return "Invalid input";
+        }
+        JsonNode dates = node.path("bookingdates");
+        if (isBlank(node.get("firstname")) || isBlank(node.get("lastname"))
+                || !node.hasNonNull("totalprice") || !node.hasNonNull("depositpaid")
+                || !dates.isObject() || isBlank(dates.get("checkin")) || isBlank(dates.get("checkout"))) {
+            return "Missing required fields";
+        }
+        if (!node.get("totalprice").canConvertToInt() || node.get("totalprice").asInt() < 0
+                || !node.get("depositpaid").isBoolean()) {
+            return "Invalid input";
+        }
+        try {
+            LocalDate checkin = LocalDate.parse(dates.get("checkin").asText());
+            LocalDate checkout = LocalDate.parse(dates.get("checkout").asText());
+            if (checkout.isBefore(checkin)) {
+                return "Invalid input";
+            }
+        } catch (DateTimeParseException e) {
+            return "Invalid input";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(JsonNode node) {
+        return node == null || node.isNull() || node.asText().trim().isEmpty();
+    }
+
+    private boolean isAuthorized(String cookie, String authorization) {
+        if (ADMIN_BASIC_AUTH.equals(authorization)) {
+            return true;
+        }
+        if (cookie == null) {
+            return false;
+        }
+        for (String pair : cookie.split(";")) {
+            String trimmed = pair.trim();
+            if (trimmed.startsWith("token=") && store.isValidToken(trimmed.substring("token=".length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.valueOf(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static JsonNode readTree(byte[] body) throws JsonProcessingException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Result json(int status, Object value) throws JsonProcessingException {
+        return new Result(status, JSON, objectMapper.writeValueAsString(value));
+    }
+
+    private static Result error(int status, String message) {
+        try {
+            return json(status, new ErrorResponse(message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Result forbidden() {
+        return error(403, "Forbidden");
+    }
+
+    private static Result notFound() {
+        return error(404, "Not Found");
+    }
+
+    private static Result methodNotAllowed() {
+        return error(405, "Method Not Allowed");
+    }
+
+    public static class Result {
+
+        private final int status;
+        private final String contentType;
+        private final String body;
+
+        Result(int status, String contentType, String body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Result text(int status, String body) {
+            return new Result(status, TEXT, body);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.restfulBooker.server;
+
+import com.restfulBooker.models.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe in-memory storage for the embedded server: bookings by id and issued auth tokens.
+ */
+public class BookingStore {
+
+    private final Map<Integer, Booking> bookings = new ConcurrentHashMap<>();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public int create(Booking booking) {
+        int id = nextId.getAndIncrement();
+        bookings.put(id, booking);
+        return id;
+    }
+
+    public Booking get(int id) {
+        return bookings.get(id);
+    }
+
+    /**
+     * Atomically replaces the booking with the result of {@code update}.
+     *
+     * @return the new booking, or {@code null} if no booking exists with that id
+     */
+    public Booking update(int id, UnaryOperator<Booking> update) {
+        return bookings.computeIfPresent(id, (key, current) -> update.apply(current));
+    }
+
+    public boolean delete(int id) {
+        return bookings.remove(id) != null;
+    }
+
+    public List<Integer> ids() {
+        return new ArrayList<>(bookings.keySet());
+    }
+
+    public Map<Integer, Booking> snapshot() {
+        return Map.copyOf(bookings);
+    }
+
+    public int size() {
+        return bookings.size();
+    }
+
+    public String issueToken() {
+        String token = UUID.randomUUID().toString().replace("-", "").substring(0, 15);
+        tokens.add(token);
+        return token;
+    }
+
+    public boolean isValidToken(String token) {
+        return token != null && tokens.contains(token);
+    }
+
+    public void clear() {
+        bookings.clear();
+        tokens.clear();
+    }
+}
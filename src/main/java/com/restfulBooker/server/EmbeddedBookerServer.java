@@ -0,0 +1,123 @@
+package com.restfulBooker.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process implementation of the Restful-Booker API, so the suites can run without
+ * reaching restful-booker.herokuapp.com.
+ * <p>
+ * Serves {@code /auth}, {@code /booking}, {@code /booking/{id}} and {@code /ping} on top of
+ * the JDK HTTP server with a fixed worker pool, backed by a {@link BookingStore}.
+ */
+public class EmbeddedBookerServer {
+
+    private static final Logger logger = LogManager.getLogger(EmbeddedBookerServer.class);
+
+    static {
+        // without TCP_NODELAY small responses stall on Nagle's algorithm and delayed ACKs (~40ms each)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BookingStore store = new BookingStore();
+    private final BookingHandler handler = new BookingHandler(store);
+
+    public EmbeddedBookerServer(int port) {
+        this(port, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public EmbeddedBookerServer(int port, int workerThreads) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not bind embedded server to port " + port, e);
+        }
+        executor = Executors.newFixedThreadPool(workerThreads, new WorkerThreadFactory());
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public EmbeddedBookerServer start() {
+        server.start();
+        logger.info("Embedded Restful-Booker server started on {}", getBaseUri());
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Embedded Restful-Booker server stopped");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUri() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    public BookingStore getStore() {
+        return store;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            URI uri = exchange.getRequestURI();
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            BookingHandler.Result result = handler.handle(
+                    exchange.getRequestMethod(),
+                    uri.getPath(),
+                    uri.getRawQuery(),
+                    exchange.getRequestHeaders().getFirst("Cookie"),
+                    exchange.getRequestHeaders().getFirst("Authorization"),
+                    body);
+
+            byte[] payload = result.getBody().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", result.getContentType());
+            exchange.sendResponseHeaders(result.getStatus(), payload.length == 0 ? -1 : payload.length);
+            if (payload.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(payload);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Unhandled error serving {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage(), e);
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "embedded-booker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
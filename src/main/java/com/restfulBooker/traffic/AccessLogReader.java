@@ -0,0 +1,102 @@
+package com.restfulBooker.traffic;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.BookingGenerator;
+import com.restfulBooker.utilities.JsonUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Reads an access log in the Common or Combined Log Format as {@link CapturedExchange}s:
+ * <pre>
+ * 10.0.0.1 - - [10/Oct/2023:13:55:36 +0000] "GET /booking/17 HTTP/1.1" 200 123 "-" "curl/8.0"
+ * </pre>
+ * Access logs have neither bodies nor the ids the server assigned. Booking creates and updates
+ * get a body from a {@link BookingGenerator}, patches a partial one, and creates are marked
+ * {@link CapturedExchange#UNKNOWN_ID}, leaving the replay to pair them with the ids later lines
+ * use. Lines that do not parse are skipped.
+ */
+public final class AccessLogReader {
+
+    private static final Logger logger = LogManager.getLogger(AccessLogReader.class);
+
+    private static final Pattern LINE = Pattern.compile("^\\S+ \\S+ \\S+ \\[([^\\]]+)] \"(\\S+) (\\S+)[^\"]*\" (\\d{3}) \\S+.*$");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+    private static final Map<String, String> HEADERS = Map.of("Content-Type", "application/json", "Accept", "application/json");
+
+    private AccessLogReader() {
+    }
+
+    public static Stream<CapturedExchange> read(Path file, long seed) throws IOException {
+        BookingGenerator generator = new BookingGenerator(seed);
+        AtomicLong lineNumber = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        return Files.lines(file, StandardCharsets.UTF_8)
+                .map(line -> {
+                    long index = lineNumber.getAndIncrement();
+                    CapturedExchange exchange = parse(line, generator.booking(index % generator.capacity()));
+                    if (exchange == null && !line.isBlank() && skipped.getAndIncrement() == 0) {
+                        logger.warn("Skipping unparseable access log line {} of {}: {}", index + 1, file, line);
+                    }
+                    return exchange;
+                })
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    if (skipped.get() > 0) {
+                        logger.warn("Skipped {} unparseable lines of {}", skipped.get(), file);
+                    }
+                });
+    }
+
+    static CapturedExchange parse(String line, Booking booking) {
+        Matcher matcher = LINE.matcher(line);
+        if (!matcher.matches()) {
+            return null;
+        }
+        long startMicros;
+        try {
+            OffsetDateTime time = OffsetDateTime.parse(matcher.group(1), TIME);
+            startMicros = ChronoUnit.MICROS.between(Instant.EPOCH, time.toInstant());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        String method = matcher.group(2);
+        String path = matcher.group(3);
+        int status = Integer.parseInt(matcher.group(4));
+        String route = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        boolean single = CapturedExchange.bookingId(route) >= 0;
+
+        byte[] body = new byte[0];
+        int createdId = CapturedExchange.NOT_A_CREATE;
+        try {
+            if ("POST".equals(method) && "/booking".equals(route)) {
+                body = JsonUtil.toJsonBytes(booking);
+                createdId = status == 200 ? CapturedExchange.UNKNOWN_ID : CapturedExchange.NOT_A_CREATE;
+            } else if ("PUT".equals(method) && single) {
+                body = JsonUtil.toJsonBytes(booking);
+            } else if ("PATCH".equals(method) && single) {
+                body = JsonUtil.toJsonBytes(Map.of("additionalneeds", booking.getAdditionalneeds()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CapturedExchange(startMicros, 0, method, path, HEADERS, body, status, createdId, 0);
+    }
+}
@@ -0,0 +1,328 @@
+package com.restfulBooker.traffic;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Append-only binary file of {@link CapturedExchange}s.
+ * <p>
+ * The file starts with {@link #MAGIC}. Each writer that opens it appends a segment: a
+ * {@code SEGMENT} tag followed by {@code EXCHANGE} records. Integers are unsigned varints.
+ * Methods, header names and header values are written once per segment and then referred to
+ * by number, so the headers every request repeats cost a byte or two each. Paths and bodies
+ * are written as they are. A record cut short by a crash ends the file without failing the read,
+ * and the next writer to open the file cuts it off before appending its segment.
+ */
+public final class CaptureFile {
+
+    private static final Logger logger = LogManager.getLogger(CaptureFile.class);
+
+    static final byte[] MAGIC = {'B', 'K', 'C', 'A', 'P', 1};
+    private static final int SEGMENT = 1;
+    private static final int EXCHANGE = 2;
+    // strings past this many in a segment are written literally every time
+    private static final int MAX_STRINGS = 4096;
+
+    private CaptureFile() {
+    }
+
+    /**
+     * @return whether {@code file} starts with the capture file magic
+     */
+    public static boolean isCaptureFile(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        }
+    }
+
+    /**
+     * Streams the exchanges in {@code file} in the order they were written, without loading it.
+     */
+    public static Stream<CapturedExchange> read(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+            in.close();
+            throw new IOException(file + " is not a capture file");
+        }
+        Iterator<CapturedExchange> exchanges = new Iterator<>() {
+            private final List<String> strings = new ArrayList<>();
+            private int segment = -1;
+            private CapturedExchange next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = readNext();
+                }
+                return next != null;
+            }
+
+            @Override
+            public CapturedExchange next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                CapturedExchange exchange = next;
+                next = null;
+                return exchange;
+            }
+
+            private CapturedExchange readNext() {
+                try {
+                    while (true) {
+                        int tag = in.read();
+                        if (tag < 0) {
+                            return null;
+                        }
+                        if (tag == SEGMENT) {
+                            strings.clear();
+                            segment++;
+                            continue;
+                        }
+                        if (tag != EXCHANGE) {
+                            throw new IOException("Corrupt capture file " + file + ": unknown record " + tag);
+                        }
+                        return readExchange(in, strings, segment);
+                    }
+                } catch (EOFException e) {
+                    logger.warn("Capture file {} ends in a partial record, ignoring it", file);
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(exchanges, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * @return the length of {@code file} up to the end of its last complete record
+     */
+    static long completeLength(Path file) throws IOException {
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+             DataInputStream in = new DataInputStream(counting)) {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, Arrays.copyOf(MAGIC, magic.length))) {
+                throw new IOException(file + " is not a capture file");
+            }
+            if (magic.length < MAGIC.length) {
+                return 0;
+            }
+            List<String> strings = new ArrayList<>();
+            long complete = counting.count;
+            try {
+                while (true) {
+                    int tag = in.read();
+                    if (tag < 0) {
+                        return complete;
+                    }
+                    if (tag == SEGMENT) {
+                        strings.clear();
+                    } else if (tag == EXCHANGE) {
+                        readExchange(in, strings, 0);
+                    } else {
+                        throw new IOException("Corrupt capture file " + file + ": unknown record " + tag);
+                    }
+                    complete = counting.count;
+                }
+            } catch (EOFException e) {
+                return complete;
+            }
+        }
+    }
+
+    private static CapturedExchange readExchange(DataInputStream in, List<String> strings, int segment) throws IOException {
+        long startMicros = in.readLong();
+        long durationMicros = readVarLong(in);
+        String method = readString(in, strings, true);
+        String path = readString(in, strings, false);
+        int headerCount = (int) readVarLong(in);
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(readString(in, strings, true), readString(in, strings, true));
+        }
+        byte[] body = new byte[(int) readVarLong(in)];
+        in.readFully(body);
+        int status = (int) readVarLong(in);
+        int createdId = (int) readVarLong(in) - 1;
+        return new CapturedExchange(startMicros, durationMicros, method, path, headers, body, status, createdId, segment);
+    }
+
+    private static String readString(DataInputStream in, List<String> strings, boolean indexed) throws IOException {
+        int ref = (int) readVarLong(in);
+        if (ref > 0) {
+            return strings.get(ref - 1);
+        }
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (indexed && strings.size() < MAX_STRINGS) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * Appends exchanges to a capture file as one new segment. Safe for concurrent use.
+     */
+    static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(Path file) throws IOException {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long length = 0;
+            if (Files.exists(file)) {
+                // a record torn by a crash would otherwise run into this segment's first record
+                length = completeLength(file);
+                long size = Files.size(file);
+                if (length < size) {
+                    logger.warn("Capture file {} ends in a partial record, dropping its last {} bytes", file, size - length);
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.truncate(length);
+                    }
+                }
+            }
+            boolean empty = length == 0;
+            out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 1 << 16));
+            if (empty) {
+                out.write(MAGIC);
+            }
+            out.write(SEGMENT);
+        }
+
+        synchronized void write(CapturedExchange exchange) throws IOException {
+            out.write(EXCHANGE);
+            out.writeLong(exchange.getStartMicros());
+            writeVarLong(exchange.getDurationMicros());
+            writeString(exchange.getMethod(), true);
+            writeString(exchange.getPath(), false);
+            writeVarLong(exchange.getHeaders().size());
+            for (Map.Entry<String, String> header : exchange.getHeaders().entrySet()) {
+                writeString(header.getKey(), true);
+                writeString(header.getValue(), true);
+            }
+            writeVarLong(exchange.getBody().length);
+            out.write(exchange.getBody());
+            writeVarLong(exchange.getStatus());
+            writeVarLong(exchange.getCreatedId() + 1L);
+        }
+
+        synchronized void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+
+        private void writeString(String value, boolean indexed) throws IOException {
+            Integer ref = indexed ? strings.get(value) : null;
+            if (ref != null) {
+                writeVarLong(ref);
+                return;
+            }
+            writeVarLong(0);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            out.write(bytes);
+            if (indexed && strings.size() < MAX_STRINGS) {
+                strings.put(value, strings.size() + 1);
+            }
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
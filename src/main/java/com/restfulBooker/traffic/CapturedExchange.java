@@ -0,0 +1,67 @@
+package com.restfulBooker.traffic;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One request as sent, with the status it got back and, for a booking create, the id the server
+ * assigned, so a replay can map it to the id its own create gets.
+ */
+@Value
+public class CapturedExchange {
+
+    /** {@link #getCreatedId()} of a request that did not create a booking. */
+    public static final int NOT_A_CREATE = 0;
+    /** {@link #getCreatedId()} of a create whose id was not recorded, as in an access log. */
+    public static final int UNKNOWN_ID = -1;
+
+    private static final Pattern BOOKING_PATH = Pattern.compile("^/booking/(\\d+)(?=[/?]|$)");
+    private static final Pattern BOOKING_ID = Pattern.compile("\"bookingid\"\\s*:\\s*(\\d+)");
+
+    /** When the request was sent, in microseconds since the epoch. */
+    long startMicros;
+    long durationMicros;
+    String method;
+    /** Path and query, without scheme or host. */
+    String path;
+    Map<String, String> headers;
+    byte[] body;
+    /** 0 if the request failed without a response. */
+    int status;
+    int createdId;
+    /**
+     * Which writer of a capture file recorded it, counting from 0; each is a separate run, with
+     * its own start times. Always 0 for an access log.
+     */
+    int segment;
+
+    public boolean isCreate() {
+        return createdId != NOT_A_CREATE;
+    }
+
+    /**
+     * @return the booking id in {@code path}, or -1 if it does not address a single booking
+     */
+    static int bookingId(String path) {
+        Matcher matcher = BOOKING_PATH.matcher(path);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    static String withBookingId(String path, int bookingId) {
+        Matcher matcher = BOOKING_PATH.matcher(path);
+        return matcher.find() ? path.substring(0, matcher.start(1)) + bookingId + path.substring(matcher.end(1)) : path;
+    }
+
+    /**
+     * @return the {@code bookingid} in a create response body, or {@link #NOT_A_CREATE} if there is none
+     */
+    static int createdId(byte[] responseBody) {
+        // create responses are small, and a regex avoids binding the whole booking
+        Matcher matcher = BOOKING_ID.matcher(new String(responseBody, StandardCharsets.UTF_8));
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : NOT_A_CREATE;
+    }
+}
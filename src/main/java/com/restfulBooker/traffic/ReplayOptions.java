@@ -0,0 +1,30 @@
+package com.restfulBooker.traffic;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Where and how fast {@link TrafficReplayer} re-issues a capture.
+ * <p>
+ * With a positive {@code speed} each request is sent at its original offset from the first one
+ * divided by {@code speed}, however many are then in flight: 1 keeps the captured pacing, 10
+ * compresses an hour into six minutes. With {@code speed} 0 requests are sent as fast as
+ * possible, at most {@code lanes} at a time.
+ */
+@Getter
+@Builder
+public class ReplayOptions {
+
+    private final String baseUri;
+    @Builder.Default
+    private final double speed = 1.0;
+    @Builder.Default
+    private final int lanes = 8;
+    /** Token sent as the cookie of every update, patch and delete instead of the captured one; null keeps the captured cookie. */
+    private final Supplier<String> tokenSupplier;
+    @Builder.Default
+    private final Duration requestTimeout = Duration.ofSeconds(30);
+}
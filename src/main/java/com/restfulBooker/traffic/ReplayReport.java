@@ -0,0 +1,36 @@
+package com.restfulBooker.traffic;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ReplayReport {
+
+    private final long sent;
+    /** Requests answered with a different status than in the capture. */
+    private final long statusMismatches;
+    /** Requests that failed without a response. */
+    private final long errors;
+    /** Captured booking ids replaced by the ids this replay's creates got. */
+    private final long idsMapped;
+    private final Duration elapsed;
+
+    ReplayReport(long sent, long statusMismatches, long errors, long idsMapped, Duration elapsed) {
+        this.sent = sent;
+        this.statusMismatches = statusMismatches;
+        this.errors = errors;
+        this.idsMapped = idsMapped;
+        this.elapsed = elapsed;
+    }
+
+    public double getRequestsPerSecond() {
+        return sent / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sent=%d statusMismatches=%d errors=%d idsMapped=%d elapsed=%dms throughput=%.1f/s",
+                sent, statusMismatches, errors, idsMapped, elapsed.toMillis(), getRequestsPerSecond());
+    }
+}
@@ -0,0 +1,99 @@
+package com.restfulBooker.traffic;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured filter that appends every request it sees to a {@link CaptureFile}: method, path,
+ * the headers set on the specification, the body as sent, when it started, how long it took and
+ * the status. For {@code POST /booking} the assigned booking id is kept too.
+ * <p>
+ * Start times come from a single wall-clock reading advanced by {@link System#nanoTime()}, so
+ * gaps between requests are exact even if the clock is adjusted during the run.
+ */
+public class TrafficCaptureFilter implements Filter, Closeable {
+
+    private static final Logger logger = LogManager.getLogger(TrafficCaptureFilter.class);
+
+    private final CaptureFile.Writer writer;
+    private final long originMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private final long originNanos = System.nanoTime();
+    private volatile boolean failed;
+
+    public TrafficCaptureFilter(Path file) throws IOException {
+        this.writer = new CaptureFile.Writer(file);
+        logger.info("Capturing traffic to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        int status = 0;
+        int createdId = CapturedExchange.NOT_A_CREATE;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.getStatusCode();
+            if (status == 200 && "POST".equals(requestSpec.getMethod()) && "/booking".equals(requestSpec.getDerivedPath())) {
+                createdId = CapturedExchange.createdId(response.asByteArray());
+            }
+            return response;
+        } finally {
+            record(requestSpec, start, status, createdId);
+        }
+    }
+
+    private void record(FilterableRequestSpecification requestSpec, long start, int status, int createdId) {
+        long end = System.nanoTime();
+        URI uri = URI.create(requestSpec.getURI());
+        String path = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.put(header.getName(), header.getValue());
+        }
+        CapturedExchange exchange = new CapturedExchange(originMicros + (start - originNanos) / 1000, (end - start) / 1000,
+                requestSpec.getMethod(), path, headers, body(requestSpec.getBody()), status, createdId, 0);
+        try {
+            writer.write(exchange);
+        } catch (IOException e) {
+            // losing the capture must not fail the test that was being captured
+            if (!failed) {
+                failed = true;
+                logger.warn("Could not write traffic capture, further requests are not captured: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] body(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
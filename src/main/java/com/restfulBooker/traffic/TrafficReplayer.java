@@ -0,0 +1,264 @@
+package com.restfulBooker.traffic;
+
+import com.restfulBooker.config.EnvironmentProfile;
+import com.restfulBooker.utilities.AuthUtil;
+import com.restfulBooker.utilities.TokenProvider;
+import io.restassured.RestAssured;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Re-issues captured traffic against any base URI, paced as {@link ReplayOptions} says.
+ * <p>
+ * Booking ids differ between environments and runs, so every create in the capture gets a
+ * future for the id it is assigned in the replay, and later requests for the captured id wait
+ * for that future and are sent to the new id. As the create always comes first in the capture,
+ * a request never waits for one that has not been sent. Likewise each request for a booking is
+ * sent once the one before it for that booking has completed, so a delete cannot overtake the
+ * update it followed, while requests for different bookings overlap freely. Creates whose id was not captured, as
+ * from an access log, are paired in order with the ids requests use that no earlier create
+ * accounts for. Ids no create accounts for at all are sent unchanged.
+ * <p>
+ * A booking's bookkeeping is dropped once nothing needs it: the last request for it, once that
+ * completes, and its id future, once it is deleted. Requests for a deleted booking still go to
+ * its replayed id, so they fail as they did when captured, for the most recent
+ * {@value #DELETED_IDS_KEPT} deletes.
+ * <p>
+ * Paced replay keeps each capture segment's own timing and starts the next one as soon as it
+ * is reached, rather than waiting out the time between the runs that recorded them.
+ */
+public class TrafficReplayer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(TrafficReplayer.class);
+
+    // headers java.net.http sets itself and refuses to take from the caller
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    private static final Set<String> AUTHENTICATED_METHODS = Set.of("PUT", "PATCH", "DELETE");
+    static final int DELETED_IDS_KEPT = 10_000;
+
+    private final ReplayOptions options;
+    private final String baseUri;
+    private final ExecutorService executor;
+    private final HttpClient http;
+
+    public TrafficReplayer(ReplayOptions options) {
+        this.options = options;
+        this.baseUri = options.getBaseUri().endsWith("/") ? options.getBaseUri().substring(0, options.getBaseUri().length() - 1) : options.getBaseUri();
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "traffic-replay-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+    }
+
+    public ReplayReport replay(Stream<CapturedExchange> exchanges) {
+        boolean paced = options.getSpeed() > 0;
+        Semaphore lanes = new Semaphore(paced ? Integer.MAX_VALUE : options.getLanes());
+        Map<Integer, CompletableFuture<Integer>> ids = new ConcurrentHashMap<>();
+        Map<Integer, CompletableFuture<Void>> lastRequests = new ConcurrentHashMap<>();
+        Map<Integer, Integer> deleted = Collections.synchronizedMap(new LinkedHashMap<>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > DELETED_IDS_KEPT;
+            }
+        });
+        Deque<CompletableFuture<Integer>> unclaimed = new ArrayDeque<>();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong mismatches = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong mapped = new AtomicLong();
+        AtomicInteger inFlight = new AtomicInteger();
+        logger.info("Replaying against {} {}", baseUri, paced ? "at " + options.getSpeed() + "x the captured pace" : "on " + options.getLanes() + " lanes");
+
+        long start = System.nanoTime();
+        long segmentStart = start;
+        long firstMicros = 0;
+        int segment = -1;
+        Iterator<CapturedExchange> iterator = exchanges.iterator();
+        while (iterator.hasNext()) {
+            CapturedExchange exchange = iterator.next();
+            if (paced) {
+                if (exchange.getSegment() != segment) {
+                    segment = exchange.getSegment();
+                    segmentStart = System.nanoTime();
+                    firstMicros = exchange.getStartMicros();
+                }
+                long due = segmentStart + (long) ((exchange.getStartMicros() - firstMicros) * 1000 / options.getSpeed());
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            lanes.acquireUninterruptibly();
+            int original = CapturedExchange.bookingId(exchange.getPath());
+            CompletableFuture<String> path = resolvePath(exchange.getPath(), ids, deleted, unclaimed);
+            CompletableFuture<Integer> deletedId = original >= 0 && exchange.getMethod().equals("DELETE") ? ids.get(original) : null;
+            CompletableFuture<Void> previous = original < 0 ? null : lastRequests.get(original);
+            if (previous != null) {
+                path = path.thenCombine(previous, (resolved, ignored) -> resolved);
+            }
+            CompletableFuture<Integer> created = null;
+            if (exchange.isCreate()) {
+                created = new CompletableFuture<>();
+                if (exchange.getCreatedId() > 0) {
+                    ids.put(exchange.getCreatedId(), created);
+                } else {
+                    unclaimed.add(created);
+                }
+            }
+            CompletableFuture<Integer> assigned = created;
+            inFlight.incrementAndGet();
+            CompletableFuture<Void> done = path
+                    .thenCompose(resolved -> http.sendAsync(request(exchange, resolved), HttpResponse.BodyHandlers.ofByteArray()))
+                    .handle((response, error) -> {
+                        try {
+                            sent.incrementAndGet();
+                            if (error != null) {
+                                errors.incrementAndGet();
+                                logger.debug("{} {} failed: {}", exchange.getMethod(), exchange.getPath(), error.getMessage());
+                            } else if (exchange.getStatus() > 0 && response.statusCode() != exchange.getStatus()) {
+                                mismatches.incrementAndGet();
+                            }
+                            if (assigned != null) {
+                                int id = error == null && response.statusCode() == 200
+                                        ? CapturedExchange.createdId(response.body()) : CapturedExchange.NOT_A_CREATE;
+                                if (id != CapturedExchange.NOT_A_CREATE) {
+                                    mapped.incrementAndGet();
+                                }
+                                // without a new id, requests for the captured one are sent unchanged
+                                assigned.complete(id == CapturedExchange.NOT_A_CREATE ? -1 : id);
+                            }
+                            if (deletedId != null && error == null && response.statusCode() < 300) {
+                                deleted.put(original, deletedId.getNow(-1));
+                                ids.remove(original, deletedId);
+                            }
+                        } finally {
+                            inFlight.decrementAndGet();
+                            lanes.release();
+                        }
+                        return null;
+                    });
+            int booking = original >= 0 ? original : exchange.getCreatedId();
+            if (original >= 0 || booking > 0) {
+                lastRequests.put(booking, done);
+                done.whenComplete((ignored, error) -> lastRequests.remove(booking, done));
+            }
+        }
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        ReplayReport report = new ReplayReport(sent.get(), mismatches.get(), errors.get(), mapped.get(), Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Replay finished: {}", report);
+        return report;
+    }
+
+    private static CompletableFuture<String> resolvePath(String path, Map<Integer, CompletableFuture<Integer>> ids,
+                                                         Map<Integer, Integer> deleted, Deque<CompletableFuture<Integer>> unclaimed) {
+        int original = CapturedExchange.bookingId(path);
+        if (original < 0) {
+            return CompletableFuture.completedFuture(path);
+        }
+        CompletableFuture<Integer> id = ids.get(original);
+        if (id == null) {
+            Integer replayed = deleted.get(original);
+            if (replayed != null) {
+                id = CompletableFuture.completedFuture(replayed);
+            } else {
+                id = unclaimed.isEmpty() ? CompletableFuture.completedFuture(-1) : unclaimed.poll();
+                ids.put(original, id);
+            }
+        }
+        return id.thenApply(replayed -> replayed < 0 ? path : CapturedExchange.withBookingId(path, replayed));
+    }
+
+    private HttpRequest request(CapturedExchange exchange, String path) {
+        byte[] body = exchange.getBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(options.getRequestTimeout())
+                .method(exchange.getMethod(), body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        boolean authenticated = options.getTokenSupplier() != null && AUTHENTICATED_METHODS.contains(exchange.getMethod());
+        for (Map.Entry<String, String> header : exchange.getHeaders().entrySet()) {
+            String name = header.getKey().toLowerCase(Locale.ROOT);
+            if (!RESTRICTED_HEADERS.contains(name) && !(authenticated && name.equals("cookie"))) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        if (authenticated) {
+            builder.header("Cookie", "token=" + options.getTokenSupplier().get());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Replays a capture file or access log:
+     * <pre>
+     * TrafficReplayer &lt;capture.bin|access.log&gt; &lt;baseUri&gt; [speed|max] [lanes]
+     * </pre>
+     * {@code speed} defaults to 1, the captured pace; {@code max} sends as fast as {@code lanes}
+     * (default 8) allow. Updates, patches and deletes use a token fetched from {@code baseUri}
+     * with the credentials of the active environment profile.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: TrafficReplayer <capture.bin|access.log> <baseUri> [speed|max] [lanes]");
+        }
+        Path source = Paths.get(args[0]);
+        String baseUri = args[1];
+        EnvironmentProfile profile = EnvironmentProfile.load();
+        long errors;
+        try (TokenProvider tokens = new TokenProvider(
+                () -> AuthUtil.generateToken(RestAssured.given().baseUri(baseUri), profile.getUsername(), profile.getPassword()),
+                profile.getTokenTtl(), profile.getTokenRefreshAhead())) {
+            tokens.refresh();
+            ReplayOptions.ReplayOptionsBuilder options = ReplayOptions.builder().baseUri(baseUri).tokenSupplier(tokens::getToken);
+            if (args.length > 2) {
+                options.speed("max".equalsIgnoreCase(args[2]) ? 0 : Double.parseDouble(args[2]));
+            }
+            if (args.length > 3) {
+                options.lanes(Integer.parseInt(args[3]));
+            }
+            try (TrafficReplayer replayer = new TrafficReplayer(options.build());
+                 Stream<CapturedExchange> exchanges = CaptureFile.isCaptureFile(source) ? CaptureFile.read(source) : AccessLogReader.read(source, 0)) {
+                errors = replayer.replay(exchanges).getErrors();
+            }
+        }
+        System.exit(errors > 0 ? 1 : 0);
+    }
+}
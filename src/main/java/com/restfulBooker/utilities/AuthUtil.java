@@ -2,6 +2,7 @@ package com.restfulBooker.utilities;
 
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -9,11 +10,15 @@ import java.util.Map;
 public class AuthUtil {
 
     public static String generateToken() {
+        return generateToken(RestAssured.given(), "admin", "password123");
+    }
+
+    public static String generateToken(RequestSpecification specification, String username, String password) {
         Map<String, String> credentials = new HashMap<>();
-        credentials.put("username", "admin");
-        credentials.put("password", "password123");
+        credentials.put("username", username);
+        credentials.put("password", password);
 
-        Response response = RestAssured.given()
+        Response response = specification
                 .header("Content-Type", "application/json")
                 .body(credentials)
                 .post("/auth")
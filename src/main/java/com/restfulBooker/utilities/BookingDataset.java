@@ -0,0 +1,214 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Bookings loaded from a precompiled binary file instead of re-parsing the CSV, JSON or XLSX source
+ * on every JVM start.
+ * <p>
+ * The first {@link #load} of a source compiles it into {@code target/dataset-cache/<sha-256>.bkd}
+ * (see {@link BookingDatasetCompiler} for the layout); later loads memory-map that file and read
+ * only its 12-byte header, so loading costs the same for ten bookings or a million. The cache file
+ * is named after the source content hash, and a small stamp file remembers the source's size and
+ * modification time so unchanged sources are not re-hashed. A changed source is compiled again.
+ * <p>
+ * Bookings are decoded on access from the mapped columns; strings are dictionary encoded and each
+ * distinct value is decoded once. Instances are safe to share between threads.
+ */
+public final class BookingDataset {
+
+    private static final Logger logger = LogManager.getLogger(BookingDataset.class);
+
+    static final int MAGIC = 0x424B4431; // "BKD1"
+    static final int HEADER_BYTES = 12;
+    static final int NULL_STRING = -1;
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final int dictionarySize;
+    private final int depositColumn;
+    private final int dictionaryOffsets;
+    private final int dictionaryBytes;
+    private final String[] strings;
+
+    private BookingDataset(ByteBuffer data) {
+        if (data.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a booking dataset file");
+        }
+        this.data = data;
+        this.rows = data.getInt(4);
+        this.dictionarySize = data.getInt(8);
+        this.depositColumn = HEADER_BYTES + 6 * 4 * rows;
+        this.dictionaryOffsets = depositColumn + (rows + 7) / 8;
+        this.dictionaryBytes = dictionaryOffsets + 4 * (dictionarySize + 1);
+        this.strings = new String[dictionarySize];
+    }
+
+    /**
+     * Loads a CSV ({@code .csv}) or JSON ({@code .json}, {@code .ndjson}) booking file.
+     */
+    public static BookingDataset load(String sourcePath) throws IOException {
+        return load(sourcePath, null);
+    }
+
+    /**
+     * Loads one sheet of an {@code .xlsx} booking file, or a CSV/JSON file when {@code sheetName} is null.
+     */
+    public static BookingDataset load(String sourcePath, String sheetName) throws IOException {
+        Path source = Paths.get(sourcePath).toAbsolutePath().normalize();
+        Path compiled = compiledFile(source, sheetName);
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+            return new BookingDataset(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public Booking get(int row) {
+        return new Booking(
+                string(column(0, row)),
+                string(column(1, row)),
+                column(2, row),
+                depositpaid(row),
+                new BookingDates(string(column(3, row)), string(column(4, row))),
+                string(column(5, row)));
+    }
+
+    public int totalprice(int row) {
+        return column(2, row);
+    }
+
+    public boolean depositpaid(int row) {
+        checkRow(row);
+        return (data.get(depositColumn + (row >>> 3)) & (1 << (row & 7))) != 0;
+    }
+
+    public Stream<Booking> stream() {
+        return IntStream.range(0, rows).mapToObj(this::get);
+    }
+
+    private int column(int column, int row) {
+        checkRow(row);
+        return data.getInt(HEADER_BYTES + 4 * (column * rows + row));
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + rows);
+        }
+    }
+
+    private String string(int id) {
+        if (id == NULL_STRING) {
+            return null;
+        }
+        // racy but safe: two threads may decode the same immutable string
+        String value = strings[id];
+        if (value == null) {
+            int start = data.getInt(dictionaryOffsets + 4 * id);
+            int end = data.getInt(dictionaryOffsets + 4 * (id + 1));
+            byte[] bytes = new byte[end - start];
+            data.duplicate().position(dictionaryBytes + start).get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the compiled file for {@code source}, compiling it first if it is missing or stale
+     */
+    private static synchronized Path compiledFile(Path source, String sheetName) throws IOException {
+        Path cacheDir = Paths.get(System.getProperty("dataset.cache.dir", "target/dataset-cache"));
+        Files.createDirectories(cacheDir);
+
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        String stampValue = attributes.size() + " " + attributes.lastModifiedTime().toMillis() + " ";
+        Path stamp = cacheDir.resolve(hex(digest((source + "#" + sheetName).getBytes(StandardCharsets.UTF_8))) + ".stamp");
+
+        if (Files.exists(stamp)) {
+            String recorded = Files.readString(stamp);
+            if (recorded.startsWith(stampValue)) {
+                Path compiled = cacheDir.resolve(recorded.substring(stampValue.length()) + ".bkd");
+                if (Files.exists(compiled)) {
+                    return compiled;
+                }
+            }
+        }
+
+        String contentHash = contentHash(source, sheetName);
+        Path compiled = cacheDir.resolve(contentHash + ".bkd");
+        if (!Files.exists(compiled)) {
+            long start = System.nanoTime();
+            int rows = BookingDatasetCompiler.compile(source, sheetName, compiled);
+            logger.info("Compiled {} bookings from {} in {} ms", rows, source.getFileName(), (System.nanoTime() - start) / 1_000_000);
+        }
+        Files.writeString(stamp, stampValue + contentHash);
+        return compiled;
+    }
+
+    private static String contentHash(Path source, String sheetName) throws IOException {
+        MessageDigest digest = sha256();
+        // the format version and sheet are part of the key so either change forces a recompile
+        digest.update((MAGIC + "#" + sheetName + "#").getBytes(StandardCharsets.UTF_8));
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(source)) {
+            for (int read = in.read(buffer); read > 0; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        return sha256().digest(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Precompiles the given sources, e.g. from a build step. Arguments are paths, with
+     * {@code file.xlsx#Sheet} selecting a sheet.
+     */
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            int hash = arg.lastIndexOf('#');
+            BookingDataset dataset = hash < 0 ? load(arg) : load(arg.substring(0, hash), arg.substring(hash + 1));
+            logger.info("{}: {} bookings", arg, dataset.size());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes the binary file read by {@link BookingDataset}. All values are big-endian:
+ * <pre>
+ * int magic "BKD1", int rows, int dictionarySize
+ * int[rows] firstname, lastname, totalprice, checkin, checkout, additionalneeds  (strings as dictionary ids, -1 for null)
+ * byte[(rows + 7) / 8] depositpaid bits, least significant bit first
+ * int[dictionarySize + 1] string offsets into the UTF-8 blob
+ * byte[] UTF-8 blob
+ * </pre>
+ */
+final class BookingDatasetCompiler {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> dictionary = new ArrayList<>();
+    private final int[][] columns = new int[6][];
+    private byte[] deposits = new byte[0];
+    private int rows;
+
+    private BookingDatasetCompiler() {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new int[1024];
+        }
+    }
+
+    /**
+     * @return the number of bookings written to {@code target}
+     */
+    static int compile(Path source, String sheetName, Path target) throws IOException {
+        BookingDatasetCompiler compiler = new BookingDatasetCompiler();
+        try (Stream<Booking> bookings = read(source, sheetName)) {
+            bookings.forEachOrdered(compiler::add);
+        }
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                compiler.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return compiler.rows;
+    }
+
+    private static Stream<Booking> read(Path source, String sheetName) throws IOException {
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (sheetName != null || name.endsWith(".xlsx")) {
+            if (sheetName == null) {
+                throw new IllegalArgumentException("A sheet name is needed to load " + source);
+            }
+            return ExcelUtil.streamBookings(source.toString(), sheetName);
+        }
+        if (name.endsWith(".csv")) {
+            return CsvUtil.streamBookingsFromCsv(source.toString());
+        }
+        if (name.endsWith(".json") || name.endsWith(".ndjson")) {
+            return JsonFileUtil.streamBookingsFromJson(source.toString());
+        }
+        throw new IllegalArgumentException("Unsupported dataset file " + source);
+    }
+
+    private void add(Booking booking) {
+        if (rows == columns[0].length) {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], rows * 2);
+            }
+        }
+        if (rows / 8 == deposits.length) {
+            deposits = Arrays.copyOf(deposits, Math.max(128, deposits.length * 2));
+        }
+        columns[0][rows] = id(booking.getFirstname());
+        columns[1][rows] = id(booking.getLastname());
+        columns[2][rows] = booking.getTotalprice();
+        String checkin = booking.getBookingdates() == null ? null : booking.getBookingdates().getCheckin();
+        String checkout = booking.getBookingdates() == null ? null : booking.getBookingdates().getCheckout();
+        columns[3][rows] = id(checkin);
+        columns[4][rows] = id(checkout);
+        columns[5][rows] = id(booking.getAdditionalneeds());
+        if (booking.isDepositpaid()) {
+            deposits[rows >>> 3] |= (byte) (1 << (rows & 7));
+        }
+        rows++;
+    }
+
+    private int id(String value) {
+        if (value == null) {
+            return BookingDataset.NULL_STRING;
+        }
+        return ids.computeIfAbsent(value, v -> {
+            dictionary.add(v.getBytes(StandardCharsets.UTF_8));
+            return dictionary.size() - 1;
+        });
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        out.writeInt(BookingDataset.MAGIC);
+        out.writeInt(rows);
+        out.writeInt(dictionary.size());
+        for (int[] column : columns) {
+            for (int i = 0; i < rows; i++) {
+                out.writeInt(column[i]);
+            }
+        }
+        out.write(deposits, 0, (rows + 7) / 8);
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] value : dictionary) {
+            offset += value.length;
+            out.writeInt(offset);
+        }
+        for (byte[] value : dictionary) {
+            out.write(value);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.restfulBooker.utilities;
+
+import com.github.javafaker.Faker;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Seeded, reproducible source of synthetic bookings.
+ * <p>
+ * Booking {@code i} is a pure function of the seed and {@code i}, so any range of indexes can be
+ * generated on any thread in any order, and {@link #stream(long, long)} splits across cores like
+ * {@link LongStream#range}. Each index is first put through a keyed Feistel permutation, whose
+ * digits select a first name, a last name and a check-in date. No two indexes below
+ * {@link #capacity()} share that triple, so bookings are unique. The remaining fields are drawn
+ * from a hash of the index. Stays are mostly short, prices are a nightly rate times the nights,
+ * and most guests pay a deposit.
+ * <p>
+ * Names come from pools filled once per JVM from javafaker with a fixed seed, and dates from a
+ * table of precomputed strings, so generating a booking allocates only the booking itself.
+ */
+public final class BookingGenerator {
+
+    private static final Logger logger = LogManager.getLogger(BookingGenerator.class);
+
+    private static final String[] HEADER = {"firstname", "lastname", "totalprice", "depositpaid", "checkin", "checkout", "additionalneeds"};
+    static final LocalDate FIRST_CHECKIN = LocalDate.of(2020, 1, 1);
+    static final int CHECKIN_DAYS = 3653;
+    // relative frequency of stays of 1, 2, ... 14 nights
+    private static final int[] NIGHT_WEIGHTS = {300, 220, 160, 100, 70, 50, 40, 20, 10, 10, 5, 5, 5, 5};
+    private static final String[] NEEDS = {"Breakfast", "Late checkout", "Lunch", "Dinner", "Airport transfer", "Extra pillows", "Parking"};
+    private static final int[] NEEDS_WEIGHTS = {35, 15, 10, 10, 10, 10, 10};
+    private static final int ROUNDS = 4;
+    private static final int XLSX_MAX_ROWS = 1_048_575;
+
+    private static volatile Pools pools;
+
+    private final long seed;
+    private final Pools pool;
+    private final long capacity;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public BookingGenerator(long seed) {
+        this.seed = seed;
+        this.pool = pools();
+        this.capacity = (long) pool.firstnames.length * pool.lastnames.length * CHECKIN_DAYS;
+        int bits = 64 - Long.numberOfLeadingZeros(capacity - 1);
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        long key = seed;
+        for (int round = 0; round < ROUNDS; round++) {
+            key = mix(key + 0x9E3779B97F4A7C15L);
+            roundKeys[round] = key;
+        }
+    }
+
+    /**
+     * @return how many distinct bookings this generator can produce
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Booking booking(long index) {
+        if (index < 0 || index >= capacity) {
+            throw new IllegalArgumentException("index " + index + " is outside [0, " + capacity + ")");
+        }
+        long slot = permute(index);
+        int first = (int) (slot % pool.firstnames.length);
+        slot /= pool.firstnames.length;
+        int last = (int) (slot % pool.lastnames.length);
+        int checkin = (int) (slot / pool.lastnames.length);
+
+        long hash = mix(index ^ roundKeys[0]);
+        int nights = pick(NIGHT_WEIGHTS, pool.nightsTotal, (int) (hash & 0xFFFF)) + 1;
+        int nightlyRate = 50 + (int) ((hash >>> 16) & 0xFF) % 151 + (int) ((hash >>> 24) & 0xFF) % 151;
+        boolean depositpaid = ((hash >>> 32) & 0xFF) < 192;
+        String additionalneeds = NEEDS[pick(NEEDS_WEIGHTS, pool.needsTotal, (int) ((hash >>> 40) & 0xFFFF))];
+
+        return new Booking(pool.firstnames[first], pool.lastnames[last], nightlyRate * nights, depositpaid,
+                new BookingDates(pool.dates[checkin], pool.dates[checkin + nights]), additionalneeds);
+    }
+
+    public Stream<Booking> stream(long count) {
+        return stream(0, count);
+    }
+
+    /**
+     * Bookings {@code from} (inclusive) to {@code to} (exclusive), in index order. Call
+     * {@code parallel()} to generate them on every core.
+     */
+    public Stream<Booking> stream(long from, long to) {
+        return LongStream.range(from, to).mapToObj(this::booking);
+    }
+
+    /**
+     * Writes bookings {@code from} to {@code to} to {@code output} as CSV ({@code .csv}), a JSON
+     * array ({@code .json}), newline-delimited JSON ({@code .ndjson}) or a single-sheet workbook
+     * ({@code .xlsx}, sheet {@code Sheet1}), in the layout the dataset readers expect. Rows are
+     * written as they are generated.
+     */
+    public void write(Path output, long from, long to) throws IOException {
+        String name = output.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            writeCsv(output, from, to);
+        } else if (name.endsWith(".ndjson")) {
+            writeJson(output, from, to, false);
+        } else if (name.endsWith(".json")) {
+            writeJson(output, from, to, true);
+        } else if (name.endsWith(".xlsx")) {
+            writeXlsx(output, from, to);
+        } else {
+            throw unsupported(output);
+        }
+    }
+
+    private static IllegalArgumentException unsupported(Path output) {
+        return new IllegalArgumentException("Unsupported output " + output + ", expected .csv, .json, .ndjson or .xlsx");
+    }
+
+    private void writeCsv(Path output, long from, long to) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write(String.join(",", HEADER));
+            out.write('\n');
+            for (long i = from; i < to; i++) {
+                Booking booking = booking(i);
+                writeCsvField(out, booking.getFirstname());
+                out.write(',');
+                writeCsvField(out, booking.getLastname());
+                out.write(',');
+                out.write(Integer.toString(booking.getTotalprice()));
+                out.write(booking.isDepositpaid() ? ",true," : ",false,");
+                out.write(booking.getBookingdates().getCheckin());
+                out.write(',');
+                out.write(booking.getBookingdates().getCheckout());
+                out.write(',');
+                writeCsvField(out, booking.getAdditionalneeds());
+                out.write('\n');
+            }
+        }
+    }
+
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private void writeJson(Path output, long from, long to, boolean array) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            if (array) {
+                out.write('[');
+            }
+            for (long i = from; i < to; i++) {
+                if (array && i > from) {
+                    out.write(',');
+                }
+                out.write('\n');
+                out.write(JsonUtil.toJsonBytes(booking(i)));
+            }
+            out.write(array ? "\n]\n".getBytes(StandardCharsets.US_ASCII) : new byte[]{'\n'});
+        }
+    }
+
+    private void writeXlsx(Path output, long from, long to) throws IOException {
+        if (to - from > XLSX_MAX_ROWS) {
+            throw new IllegalArgumentException(to - from + " bookings do not fit in one sheet of " + XLSX_MAX_ROWS + " rows");
+        }
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            Sheet sheet = workbook.createSheet("Sheet1");
+            Row header = sheet.createRow(0);
+            for (int column = 0; column < HEADER.length; column++) {
+                header.createCell(column).setCellValue(HEADER[column]);
+            }
+            int rowNum = 1;
+            for (long i = from; i < to; i++) {
+                Booking booking = booking(i);
+                Row row = sheet.createRow(rowNum++);
+                row.createCell(0).setCellValue(booking.getFirstname());
+                row.createCell(1).setCellValue(booking.getLastname());
+                row.createCell(2).setCellValue(booking.getTotalprice());
+                row.createCell(3).setCellValue(booking.isDepositpaid());
+                row.createCell(4).setCellValue(booking.getBookingdates().getCheckin());
+                row.createCell(5).setCellValue(booking.getBookingdates().getCheckout());
+                row.createCell(6).setCellValue(booking.getAdditionalneeds());
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Keyed Feistel network over the smallest even number of bits that covers the capacity,
+     * cycle-walking any result at or above it. Being a bijection on that range, it never maps two
+     * indexes below the capacity to the same slot.
+     */
+    private long permute(long index) {
+        long value = index;
+        do {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (int round = 0; round < ROUNDS; round++) {
+                long next = left ^ (mix(right ^ roundKeys[round]) & halfMask);
+                left = right;
+                right = next;
+            }
+            value = (left << halfBits) | right;
+        } while (value >= capacity);
+        return value;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int pick(int[] weights, int total, int random) {
+        int target = random % total;
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static Pools pools() {
+        Pools current = pools;
+        if (current == null) {
+            synchronized (BookingGenerator.class) {
+                current = pools;
+                if (current == null) {
+                    current = new Pools();
+                    pools = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static final class Pools {
+
+        private final String[] firstnames;
+        private final String[] lastnames;
+        private final String[] dates;
+        private final int nightsTotal = IntStream.of(NIGHT_WEIGHTS).sum();
+        private final int needsTotal = IntStream.of(NEEDS_WEIGHTS).sum();
+
+        private Pools() {
+            long started = System.nanoTime();
+            Faker faker = new Faker(Locale.ENGLISH, new Random(20240101L));
+            firstnames = distinct(() -> faker.name().firstName(), 1024);
+            lastnames = distinct(() -> faker.name().lastName(), 1024);
+            dates = new String[CHECKIN_DAYS + NIGHT_WEIGHTS.length + 1];
+            for (int day = 0; day < dates.length; day++) {
+                dates[day] = FIRST_CHECKIN.plusDays(day).toString();
+            }
+            logger.debug("Booking pools of {} first and {} last names built in {} ms",
+                    firstnames.length, lastnames.length, (System.nanoTime() - started) / 1_000_000);
+        }
+
+        private static String[] distinct(Supplier<String> source, int size) {
+            Set<String> values = new LinkedHashSet<>();
+            for (int attempt = 0; attempt < size * 20 && values.size() < size; attempt++) {
+                values.add(source.get());
+            }
+            return values.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Writes a dataset, optionally as several shards generated in parallel:
+     * <pre>
+     * BookingGenerator &lt;seed&gt; &lt;count&gt; &lt;output.csv|.json|.ndjson|.xlsx&gt; [shards]
+     * </pre>
+     * With shards, {@code out.csv} becomes {@code out-0.csv}, {@code out-1.csv}, ..., each holding
+     * a contiguous range of indexes.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: BookingGenerator <seed> <count> <output> [shards]");
+        }
+        BookingGenerator generator = new BookingGenerator(Long.parseLong(args[0]));
+        long count = Long.parseLong(args[1]);
+        Path output = Paths.get(args[2]);
+        int shards = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+        long started = System.nanoTime();
+        if (shards == 1) {
+            generator.write(output, 0, count);
+        } else {
+            String name = output.getFileName().toString();
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                throw unsupported(output);
+            }
+            IntStream.range(0, shards).parallel().forEach(shard -> {
+                Path file = output.resolveSibling(name.substring(0, dot) + "-" + shard + name.substring(dot));
+                try {
+                    generator.write(file, count * shard / shards, count * (shard + 1) / shards);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        logger.info("Wrote {} bookings to {} in {} s ({} bookings/s)", count, output, Math.round(seconds * 10) / 10.0, Math.round(count / seconds));
+    }
+}
@@ -0,0 +1,342 @@
+package com.restfulBooker.utilities;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Hand-written JSON encoding and decoding for {@link Booking}, {@link BookingDates} and
+ * {@link BookingResponse}, used by {@link JsonUtil} in place of ObjectMapper databinding.
+ * <p>
+ * Encoding writes UTF-8 straight into a per-thread byte buffer that is reused between calls, with
+ * the same property order, null handling and escaping as the ObjectMapper output. Decoding reads
+ * the model fields from a streaming parser without building a tree. Anything this codec does not
+ * handle exactly like databinding (lone surrogates, a number sent as a string, ...) throws
+ * {@link Unsupported} so that the caller can fall back to ObjectMapper.
+ */
+final class BookingJsonCodec {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<Output> buffers = ThreadLocal.withInitial(Output::new);
+
+    private BookingJsonCodec() {
+    }
+
+    static boolean supports(Class<?> type) {
+        return type == Booking.class || type == BookingDates.class || type == BookingResponse.class;
+    }
+
+    static String toJson(Object value) {
+        Output out = encode(value);
+        return new String(out.bytes, 0, out.length, StandardCharsets.UTF_8);
+    }
+
+    static byte[] toJsonBytes(Object value) {
+        Output out = encode(value);
+        return Arrays.copyOf(out.bytes, out.length);
+    }
+
+    private static Output encode(Object value) {
+        Output out = buffers.get();
+        out.reset();
+        if (value instanceof Booking) {
+            writeBooking(out, (Booking) value);
+        } else if (value instanceof BookingDates) {
+            writeDates(out, (BookingDates) value);
+        } else {
+            writeResponse(out, (BookingResponse) value);
+        }
+        return out;
+    }
+
+    private static void writeResponse(Output out, BookingResponse response) {
+        out.ascii("{\"bookingid\":");
+        out.ascii(Integer.toString(response.getBookingid()));
+        out.ascii(",\"booking\":");
+        if (response.getBooking() == null) {
+            out.ascii("null");
+        } else {
+            writeBooking(out, response.getBooking());
+        }
+        out.write('}');
+    }
+
+    private static void writeBooking(Output out, Booking booking) {
+        out.ascii("{\"firstname\":");
+        out.string(booking.getFirstname());
+        out.ascii(",\"lastname\":");
+        out.string(booking.getLastname());
+        out.ascii(",\"totalprice\":");
+        out.ascii(Integer.toString(booking.getTotalprice()));
+        out.ascii(booking.isDepositpaid() ? ",\"depositpaid\":true" : ",\"depositpaid\":false");
+        out.ascii(",\"bookingdates\":");
+        if (booking.getBookingdates() == null) {
+            out.ascii("null");
+        } else {
+            writeDates(out, booking.getBookingdates());
+        }
+        out.ascii(",\"additionalneeds\":");
+        out.string(booking.getAdditionalneeds());
+        out.write('}');
+    }
+
+    private static void writeDates(Output out, BookingDates dates) {
+        out.ascii("{\"checkin\":");
+        out.string(dates.getCheckin());
+        out.ascii(",\"checkout\":");
+        out.string(dates.getCheckout());
+        out.write('}');
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T fromJson(JsonFactory factory, byte[] json, Class<T> type) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return (T) readRoot(parser, type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T fromJson(JsonFactory factory, String json, Class<T> type) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return (T) readRoot(parser, type);
+        }
+    }
+
+    private static Object readRoot(JsonParser parser, Class<?> type) throws IOException {
+        JsonToken token = parser.nextToken();
+        Object value;
+        if (token == JsonToken.VALUE_NULL) {
+            value = null;
+        } else if (type == Booking.class) {
+            value = readBooking(parser);
+        } else if (type == BookingDates.class) {
+            value = readDates(parser);
+        } else {
+            value = readResponse(parser);
+        }
+        if (parser.nextToken() != null) {
+            throw new Unsupported();
+        }
+        return value;
+    }
+
+    private static BookingResponse readResponse(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        BookingResponse response = new BookingResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("bookingid".equals(name)) {
+                response.setBookingid(readInt(parser, value));
+            } else if ("booking".equals(name)) {
+                response.setBooking(value == JsonToken.VALUE_NULL ? null : readBooking(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private static Booking readBooking(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        Booking booking = new Booking();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "firstname":
+                    booking.setFirstname(readString(parser, value));
+                    break;
+                case "lastname":
+                    booking.setLastname(readString(parser, value));
+                    break;
+                case "totalprice":
+                    booking.setTotalprice(readInt(parser, value));
+                    break;
+                case "depositpaid":
+                    if (value != JsonToken.VALUE_TRUE && value != JsonToken.VALUE_FALSE) {
+                        throw new Unsupported();
+                    }
+                    booking.setDepositpaid(value == JsonToken.VALUE_TRUE);
+                    break;
+                case "bookingdates":
+                    booking.setBookingdates(value == JsonToken.VALUE_NULL ? null : readDates(parser));
+                    break;
+                case "additionalneeds":
+                    booking.setAdditionalneeds(readString(parser, value));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return booking;
+    }
+
+    private static BookingDates readDates(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        BookingDates dates = new BookingDates();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("checkin".equals(name)) {
+                dates.setCheckin(readString(parser, value));
+            } else if ("checkout".equals(name)) {
+                dates.setCheckout(readString(parser, value));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return dates;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(token, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static int readInt(JsonParser parser, JsonToken token) throws IOException {
+        expect(token, JsonToken.VALUE_NUMBER_INT);
+        if (parser.getNumberType() != JsonParser.NumberType.INT) {
+            throw new Unsupported();
+        }
+        return parser.getIntValue();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new Unsupported();
+        }
+    }
+
+    /**
+     * Input or output this codec leaves to ObjectMapper.
+     */
+    static final class Unsupported extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class Output {
+
+        private byte[] bytes = new byte[512];
+        private int length;
+
+        private void reset() {
+            // don't let one huge payload pin a large buffer to the thread
+            if (bytes.length > MAX_RETAINED_BUFFER) {
+                bytes = new byte[512];
+            }
+            length = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+
+        private void write(int b) {
+            ensure(1);
+            bytes[length++] = (byte) b;
+        }
+
+        private void ascii(String text) {
+            int n = text.length();
+            ensure(n);
+            for (int i = 0; i < n; i++) {
+                bytes[length++] = (byte) text.charAt(i);
+            }
+        }
+
+        /**
+         * Writes a quoted string escaped the way Jackson does by default: quote, backslash and
+         * control characters only, everything else as raw UTF-8.
+         */
+        private void string(String text) {
+            if (text == null) {
+                ascii("null");
+                return;
+            }
+            int n = text.length();
+            // worst case is six bytes per char (a \\u escape)
+            ensure(2 + 6 * n);
+            bytes[length++] = '"';
+            for (int i = 0; i < n; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        bytes[length++] = (byte) c;
+                    } else {
+                        escape(c);
+                    }
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (!Character.isHighSurrogate(c) || i + 1 == n || !Character.isLowSurrogate(text.charAt(i + 1))) {
+                        throw new Unsupported();
+                    }
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            bytes[length++] = '"';
+        }
+
+        private void escape(char c) {
+            bytes[length++] = '\\';
+            switch (c) {
+                case '"':
+                    bytes[length++] = '"';
+                    break;
+                case '\\':
+                    bytes[length++] = '\\';
+                    break;
+                case '\n':
+                    bytes[length++] = 'n';
+                    break;
+                case '\r':
+                    bytes[length++] = 'r';
+                    break;
+                case '\t':
+                    bytes[length++] = 't';
+                    break;
+                case '\b':
+                    bytes[length++] = 'b';
+                    break;
+                case '\f':
+                    bytes[length++] = 'f';
+                    break;
+                default:
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xF];
+            }
+        }
+    }
+}
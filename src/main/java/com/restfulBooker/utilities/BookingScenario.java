@@ -0,0 +1,39 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The state of one booking flow: the booking the test expects the API to hold and, once it has
+ * been created, its id. Instances are immutable; a stage that learns something new returns a copy
+ * with that field set, so a scenario can be handed to other threads or async callbacks without
+ * locking. The expected booking is shared, not copied, and must not be modified after the
+ * scenario is created.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class BookingScenario {
+
+    private final Booking expected;
+    private final Integer bookingId;
+
+    private BookingScenario(Booking expected, Integer bookingId) {
+        this.expected = expected;
+        this.bookingId = bookingId;
+    }
+
+    public static BookingScenario of(Booking expected) {
+        return new BookingScenario(expected, null);
+    }
+
+    public BookingScenario withBookingId(Integer bookingId) {
+        return new BookingScenario(expected, bookingId);
+    }
+
+    public BookingScenario withExpected(Booking expected) {
+        return new BookingScenario(expected, bookingId);
+    }
+}
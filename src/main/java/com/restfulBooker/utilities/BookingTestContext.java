@@ -1,92 +1,113 @@
 package com.restfulBooker.utilities;
 
-import com.restfulBooker.models.BookingDates;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-public class BookingTestContext {
-
-    private static final Logger logger = LogManager.getLogger(BookingTestContext.class);
-
-    private static ThreadLocal<Integer> bookingId = new ThreadLocal<>();
-    private static ThreadLocal<String> expectedFirstname = new ThreadLocal<>();
-    private static ThreadLocal<String> expectedLastname = new ThreadLocal<>();
-    private static ThreadLocal<Integer> expectedTotalPrice = new ThreadLocal<>();
-    private static ThreadLocal<Boolean> expectedDepositPaid = new ThreadLocal<>();
-    private static ThreadLocal<BookingDates> expectedBookingDates = new ThreadLocal<>();
-    private static ThreadLocal<String> expectedAdditionalNeeds = new ThreadLocal<>();
-
-    public static Integer getBookingId() {
-        return bookingId.get();
-    }
-
-    public static void setBookingId(Integer id) {
-        logger.info("Setting bookingId to {}", id);
-        bookingId.set(id);
+import com.restfulBooker.models.Booking;
+
+import java.util.function.Supplier;
+
+/**
+ * Binds a {@link BookingScenario} to the code running one booking flow.
+ * <p>
+ * Prefer passing the scenario explicitly. Where that is awkward, {@link #runWith} and
+ * {@link #callWith} bind it for the duration of a call and restore the previous binding
+ * afterwards, so nested and concurrent flows never see each other's state, and {@link #wrap}
+ * carries the caller's binding into a task that runs on another thread, such as an executor task or
+ * a {@code CompletableFuture} callback. Because a binding only lives as long as its call, this
+ * works the same on platform and virtual threads.
+ * <p>
+ * {@link #begin} and {@link #setBookingId} bind without a scope, for flows whose stages are
+ * separate test methods; such flows must call {@link #clear} when they finish.
+ */
+public final class BookingTestContext {
+
+    private static final ThreadLocal<BookingScenario> current = new ThreadLocal<>();
+
+    private BookingTestContext() {
     }
 
-    public static String getExpectedFirstname() {
-        return expectedFirstname.get();
+    /**
+     * @return the scenario bound to the running code, or {@code null} if there is none
+     */
+    public static BookingScenario current() {
+        return current.get();
     }
 
-    public static void setExpectedFirstname(String firstname) {
-        logger.info("Setting expectedFirstname to {}", firstname);
-        expectedFirstname.set(firstname);
+    /**
+     * @throws IllegalStateException if no scenario is bound
+     */
+    public static BookingScenario require() {
+        BookingScenario scenario = current.get();
+        if (scenario == null) {
+            throw new IllegalStateException("No booking scenario is bound to this flow");
+        }
+        return scenario;
     }
 
-    public static String getExpectedLastname() {
-        return expectedLastname.get();
+    public static void runWith(BookingScenario scenario, Runnable action) {
+        BookingScenario previous = current.get();
+        current.set(scenario);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
     }
 
-    public static void setExpectedLastname(String lastname) {
-        logger.info("Setting expectedLastname to {}", lastname);
-        expectedLastname.set(lastname);
+    public static <T> T callWith(BookingScenario scenario, Supplier<T> action) {
+        BookingScenario previous = current.get();
+        current.set(scenario);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
     }
 
-    public static Integer getExpectedTotalPrice() {
-        return expectedTotalPrice.get();
+    /**
+     * @return {@code action} bound to the scenario that is current now, wherever it later runs
+     */
+    public static Runnable wrap(Runnable action) {
+        BookingScenario scenario = current.get();
+        return () -> runWith(scenario, action);
     }
 
-    public static void setExpectedTotalPrice(Integer totalPrice) {
-        logger.info("Setting expectedTotalPrice to {}", totalPrice);
-        expectedTotalPrice.set(totalPrice);
+    /**
+     * @return {@code action} bound to the scenario that is current now, wherever it later runs
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> action) {
+        BookingScenario scenario = current.get();
+        return () -> callWith(scenario, action);
     }
 
-    public static Boolean getExpectedDepositPaid() {
-        return expectedDepositPaid.get();
+    /**
+     * Starts an unscoped flow on this thread expecting {@code expected}.
+     */
+    public static BookingScenario begin(Booking expected) {
+        BookingScenario scenario = BookingScenario.of(expected);
+        current.set(scenario);
+        return scenario;
     }
 
-    public static void setExpectedDepositPaid(Boolean depositPaid) {
-        logger.info("Setting expectedDepositPaid to {}", depositPaid);
-        expectedDepositPaid.set(depositPaid);
+    /**
+     * Records the id of the booking created by the current flow.
+     */
+    public static void setBookingId(Integer bookingId) {
+        current.set(require().withBookingId(bookingId));
     }
 
-    public static BookingDates getExpectedBookingDates() {
-        return expectedBookingDates.get();
-    }
-
-    public static void setExpectedBookingDates(BookingDates bookingDates) {
-        logger.info("Setting expectedBookingDates to {}", bookingDates);
-        expectedBookingDates.set(bookingDates);
-    }
-
-    public static String getExpectedAdditionalNeeds() {
-        return expectedAdditionalNeeds.get();
+    public static Integer getBookingId() {
+        BookingScenario scenario = current.get();
+        return scenario == null ? null : scenario.getBookingId();
     }
 
-    public static void setExpectedAdditionalNeeds(String additionalNeeds) {
-        logger.info("Setting expectedAdditionalNeeds to {}", additionalNeeds);
-        expectedAdditionalNeeds.set(additionalNeeds);
+    public static void clear() {
+        current.remove();
     }
 
-    public static void clear() {
-        logger.info("Clearing BookingTestContext");
-        bookingId.remove();
-        expectedFirstname.remove();
-        expectedLastname.remove();
-        expectedTotalPrice.remove();
-        expectedDepositPaid.remove();
-        expectedBookingDates.remove();
-        expectedAdditionalNeeds.remove();
+    private static void restore(BookingScenario previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
     }
 }
@@ -0,0 +1,143 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Verifies booking responses by deserializing the body once into the model classes and comparing
+ * the result field by field, instead of evaluating a GPath expression per field.
+ * <p>
+ * Like {@code assertAll}, every field is checked before failing, and the {@link AssertionError}
+ * lists each mismatch under the given heading:
+ * <pre>
+ * Verify booking details (2 failures)
+ * 	booking.firstname ==> expected: &lt;John&gt; but was: &lt;Jon&gt;
+ * 	booking.totalprice ==> expected: &lt;123&gt; but was: &lt;124&gt;
+ * </pre>
+ */
+public final class BookingVerifier {
+
+    private BookingVerifier() {
+    }
+
+    /**
+     * Checks the body of a create response against the booking that was sent.
+     *
+     * @return the parsed response, so that callers can read the booking id
+     */
+    public static BookingResponse assertBookingResponse(String heading, Response response, Booking expected) {
+        BookingResponse actual = read(response.asByteArray(), BookingResponse.class);
+        assertBookingResponse(heading, expected, actual);
+        return actual;
+    }
+
+    /**
+     * Checks the body of a get or update response against {@code expected}.
+     *
+     * @return the parsed booking
+     */
+    public static Booking assertBooking(String heading, Response response, Booking expected) {
+        Booking actual = read(response.asByteArray(), Booking.class);
+        assertBooking(heading, expected, actual);
+        return actual;
+    }
+
+    public static void assertBookingResponse(String heading, Booking expected, BookingResponse actual) {
+        List<String> failures = new ArrayList<>();
+        compare("booking", expected, actual.getBooking(), failures);
+        fail(heading, failures);
+    }
+
+    public static void assertBooking(String heading, Booking expected, Booking actual) {
+        List<String> failures = new ArrayList<>();
+        compare(null, expected, actual, failures);
+        fail(heading, failures);
+    }
+
+    /**
+     * @return a description of every field of {@code actual} that differs from {@code expected},
+     * empty if they match
+     */
+    public static List<String> mismatches(Booking expected, Booking actual) {
+        List<String> failures = new ArrayList<>();
+        compare(null, expected, actual, failures);
+        return failures;
+    }
+
+    private static void compare(String prefix, Booking expected, Booking actual, List<String> failures) {
+        if (actual == null || expected == null) {
+            check(prefix == null ? "booking" : prefix, expected, actual, failures);
+            return;
+        }
+        check(field(prefix, "firstname"), expected.getFirstname(), actual.getFirstname(), failures);
+        check(field(prefix, "lastname"), expected.getLastname(), actual.getLastname(), failures);
+        check(field(prefix, "totalprice"), expected.getTotalprice(), actual.getTotalprice(), failures);
+        check(field(prefix, "depositpaid"), expected.isDepositpaid(), actual.isDepositpaid(), failures);
+
+        BookingDates expectedDates = expected.getBookingdates();
+        BookingDates actualDates = actual.getBookingdates();
+        String dates = field(prefix, "bookingdates");
+        if (expectedDates == null || actualDates == null) {
+            check(dates, expectedDates, actualDates, failures);
+        } else {
+            check(dates + ".checkin", expectedDates.getCheckin(), actualDates.getCheckin(), failures);
+            check(dates + ".checkout", expectedDates.getCheckout(), actualDates.getCheckout(), failures);
+        }
+
+        check(field(prefix, "additionalneeds"), expected.getAdditionalneeds(), actual.getAdditionalneeds(), failures);
+    }
+
+    private static String field(String prefix, String name) {
+        return prefix == null ? name : prefix + "." + name;
+    }
+
+    private static void check(String field, Object expected, Object actual, List<String> failures) {
+        if (!Objects.equals(expected, actual)) {
+            // same wording as assertEquals(expected, actual, field)
+            failures.add(field + " ==> expected: <" + expected + "> but was: <" + actual + ">");
+        }
+    }
+
+    private static void check(String field, int expected, int actual, List<String> failures) {
+        if (expected != actual) {
+            failures.add(field + " ==> expected: <" + expected + "> but was: <" + actual + ">");
+        }
+    }
+
+    private static void check(String field, boolean expected, boolean actual, List<String> failures) {
+        if (expected != actual) {
+            failures.add(field + " ==> expected: <" + expected + "> but was: <" + actual + ">");
+        }
+    }
+
+    private static void fail(String heading, List<String> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(heading)
+                .append(" (").append(failures.size()).append(failures.size() == 1 ? " failure)" : " failures)");
+        for (String failure : failures) {
+            message.append("\n\t").append(failure);
+        }
+        throw new AssertionError(message.toString());
+    }
+
+    private static <T> T read(byte[] body, Class<T> type) {
+        try {
+            T value = JsonUtil.fromJson(body, type);
+            if (value == null) {
+                throw new AssertionError("Response body is null, expected a " + type.getSimpleName());
+            }
+            return value;
+        } catch (IOException e) {
+            throw new AssertionError("Response body is not a " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.restfulBooker.utilities;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON schema compiled once into a tree of checks, then run against documents with a single pass
+ * over the parser's tokens; the document is never bound to a tree.
+ * <p>
+ * Supports the keywords the project's schemas use: {@code type} (a name or a list), {@code
+ * properties}, {@code required}, {@code additionalProperties} (boolean), {@code items} and {@code
+ * format} ({@code date} and {@code date-time}). Annotation keywords such as {@code $schema} and
+ * {@code description} are ignored; any other keyword fails compilation rather than being silently
+ * skipped. Instances are immutable and safe to share between threads.
+ */
+public final class CompiledSchema {
+
+    private static final Set<String> IGNORED_KEYWORDS = Set.of("$schema", "$id", "title", "description", "$comment", "examples", "default");
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 1 << 1;
+    private static final int STRING = 1 << 2;
+    private static final int INTEGER = 1 << 3;
+    private static final int NUMBER = 1 << 4;
+    private static final int BOOLEAN = 1 << 5;
+    private static final int NULL = 1 << 6;
+    private static final int ANY = (1 << 7) - 1;
+    private static final Map<String, Integer> TYPES = Map.of(
+            "object", OBJECT, "array", ARRAY, "string", STRING, "integer", INTEGER,
+            "number", NUMBER | INTEGER, "boolean", BOOLEAN, "null", NULL);
+
+    private final JsonFactory factory;
+    private final Node root;
+
+    private CompiledSchema(JsonFactory factory, Node root) {
+        this.factory = factory;
+        this.root = root;
+    }
+
+    static CompiledSchema compile(JsonFactory factory, JsonNode schema) {
+        return new CompiledSchema(factory, compileNode(schema, "#"));
+    }
+
+    /**
+     * @return a description of every violation, empty if {@code json} is valid
+     */
+    public List<String> validate(byte[] json) {
+        List<String> errors = new ArrayList<>();
+        try (JsonParser parser = factory.createParser(json)) {
+            if (parser.nextToken() == null) {
+                errors.add("$: empty document");
+            } else {
+                new Validation(parser, errors).validate(root);
+            }
+        } catch (JsonProcessingException e) {
+            errors.add("$: malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            errors.add("$: " + e.getMessage());
+        }
+        return errors;
+    }
+
+    public boolean isValid(byte[] json) {
+        return validate(json).isEmpty();
+    }
+
+    private static Node compileNode(JsonNode schema, String location) {
+        if (!schema.isObject()) {
+            throw new IllegalArgumentException(location + ": schema must be an object");
+        }
+        Node node = new Node();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = schema.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "type":
+                    node.types = 0;
+                    for (JsonNode type : value.isArray() ? value : List.of(value)) {
+                        Integer mask = TYPES.get(type.asText());
+                        if (mask == null) {
+                            throw new IllegalArgumentException(location + ": unknown type " + type);
+                        }
+                        node.types |= mask;
+                    }
+                    break;
+                case "properties":
+                    for (Iterator<Map.Entry<String, JsonNode>> properties = value.fields(); properties.hasNext(); ) {
+                        Map.Entry<String, JsonNode> property = properties.next();
+                        node.properties.put(property.getKey(), compileNode(property.getValue(), location + "/properties/" + property.getKey()));
+                    }
+                    break;
+                case "required":
+                    for (JsonNode name : value) {
+                        node.required.putIfAbsent(name.asText(), node.required.size());
+                    }
+                    break;
+                case "additionalProperties":
+                    if (!value.isBoolean()) {
+                        throw new IllegalArgumentException(location + ": only boolean additionalProperties is supported");
+                    }
+                    node.additionalProperties = value.booleanValue();
+                    break;
+                case "items":
+                    node.items = compileNode(value, location + "/items");
+                    break;
+                case "format":
+                    node.format = value.asText();
+                    if (!"date".equals(node.format) && !"date-time".equals(node.format)) {
+                        throw new IllegalArgumentException(location + ": unsupported format " + node.format);
+                    }
+                    break;
+                default:
+                    if (!IGNORED_KEYWORDS.contains(field.getKey())) {
+                        throw new IllegalArgumentException(location + ": unsupported keyword " + field.getKey());
+                    }
+            }
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private int types = ANY;
+        private final Map<String, Node> properties = new HashMap<>();
+        private final Map<String, Integer> required = new HashMap<>();
+        private boolean additionalProperties = true;
+        private Node items;
+        private String format;
+    }
+
+    /**
+     * State of one validation run; the path is only turned into a string when reporting an error.
+     */
+    private static final class Validation {
+
+        private final JsonParser parser;
+        private final List<String> errors;
+        private final Deque<Object> path = new ArrayDeque<>();
+
+        private Validation(JsonParser parser, List<String> errors) {
+            this.parser = parser;
+            this.errors = errors;
+        }
+
+        /**
+         * Validates the value at the current token and leaves the parser on its last token.
+         */
+        private void validate(Node node) throws IOException {
+            JsonToken token = parser.currentToken();
+            int actual = typeOf(token);
+            if ((node.types & actual) == 0) {
+                error("expected " + typeNames(node.types) + " but was " + typeNames(actual));
+                parser.skipChildren();
+                return;
+            }
+            switch (token) {
+                case START_OBJECT:
+                    validateObject(node);
+                    break;
+                case START_ARRAY:
+                    validateArray(node);
+                    break;
+                case VALUE_STRING:
+                    if (node.format != null) {
+                        validateFormat(node.format, parser.getText());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void validateObject(Node node) throws IOException {
+            boolean[] seen = node.required.isEmpty() ? null : new boolean[node.required.size()];
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if (seen != null) {
+                    Integer index = node.required.get(name);
+                    if (index != null) {
+                        seen[index] = true;
+                    }
+                }
+                Node child = node.properties.get(name);
+                path.addLast(name);
+                if (child != null) {
+                    validate(child);
+                } else {
+                    if (!node.additionalProperties) {
+                        error("property is not allowed");
+                    }
+                    parser.skipChildren();
+                }
+                path.removeLast();
+            }
+            if (seen != null) {
+                for (Map.Entry<String, Integer> required : node.required.entrySet()) {
+                    if (!seen[required.getValue()]) {
+                        path.addLast(required.getKey());
+                        error("required property is missing");
+                        path.removeLast();
+                    }
+                }
+            }
+        }
+
+        private void validateArray(Node node) throws IOException {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (node.items == null) {
+                    parser.skipChildren();
+                } else {
+                    path.addLast(index);
+                    validate(node.items);
+                    path.removeLast();
+                }
+                index++;
+            }
+        }
+
+        private void validateFormat(String format, String value) {
+            try {
+                if ("date".equals(format)) {
+                    // LocalDate.parse accepts only yyyy-MM-dd, and rejects impossible dates like 2021-02-30
+                    if (value.length() != 10) {
+                        throw new DateTimeException(value);
+                    }
+                    LocalDate.parse(value);
+                } else {
+                    OffsetDateTime.parse(value);
+                }
+            } catch (DateTimeException e) {
+                error("\"" + value + "\" is not a valid " + format);
+            }
+        }
+
+        private int typeOf(JsonToken token) throws IOException {
+            switch (token) {
+                case START_OBJECT:
+                    return OBJECT;
+                case START_ARRAY:
+                    return ARRAY;
+                case VALUE_STRING:
+                    return STRING;
+                case VALUE_NUMBER_INT:
+                    return INTEGER;
+                case VALUE_NUMBER_FLOAT:
+                    // 1.0 is an integer as far as JSON schema is concerned
+                    BigDecimal value = parser.getDecimalValue();
+                    return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0 ? INTEGER : NUMBER;
+                case VALUE_TRUE:
+                case VALUE_FALSE:
+                    return BOOLEAN;
+                default:
+                    return NULL;
+            }
+        }
+
+        private void error(String message) {
+            StringBuilder location = new StringBuilder("$");
+            for (Object segment : path) {
+                if (segment instanceof Integer) {
+                    location.append('[').append(segment).append(']');
+                } else {
+                    location.append('.').append(segment);
+                }
+            }
+            errors.add(location + ": " + message);
+        }
+
+        private static String typeNames(int types) {
+            List<String> names = new ArrayList<>();
+            if ((types & NUMBER) != 0) {
+                names.add("number");
+            } else if ((types & INTEGER) != 0) {
+                names.add("integer");
+            }
+            for (Map.Entry<String, Integer> type : TYPES.entrySet()) {
+                int mask = type.getValue();
+                if (mask != INTEGER && mask != (NUMBER | INTEGER) && (types & mask) == mask) {
+                    names.add(type.getKey());
+                }
+            }
+            Collections.sort(names);
+            return String.join("|", names);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.restfulBooker.utilities;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Positions of the booking columns in a CSV header, so rows can be read by index.
+ */
+class CsvColumns {
+
+    static final int FIELD_COUNT_LIMIT = 64;
+
+    final int firstname;
+    final int lastname;
+    final int totalprice;
+    final int depositpaid;
+    final int checkin;
+    final int checkout;
+    final int additionalneeds;
+
+    CsvColumns(List<String> header) {
+        firstname = required(header, "firstname");
+        lastname = required(header, "lastname");
+        totalprice = required(header, "totalprice");
+        depositpaid = required(header, "depositpaid");
+        checkin = required(header, "checkin");
+        checkout = required(header, "checkout");
+        additionalneeds = header.indexOf("additionalneeds");
+    }
+
+    static CsvColumns parse(String headerLine) {
+        String line = headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine;
+        String[] names = line.trim().split(",");
+        if (names.length > FIELD_COUNT_LIMIT) {
+            throw new IllegalArgumentException("CSV header has more than " + FIELD_COUNT_LIMIT + " columns");
+        }
+        for (int i = 0; i < names.length; i++) {
+            names[i] = names[i].trim().replace("\"", "");
+        }
+        return new CsvColumns(Arrays.asList(names));
+    }
+
+    int maxIndex() {
+        return Math.max(Math.max(Math.max(firstname, lastname), Math.max(totalprice, depositpaid)),
+                Math.max(Math.max(checkin, checkout), additionalneeds));
+    }
+
+    private static int required(List<String> header, String name) {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("CSV header is missing column: " + name);
+        }
+        return index;
+    }
+}
@@ -6,17 +6,26 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.FileReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CsvUtil {
 
     public static List<Booking> readBookingsFromCsv(String filePath) throws IOException {
         List<Booking> bookings = new ArrayList<>();
-        try (Reader reader = new FileReader(filePath);
+        try (Reader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.withHeader())) {
 
             for (CSVRecord csvRecord : csvParser) {
@@ -36,4 +45,62 @@ public class CsvUtil {
         return bookings;
     }
 
+    public static Stream<Booking> streamBookingsFromCsv(String filePath) throws IOException {
+        return streamBookingsFromCsv(filePath, false);
+    }
+
+    /**
+     * Lazily reads bookings from a memory-mapped CSV file, one row at a time, without holding the
+     * file on heap. With {@code parallel} the file is split into line-aligned chunks that are parsed
+     * concurrently on the common fork-join pool; use {@code forEachOrdered} if row order matters.
+     * <p>
+     * Fields may be quoted but must not contain line breaks. Close the stream to release the file.
+     */
+    public static Stream<Booking> streamBookingsFromCsv(String filePath, boolean parallel) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            long dataStart = readHeader(channel, header);
+            CsvColumns columns = CsvColumns.parse(header.toString(StandardCharsets.UTF_8));
+
+            MappedCsvBookingSpliterator spliterator = new MappedCsvBookingSpliterator(channel, columns, dataStart, size);
+            return StreamSupport.stream(spliterator, parallel).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copies the first line into {@code header}.
+     *
+     * @return the offset of the first data row
+     */
+    private static long readHeader(FileChannel channel, ByteArrayOutputStream header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long offset = 0;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                return offset;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return offset + i + 1;
+                }
+                header.write(b);
+            }
+            offset += read;
+        }
+    }
+
 }
@@ -0,0 +1,320 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads one sheet of an .xlsx file row by row by pulling XML events from the sheet part, instead
+ * of building the whole workbook in memory like {@link ExcelUtil}. Only the shared-strings table
+ * and the cell styles are kept in memory, so heap use does not grow with the number of rows.
+ * <p>
+ * Cell values are rendered by type: whole numbers without a trailing {@code .0}, booleans as
+ * {@code true}/{@code false} and date-formatted numbers as ISO dates.
+ * The first row is taken as the header; rows are returned as column name to value maps.
+ *
+ * @see ExcelUtil#streamDataList(String, String)
+ */
+public class ExcelStreamingReader implements AutoCloseable {
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final InputStream sheetData;
+    private final XMLStreamReader xml;
+    private int sheetCount;
+    private int rowIndex = -1;
+
+    public ExcelStreamingReader(String path, String sheetName) {
+        try {
+            pkg = OPCPackage.open(path, PackageAccess.READ);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not open workbook " + path, e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            styles = reader.getStylesTable();
+            sheetData = openSheet(reader, sheetName);
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetData);
+        } catch (Exception e) {
+            pkg.revert();
+            throw e instanceof IllegalArgumentException ? (IllegalArgumentException) e
+                    : new RuntimeException("Could not read sheet " + sheetName + " of " + path, e);
+        }
+    }
+
+    /**
+     * @return the data rows after the header row, with an empty map for each row the sheet
+     * skips, as {@link ExcelUtil#getDataList()} returns them; can only be consumed once
+     */
+    public Stream<Map<String, String>> rows() {
+        List<String> header = nextRow();
+        if (header == null) {
+            return Stream.empty();
+        }
+        int headerIndex = rowIndex;
+        Iterator<Map<String, String>> iterator = new Iterator<>() {
+            private int index = headerIndex;
+            private List<String> next = nextRow();
+            private int nextIndex = rowIndex;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                if (++index < nextIndex) {
+                    return new LinkedHashMap<>();
+                }
+                Map<String, String> row = new LinkedHashMap<>();
+                for (int i = 0; i < next.size() && i < header.size(); i++) {
+                    if (next.get(i) != null) {
+                        row.put(header.get(i), next.get(i));
+                    }
+                }
+                next = nextRow();
+                nextIndex = rowIndex;
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    public static Booking toBooking(Map<String, String> row) {
+        String totalprice = row.get("totalprice");
+        return new Booking(
+                row.get("firstname"),
+                row.get("lastname"),
+                totalprice == null ? 0 : new BigDecimal(totalprice).intValue(),
+                Boolean.parseBoolean(row.get("depositpaid")),
+                new BookingDates(row.get("checkin"), row.get("checkout")),
+                row.get("additionalneeds"));
+    }
+
+    /**
+     * @return the cell values of the next {@code <row>} indexed by column (gaps are {@code null}),
+     * or {@code null} at the end of the sheet; {@link #getRowIndex()} tells which row it is
+     */
+    List<String> nextRow() {
+        return nextRow(false);
+    }
+
+    /**
+     * Like {@link #nextRow()}, but with each cell's type and number format as stored, for
+     * copying the sheet without turning numbers into text or text into numbers.
+     */
+    List<RawCell> nextRawRow() {
+        return nextRow(true);
+    }
+
+    /**
+     * @return the zero-based index of the row last returned, from its {@code r} attribute; sparse
+     * sheets skip the rows that have no cells
+     */
+    int getRowIndex() {
+        return rowIndex;
+    }
+
+    private <T> List<T> nextRow(boolean raw) {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String ref = xml.getAttributeValue(null, "r");
+                    rowIndex = ref == null ? rowIndex + 1 : Integer.parseInt(ref) - 1;
+                    return readRow(raw);
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Malformed sheet XML", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> readRow(boolean raw) throws XMLStreamException {
+        List<T> cells = new ArrayList<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                int column = ref == null ? cells.size() : columnIndex(ref);
+                Object value = readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"), raw);
+                while (cells.size() <= column) {
+                    cells.add(null);
+                }
+                cells.set(column, (T) value);
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Reads the current {@code <c>} element up to its end tag and renders its value by type, or
+     * keeps it as a {@link RawCell} if {@code raw}.
+     */
+    private Object readCell(String type, String styleIndex, boolean raw) throws XMLStreamException {
+        String value = null;
+        StringBuilder inline = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("t".equals(name)) {
+                    // inline strings, possibly split into rich-text runs
+                    if (inline == null) {
+                        inline = new StringBuilder();
+                    }
+                    inline.append(xml.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        if (inline != null) {
+            return raw ? new RawCell(CellType.STRING, inline.toString(), null) : inline.toString();
+        }
+        if (value == null) {
+            return null;
+        }
+        switch (type == null ? "n" : type) {
+            case "s":
+                String text = sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+                return raw ? new RawCell(CellType.STRING, text, null) : text;
+            case "b":
+                String bool = "1".equals(value) ? "true" : "false";
+                return raw ? new RawCell(CellType.BOOLEAN, bool, null) : bool;
+            case "str":
+                return raw ? new RawCell(CellType.STRING, value, null) : value;
+            case "e":
+                return raw ? new RawCell(CellType.ERROR, value, null) : value;
+            default:
+                if (raw) {
+                    XSSFCellStyle style = style(styleIndex);
+                    return new RawCell(CellType.NUMERIC, value, style == null || style.getDataFormat() == 0 ? null : style.getDataFormatString());
+                }
+                return formatNumber(value, styleIndex);
+        }
+    }
+
+    private XSSFCellStyle style(String styleIndex) {
+        return styleIndex == null || styles == null ? null : styles.getStyleAt(Integer.parseInt(styleIndex));
+    }
+
+    private String formatNumber(String raw, String styleIndex) {
+        XSSFCellStyle style = style(styleIndex);
+        if (style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())) {
+            LocalDateTime dateTime = DateUtil.getLocalDateTime(Double.parseDouble(raw));
+            return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? dateTime.toLocalDate().toString()
+                    : dateTime.toString();
+        }
+        BigDecimal number = new BigDecimal(raw).stripTrailingZeros();
+        return number.scale() < 0 ? number.setScale(0).toPlainString() : number.toPlainString();
+    }
+
+    /**
+     * A cell as stored: its type, its value (text, the number as written, {@code true}/{@code false}
+     * or the error code) and, for numbers, the format string of its style unless it is General.
+     */
+    static final class RawCell {
+
+        final CellType type;
+        final String value;
+        final String dataFormat;
+
+        RawCell(CellType type, String value, String dataFormat) {
+            this.type = type;
+            this.value = value;
+            this.dataFormat = dataFormat;
+        }
+    }
+
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * @return the number of sheets in the workbook
+     */
+    int getSheetCount() {
+        return sheetCount;
+    }
+
+    private InputStream openSheet(XSSFReader reader, String sheetName) throws Exception {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        List<String> names = new ArrayList<>();
+        InputStream match = null;
+        while (sheets.hasNext()) {
+            InputStream data = sheets.next();
+            names.add(sheets.getSheetName());
+            if (match == null && sheets.getSheetName().equals(sheetName)) {
+                match = data;
+            } else {
+                data.close();
+            }
+        }
+        sheetCount = names.size();
+        if (match == null) {
+            throw new IllegalArgumentException("Sheet \"" + sheetName + "\" does not exist, found " + Collections.unmodifiableList(names));
+        }
+        return match;
+    }
+
+    @Override
+    public void close() {
+        try {
+            xml.close();
+            sheetData.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pkg.revert();
+        }
+    }
+}
@@ -1,54 +1,46 @@
 package com.restfulBooker.utilities;
 
-import org.apache.poi.ss.usermodel.*;
+import com.restfulBooker.models.Booking;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.lang.ref.Cleaner;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
-public class ExcelUtil {
+public class ExcelUtil implements AutoCloseable {
 
-    private Sheet workSheet;
-    private Workbook workBook;
-    private String path;
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final String path;
+    private final String sheetName;
+    private final WorkbookCache.Entry workBook;
+    private final Cleaner.Cleanable release;
 
     public ExcelUtil(String path, String sheetName) {
         this.path = path;
-        try {
-            // Open the Excel file
-            FileInputStream ExcelFile = new FileInputStream(path);
-            // Access the required test data sheet
-            workBook = WorkbookFactory.create(ExcelFile);
-            workSheet = workBook.getSheet(sheetName);
-            // check if sheet is null or not. null means  sheetname was wrong
-            //Assert.assertNotNull(workSheet, "Sheet: \""+sheetName+"\" does not exist\n");
-
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        this.sheetName = sheetName;
+        // the parsed workbook is shared with every other ExcelUtil on the same file
+        workBook = WorkbookCache.shared().acquire(path);
+        // handed back on close(), or once this instance is garbage collected
+        release = cleaner.register(this, workBook::release);
     }
 
     public String getCellData(int rowNum, int colNum) {
-        Cell cell;
-        try {
-            cell = workSheet.getRow(rowNum).getCell(colNum);
-            String cellData = cell.toString();
-            return cellData;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return getCellData(workSheet(), rowNum, colNum);
     }
 
     public String[][] getDataArray() {
+        WorkbookCache.SheetView sheet = workSheet();
+        int rows = rowCount();
+        int columns = columnCount();
 
-        String[][] data = new String[rowCount()][columnCount()];
+        String[][] data = new String[rows][columns];
 
-        for (int i = 0; i < rowCount(); i++) {
-            for (int j = 0; j < columnCount(); j++) {
-                String value = getCellData(i, j);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                String value = getCellData(sheet, i, j);
                 data[i][j] = value;
             }
         }
@@ -59,12 +51,15 @@ public class ExcelUtil {
     //this method will return data table as 2d array
     //so we need this format because of data provider.
     public String[][] getDataArrayWithoutFirstRow() {
+        WorkbookCache.SheetView sheet = workSheet();
+        int rows = rowCount();
+        int columns = columnCount();
 
-        String[][] data = new String[rowCount() - 1][columnCount()];
+        String[][] data = new String[rows - 1][columns];
 
-        for (int i = 1; i < rowCount(); i++) {
-            for (int j = 0; j < columnCount(); j++) {
-                String value = getCellData(i, j);
+        for (int i = 1; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                String value = getCellData(sheet, i, j);
                 data[i - 1][j] = value;
             }
         }
@@ -73,20 +68,21 @@ public class ExcelUtil {
     }
 
     public List<Map<String, String>> getDataList() {
-        // get all columns
-        List<String> columns = getColumnsNames();
+        WorkbookCache.SheetView sheet = workSheet();
+        String[] header = sheet.row(0);
         // this will be returned
         List<Map<String, String>> data = new ArrayList<>();
+        int rows = sheet.rowCount();
 
-        for (int i = 1; i < rowCount(); i++) {
-            // get each row
-            Row row = workSheet.getRow(i);
+        for (int i = 1; i < rows; i++) {
+            String[] row = sheet.row(i);
             // create map of the row using the column and value
             // column map key, cell value --> map bvalue
             Map<String, String> rowMap = new HashMap<String, String>();
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                rowMap.put(columns.get(columnIndex), cell.toString());
+            for (int j = 0; row != null && j < row.length; j++) {
+                if (row[j] != null) {
+                    rowMap.put(header[j], row[j]);
+                }
             }
 
             data.add(rowMap);
@@ -98,30 +94,18 @@ public class ExcelUtil {
     public List<String> getColumnsNames() {
         List<String> columns = new ArrayList<>();
 
-        for (Cell cell : workSheet.getRow(0)) {
-            columns.add(cell.toString());
+        for (String cell : workSheet().row(0)) {
+            if (cell != null) {
+                columns.add(cell);
+            }
         }
         return columns;
     }
 
     public void setCellData(String value, int rowNum, int colNum) {
-        Cell cell;
-        Row row;
-
         try {
-            row = workSheet.getRow(rowNum);
-            cell = row.getCell(colNum);
-
-            if (cell == null) {
-                cell = row.createCell(colNum);
-                cell.setCellValue(value);
-            } else {
-                cell.setCellValue(value);
-            }
-            FileOutputStream fileOut = new FileOutputStream(path);
-            workBook.write(fileOut);
-
-            fileOut.close();
+            // rewrites the whole workbook; use openWriteSession for more than a few updates
+            workBook.setCellData(sheetName, value, rowNum, colNum);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -133,11 +117,57 @@ public class ExcelUtil {
     }
 
     public int columnCount() {
-        return workSheet.getRow(0).getLastCellNum();
+        return workSheet().row(0).length;
     }
 
     public int rowCount() {
-        return workSheet.getLastRowNum() + 1;
+        return workSheet().rowCount();
+    }
+
+    /**
+     * Releases this instance's hold on the cached workbook. Optional: instances that are never
+     * closed are released when garbage collected.
+     */
+    @Override
+    public void close() {
+        release.clean();
+    }
+
+    private WorkbookCache.SheetView workSheet() {
+        WorkbookCache.SheetView sheet = workBook.sheet(sheetName);
+        if (sheet == null) {
+            throw new IllegalArgumentException("Sheet \"" + sheetName + "\" does not exist in " + path);
+        }
+        return sheet;
+    }
+
+    private static String getCellData(WorkbookCache.SheetView sheet, int rowNum, int colNum) {
+        String[] row = sheet.row(rowNum);
+        if (row == null || colNum < 0 || colNum >= row.length || row[colNum] == null) {
+            throw new RuntimeException("No cell at row " + rowNum + ", column " + colNum);
+        }
+        return row[colNum];
+    }
+
+    // streaming mode: reads .xlsx sheets row by row without loading the workbook,
+    // with typed cell values (123 rather than 123.0). Close the stream when done.
+    public static Stream<Map<String, String>> streamDataList(String path, String sheetName) {
+        ExcelStreamingReader reader = new ExcelStreamingReader(path, sheetName);
+        return reader.rows().onClose(reader::close);
+    }
+
+    public static Stream<Booking> streamBookings(String path, String sheetName) {
+        return streamDataList(path, sheetName).map(ExcelStreamingReader::toBooking);
+    }
+
+    // batched writes: updates are buffered and written in one pass on commit/close
+    public static ExcelWriteSession openWriteSession(String path, String sheetName) {
+        return ExcelWriteSession.open(path, sheetName);
+    }
+
+    // same, but each commit streams the sheet through SXSSF; values only, single-sheet workbooks
+    public static ExcelWriteSession openStreamingWriteSession(String path, String sheetName) {
+        return ExcelWriteSession.openStreaming(path, sheetName);
     }
 
 }
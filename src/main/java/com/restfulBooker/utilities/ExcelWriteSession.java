@@ -0,0 +1,352 @@
+package com.restfulBooker.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffers cell updates for one sheet and writes them to disk in a single pass, instead of
+ * rewriting the whole file on every {@link ExcelUtil#setCellData} call.
+ * <p>
+ * {@link #setCellData} is safe to call from parallel test threads; later writes to the same cell
+ * win. {@link #commit()} writes all pending updates to a temporary file and atomically moves it
+ * over the original, so a crash or a concurrent reader never sees a half-written workbook, and
+ * commits to the same file from different sessions in this JVM, and {@link ExcelUtil#setCellData},
+ * are serialised.
+ * <p>
+ * {@link #open} keeps the workbook in memory for the life of the session, and parses it again
+ * before a commit if the file has changed since, so updates committed by another session are
+ * kept. {@link #openStreaming} is for very large sheets: each commit streams the sheet through
+ * {@link ExcelStreamingReader} into an SXSSF writer, so memory stays flat, but only cell values,
+ * their types and number formats are kept, and the workbook must contain that single sheet.
+ */
+public class ExcelWriteSession implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(ExcelWriteSession.class);
+    private static final Map<Path, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
+
+    private final Path path;
+    private final String sheetName;
+    private final boolean streaming;
+    private final List<String> columnNames;
+
+    private Workbook workbook;
+    private Sheet sheet;
+    // the file as the in-memory workbook last read or wrote it
+    private WorkbookCache.FileStamp stamp;
+
+    private final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    private Map<Long, String> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService autoFlush;
+
+    private ExcelWriteSession(Path path, String sheetName, boolean streaming) {
+        this.path = path.toAbsolutePath().normalize();
+        this.sheetName = sheetName;
+        this.streaming = streaming;
+        if (streaming) {
+            try (ExcelStreamingReader reader = new ExcelStreamingReader(path.toString(), sheetName)) {
+                if (reader.getSheetCount() != 1) {
+                    throw new IllegalArgumentException("Streaming write mode needs a single-sheet workbook, " + path + " has " + reader.getSheetCount());
+                }
+                List<String> header = reader.nextRow();
+                columnNames = header == null || reader.getRowIndex() != 0 ? new ArrayList<>() : header;
+            }
+        } else {
+            try {
+                load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            columnNames = new ArrayList<>();
+            if (sheet.getRow(0) != null) {
+                for (Cell cell : sheet.getRow(0)) {
+                    columnNames.add(cell.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the lock every writer in this JVM holds while it reads, changes and replaces {@code file}
+     */
+    static ReentrantLock fileLock(Path file) {
+        return fileLocks.computeIfAbsent(file.toAbsolutePath().normalize(), p -> new ReentrantLock());
+    }
+
+    public static ExcelWriteSession open(String path, String sheetName) {
+        return new ExcelWriteSession(Paths.get(path), sheetName, false);
+    }
+
+    public static ExcelWriteSession openStreaming(String path, String sheetName) {
+        return new ExcelWriteSession(Paths.get(path), sheetName, true);
+    }
+
+    /**
+     * Also commits pending updates every {@code interval} in the background.
+     */
+    public synchronized ExcelWriteSession flushEvery(Duration interval) {
+        if (autoFlush == null) {
+            autoFlush = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "excel-flush-" + path.getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = interval.toMillis();
+            autoFlush.scheduleWithFixedDelay(() -> {
+                try {
+                    commit();
+                } catch (RuntimeException e) {
+                    logger.error("Scheduled flush of {} failed: {}", path, e.getMessage(), e);
+                }
+            }, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    public void setCellData(String value, int rowNum, int colNum) {
+        bufferLock.readLock().lock();
+        try {
+            pending.put(key(rowNum, colNum), value);
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    public void setCellData(String value, String columnName, int row) {
+        int column = columnNames.indexOf(columnName);
+        if (column < 0) {
+            throw new IllegalArgumentException("Column \"" + columnName + "\" does not exist in sheet " + sheetName);
+        }
+        setCellData(value, row, column);
+    }
+
+    public int pendingUpdates() {
+        return pending.size();
+    }
+
+    /**
+     * Writes all buffered updates to disk. Does nothing if there are none.
+     */
+    public synchronized void commit() {
+        Map<Long, String> updates;
+        bufferLock.writeLock().lock();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            updates = pending;
+            pending = new ConcurrentHashMap<>();
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+
+        ReentrantLock fileLock = fileLock(path);
+        fileLock.lock();
+        boolean written = false;
+        try {
+            if (!streaming && !WorkbookCache.FileStamp.of(path).equals(stamp)) {
+                // written by someone else since; apply the updates on top of their changes
+                logger.debug("{} changed since it was read, reading it again", path);
+                stamp = null;
+                workbook.close();
+                load();
+            }
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                if (streaming) {
+                    writeStreaming(updates, temp);
+                } else {
+                    writeInMemory(updates, temp);
+                }
+                moveIntoPlace(temp);
+                written = true;
+                if (!streaming) {
+                    stamp = WorkbookCache.FileStamp.of(path);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.debug("Committed {} cell updates to {}", updates.size(), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + path, e);
+        } finally {
+            if (!written) {
+                // put the updates back so a later commit can retry them, whatever went wrong
+                updates.forEach(pending::putIfAbsent);
+            }
+            fileLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (autoFlush != null) {
+            autoFlush.shutdownNow();
+        }
+        commit();
+        if (workbook != null) {
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reads the workbook and stamps it; until that succeeds the stamp stays null, so the next
+     * commit reads the file again.
+     */
+    private void load() throws IOException {
+        WorkbookCache.FileStamp read = WorkbookCache.FileStamp.of(path);
+        try (InputStream in = Files.newInputStream(path)) {
+            workbook = WorkbookFactory.create(in);
+        }
+        sheet = workbook.getSheet(sheetName);
+        if (sheet == null) {
+            throw new IllegalArgumentException("Sheet \"" + sheetName + "\" does not exist in " + path);
+        }
+        stamp = read;
+    }
+
+    private void writeInMemory(Map<Long, String> updates, Path target) throws IOException {
+        updates.forEach((key, value) -> {
+            Row row = sheet.getRow(row(key));
+            if (row == null) {
+                row = sheet.createRow(row(key));
+            }
+            Cell cell = row.getCell(column(key));
+            if (cell == null) {
+                cell = row.createCell(column(key));
+            }
+            cell.setCellValue(value);
+        });
+        try (OutputStream out = Files.newOutputStream(target)) {
+            workbook.write(out);
+        }
+    }
+
+    private void writeStreaming(Map<Long, String> updates, Path target) throws IOException {
+        // group updates by row, in row order, so they can be merged into the source rows as they stream past
+        TreeMap<Integer, Map<Integer, String>> byRow = new TreeMap<>();
+        for (Map.Entry<Long, String> update : updates.entrySet()) {
+            byRow.computeIfAbsent(row(update.getKey()), r -> new HashMap<>()).put(column(update.getKey()), update.getValue());
+        }
+
+        try (ExcelStreamingReader reader = new ExcelStreamingReader(path.toString(), sheetName);
+             SXSSFWorkbook output = new SXSSFWorkbook(100)) {
+            Sheet out = output.createSheet(sheetName);
+            Map<String, CellStyle> formats = new HashMap<>();
+            for (List<ExcelStreamingReader.RawCell> cells = reader.nextRawRow(); cells != null; cells = reader.nextRawRow()) {
+                int rowNum = reader.getRowIndex();
+                // rows that only exist in the updates go before this one, as SXSSF writes rows in order
+                while (!byRow.isEmpty() && byRow.firstKey() < rowNum) {
+                    Map.Entry<Integer, Map<Integer, String>> added = byRow.pollFirstEntry();
+                    writeUpdates(out.createRow(added.getKey()), added.getValue());
+                }
+                Row row = out.createRow(rowNum);
+                for (int c = 0; c < cells.size(); c++) {
+                    if (cells.get(c) != null) {
+                        writeRaw(row.createCell(c), cells.get(c), output, formats);
+                    }
+                }
+                Map<Integer, String> rowUpdates = byRow.remove(rowNum);
+                if (rowUpdates != null) {
+                    writeUpdates(row, rowUpdates);
+                }
+            }
+            byRow.forEach((rowNum, rowUpdates) -> writeUpdates(out.createRow(rowNum), rowUpdates));
+            try (OutputStream stream = Files.newOutputStream(target)) {
+                output.write(stream);
+            }
+            output.dispose();
+        }
+    }
+
+    private static void writeUpdates(Row row, Map<Integer, String> updates) {
+        updates.forEach((c, value) -> {
+            Cell cell = row.getCell(c);
+            (cell == null ? row.createCell(c) : cell).setCellValue(value);
+        });
+    }
+
+    /**
+     * Copies a source cell with its type, and its number format through one style per format.
+     */
+    private static void writeRaw(Cell cell, ExcelStreamingReader.RawCell raw, Workbook output, Map<String, CellStyle> formats) {
+        switch (raw.type) {
+            case NUMERIC:
+                cell.setCellValue(Double.parseDouble(raw.value));
+                if (raw.dataFormat != null) {
+                    cell.setCellStyle(formats.computeIfAbsent(raw.dataFormat, format -> {
+                        CellStyle style = output.createCellStyle();
+                        style.setDataFormat(output.createDataFormat().getFormat(format));
+                        return style;
+                    }));
+                }
+                break;
+            case BOOLEAN:
+                cell.setCellValue(Boolean.parseBoolean(raw.value));
+                break;
+            case ERROR:
+                try {
+                    cell.setCellErrorValue(FormulaError.forString(raw.value).getCode());
+                } catch (IllegalArgumentException e) {
+                    cell.setCellValue(raw.value);
+                }
+                break;
+            default:
+                cell.setCellValue(raw.value);
+        }
+    }
+
+    private void moveIntoPlace(Path temp) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int row(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int column(long key) {
+        return (int) key;
+    }
+}
@@ -1,17 +1,78 @@
 package com.restfulBooker.utilities;
 
 import com.restfulBooker.models.Booking;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JsonFileUtil {
 
+    // ObjectReaders are immutable and thread-safe, so one of each is shared by every caller
+    private static final ObjectReader bookingReader = JsonUtil.objectMapper().readerFor(Booking.class);
+    private static final ObjectReader bookingListReader = JsonUtil.objectMapper().readerFor(new TypeReference<List<Booking>>() {});
+
     public static List<Booking> readBookingsFromJson(String filePath) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        return objectMapper.readValue(new File(filePath), new TypeReference<List<Booking>>() {});
+        return bookingListReader.readValue(new File(filePath));
+    }
+
+    /**
+     * Lazily reads bookings one at a time with a token-level parser, so heap use does not grow with
+     * the file. Accepts either a top-level JSON array or newline-delimited JSON (one object per
+     * line, or any whitespace-separated sequence of objects). Close the stream to release the file.
+     */
+    public static Stream<Booking> streamBookingsFromJson(String filePath) throws IOException {
+        JsonParser parser = bookingReader.getFactory().createParser(new File(filePath));
+        try {
+            JsonToken first = parser.nextToken();
+            boolean array = first == JsonToken.START_ARRAY;
+            if (array) {
+                parser.nextToken();
+            }
+            Iterator<Booking> iterator = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    JsonToken token = parser.currentToken();
+                    return token != null && token != JsonToken.END_ARRAY;
+                }
+
+                @Override
+                public Booking next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        Booking booking = bookingReader.readValue(parser);
+                        // step past the object just bound so hasNext sees the next value or the end
+                        parser.nextToken();
+                        return booking;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not read " + filePath, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            parser.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
     }
 }
@@ -3,15 +3,62 @@ package com.restfulBooker.utilities;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 public class JsonUtil {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    static ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    // Booking, BookingDates and BookingResponse go through BookingJsonCodec, which produces the
+    // same JSON as the ObjectMapper without reflection; everything else uses the ObjectMapper.
     public static String toJson(Object object) throws JsonProcessingException {
+        if (object != null && BookingJsonCodec.supports(object.getClass())) {
+            try {
+                return BookingJsonCodec.toJson(object);
+            } catch (BookingJsonCodec.Unsupported e) {
+                // fall through
+            }
+        }
         return objectMapper.writeValueAsString(object);
     }
 
+    // the UTF-8 encoding of toJson, without going through a String for the model classes
+    public static byte[] toJsonBytes(Object object) throws JsonProcessingException {
+        if (object != null && BookingJsonCodec.supports(object.getClass())) {
+            try {
+                return BookingJsonCodec.toJsonBytes(object);
+            } catch (BookingJsonCodec.Unsupported e) {
+                // fall through
+            }
+        }
+        // not writeValueAsBytes: its UTF-8 generator escapes characters outside the BMP, unlike toJson
+        return objectMapper.writeValueAsString(object).getBytes(StandardCharsets.UTF_8);
+    }
+
     public static <T> T fromJson(String json, Class<T> clazz) throws JsonProcessingException {
+        if (BookingJsonCodec.supports(clazz)) {
+            try {
+                return BookingJsonCodec.fromJson(objectMapper.getFactory(), json, clazz);
+            } catch (BookingJsonCodec.Unsupported | IOException e) {
+                // let the ObjectMapper coerce the value or report the error
+            }
+        }
+        return objectMapper.readValue(json, clazz);
+    }
+
+    public static <T> T fromJson(byte[] json, Class<T> clazz) throws IOException {
+        if (BookingJsonCodec.supports(clazz)) {
+            try {
+                return BookingJsonCodec.fromJson(objectMapper.getFactory(), json, clazz);
+            } catch (BookingJsonCodec.Unsupported | IOException e) {
+                // let the ObjectMapper coerce the value or report the error
+            }
+        }
         return objectMapper.readValue(json, clazz);
     }
 }
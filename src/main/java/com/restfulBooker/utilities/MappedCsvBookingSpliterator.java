@@ -0,0 +1,286 @@
+package com.restfulBooker.utilities;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Parses bookings straight out of a memory-mapped CSV file.
+ * <p>
+ * Each spliterator owns a byte range of the file that starts at the beginning of a line;
+ * {@link #trySplit()} cuts the range roughly in half at the next line break, so a parallel
+ * stream parses independent chunks on the fork-join pool. The file is mapped in windows of
+ * at most {@link #WINDOW_SIZE} bytes, which keeps files over 2 GB readable.
+ * <p>
+ * Fields may be quoted ({@code ""} escapes a quote) but must not contain line breaks.
+ * {@code totalprice} and {@code depositpaid} are decoded from the bytes without creating strings.
+ */
+class MappedCsvBookingSpliterator implements Spliterator<Booking> {
+
+    static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final long MIN_SPLIT_SIZE = 1024 * 1024;
+
+    private final FileChannel channel;
+    private final CsvColumns columns;
+    private long position;
+    private final long end;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    // scratch state reused for every line
+    private final int[] fieldStart = new int[CsvColumns.FIELD_COUNT_LIMIT];
+    private final int[] fieldEnd = new int[CsvColumns.FIELD_COUNT_LIMIT];
+    private final boolean[] fieldQuoted = new boolean[CsvColumns.FIELD_COUNT_LIMIT];
+    private byte[] scratch = new byte[256];
+
+    MappedCsvBookingSpliterator(FileChannel channel, CsvColumns columns, long start, long end) {
+        this.channel = channel;
+        this.columns = columns;
+        this.position = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Booking> action) {
+        while (position < end) {
+            ensureWindow(position);
+            int lineStart = (int) (position - windowStart);
+            int lineEnd = indexOfNewline(lineStart);
+            if (lineEnd < 0) {
+                if (windowEnd < end) {
+                    if (windowStart == position) {
+                        throw new IllegalArgumentException("CSV line at byte " + position + " is longer than " + WINDOW_SIZE + " bytes");
+                    }
+                    // the line runs past the current window: remap starting at this line
+                    remap(position);
+                    continue;
+                }
+                lineEnd = (int) (end - windowStart);
+            }
+            position = windowStart + lineEnd + 1;
+
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && window.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (contentEnd == lineStart) {
+                continue;
+            }
+            action.accept(parseLine(lineStart, contentEnd));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<Booking> trySplit() {
+        long remaining = end - position;
+        if (remaining < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        long split = nextLineStart(position + remaining / 2);
+        if (split <= position || split >= end) {
+            return null;
+        }
+        MappedCsvBookingSpliterator prefix = new MappedCsvBookingSpliterator(channel, columns, position, split);
+        position = split;
+        window = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // assume roughly 80 bytes per booking row
+        return Math.max(1, (end - position) / 80);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    private Booking parseLine(int from, int to) {
+        int fields = splitFields(from, to);
+        if (fields <= columns.maxIndex()) {
+            throw new IllegalArgumentException("CSV row at byte " + (windowStart + from) + " has " + fields
+                    + " fields, expected at least " + (columns.maxIndex() + 1));
+        }
+        String firstname = string(columns.firstname);
+        String lastname = string(columns.lastname);
+        int totalprice = parseInt(columns.totalprice);
+        boolean depositpaid = parseBoolean(columns.depositpaid);
+        String checkin = string(columns.checkin);
+        String checkout = string(columns.checkout);
+        String additionalneeds = columns.additionalneeds < 0 ? null : string(columns.additionalneeds);
+
+        return new Booking(firstname, lastname, totalprice, depositpaid, new BookingDates(checkin, checkout), additionalneeds);
+    }
+
+    private int splitFields(int from, int to) {
+        int count = 0;
+        int i = from;
+        while (count < fieldStart.length) {
+            boolean quoted = i < to && window.get(i) == '"';
+            int start = quoted ? i + 1 : i;
+            int j = start;
+            if (quoted) {
+                while (j < to && !(window.get(j) == '"' && (j + 1 >= to || window.get(j + 1) != '"'))) {
+                    j += window.get(j) == '"' ? 2 : 1;
+                }
+                fieldStart[count] = start;
+                fieldEnd[count] = j;
+                fieldQuoted[count] = true;
+                j++; // closing quote
+                while (j < to && window.get(j) != ',') {
+                    j++;
+                }
+            } else {
+                while (j < to && window.get(j) != ',') {
+                    j++;
+                }
+                fieldStart[count] = start;
+                fieldEnd[count] = j;
+                fieldQuoted[count] = false;
+            }
+            count++;
+            if (j >= to) {
+                break;
+            }
+            i = j + 1;
+        }
+        return count;
+    }
+
+    private String string(int field) {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        int written = 0;
+        for (int i = start; i < start + length; i++) {
+            byte b = window.get(i);
+            scratch[written++] = b;
+            if (b == '"' && fieldQuoted[field]) {
+                i++; // "" inside a quoted field is a single quote
+            }
+        }
+        return new String(scratch, 0, written, StandardCharsets.UTF_8);
+    }
+
+    private int parseInt(int field) {
+        int i = fieldStart[field];
+        int to = fieldEnd[field];
+        while (i < to && window.get(i) == ' ') {
+            i++;
+        }
+        boolean negative = i < to && window.get(i) == '-';
+        if (negative || (i < to && window.get(i) == '+')) {
+            i++;
+        }
+        if (i >= to) {
+            throw new NumberFormatException("Empty totalprice at byte " + (windowStart + fieldStart[field]));
+        }
+        long value = 0;
+        int digitsStart = i;
+        for (; i < to; i++) {
+            byte b = window.get(i);
+            if (b == ' ') {
+                break;
+            }
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException("Invalid totalprice at byte " + (windowStart + fieldStart[field]));
+            }
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("totalprice out of range at byte " + (windowStart + fieldStart[field]));
+            }
+        }
+        boolean noDigits = i == digitsStart;
+        // only trailing spaces may follow the digits, so "1 000" or "12 abc" are not read as 1 or 12
+        while (i < to && window.get(i) == ' ') {
+            i++;
+        }
+        if (i < to || noDigits) {
+            throw new NumberFormatException("Invalid totalprice at byte " + (windowStart + fieldStart[field]));
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("totalprice out of range at byte " + (windowStart + fieldStart[field]));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Same semantics as {@link Boolean#parseBoolean(String)}: only a case-insensitive "true" is true.
+     */
+    private boolean parseBoolean(int field) {
+        int start = fieldStart[field];
+        if (fieldEnd[field] - start != 4) {
+            return false;
+        }
+        return (window.get(start) | 0x20) == 't'
+                && (window.get(start + 1) | 0x20) == 'r'
+                && (window.get(start + 2) | 0x20) == 'u'
+                && (window.get(start + 3) | 0x20) == 'e';
+    }
+
+    private int indexOfNewline(int from) {
+        int limit = (int) (windowEnd - windowStart);
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private long nextLineStart(long from) {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = from;
+        try {
+            while (offset < end) {
+                buffer.clear();
+                int read = channel.read(buffer, offset);
+                if (read <= 0) {
+                    return end;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer.get(i) == '\n') {
+                        return offset + i + 1;
+                    }
+                }
+                offset += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return end;
+    }
+
+    private void ensureWindow(long offset) {
+        if (window == null || offset < windowStart || offset >= windowEnd) {
+            remap(offset);
+        }
+    }
+
+    private void remap(long offset) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, end - offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        windowStart = offset;
+        windowEnd = offset + window.capacity();
+    }
+}
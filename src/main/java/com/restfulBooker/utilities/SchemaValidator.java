@@ -1,11 +1,50 @@
 package com.restfulBooker.utilities;
 
-import io.restassured.module.jsv.JsonSchemaValidator;
 import io.restassured.response.Response;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SchemaValidator {
 
+    public static final String BOOKING_SCHEMA = "schemas/booking-schema.json";
+
+    // compiled once per classpath location and shared by every thread
+    private static final Map<String, CompiledSchema> schemas = new ConcurrentHashMap<>();
+
     public static void validateBookingSchema(Response response) {
-        response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchemaInClasspath("schemas/booking-schema.json"));
+        validate(BOOKING_SCHEMA, response.asByteArray());
+    }
+
+    /**
+     * Validates {@code json} against the schema at {@code schemaLocation} on the classpath.
+     *
+     * @throws AssertionError listing every violation
+     */
+    public static void validate(String schemaLocation, byte[] json) {
+        List<String> errors = schema(schemaLocation).validate(json);
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Response does not match " + schemaLocation + ":\n  " + String.join("\n  ", errors));
+        }
+    }
+
+    public static CompiledSchema schema(String schemaLocation) {
+        return schemas.computeIfAbsent(schemaLocation, SchemaValidator::load);
+    }
+
+    private static CompiledSchema load(String schemaLocation) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream in = classLoader.getResourceAsStream(schemaLocation)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema " + schemaLocation + " is not on the classpath");
+            }
+            return CompiledSchema.compile(JsonUtil.objectMapper().getFactory(), JsonUtil.objectMapper().readTree(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read schema " + schemaLocation, e);
+        }
     }
 }
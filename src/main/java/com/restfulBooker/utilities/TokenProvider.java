@@ -0,0 +1,211 @@
+package com.restfulBooker.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the auth token for a fixed time-to-live.
+ * <p>
+ * Each new token schedules its own replacement for when it comes within {@code refreshAhead} of
+ * expiring, so the fetch happens in the background and callers keep getting the cached value
+ * meanwhile. The replacement is only fetched if someone has read the token since it was fetched,
+ * so an idle provider stops calling the auth endpoint; the next caller then refreshes on demand,
+ * as it does when a background fetch fails. However many threads ask at the same time, at most
+ * one fetch is in flight; the others wait for (or reuse) its result.
+ * <p>
+ * Close the provider once it is no longer needed, to stop its refresh thread.
+ */
+public class TokenProvider implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(TokenProvider.class);
+
+    private final Supplier<String> fetcher;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final ScheduledExecutorService refresher;
+    private volatile ScheduledFuture<?> scheduledRefresh;
+
+    private volatile CachedToken cached;
+    // whether a caller has been given the token since it was fetched
+    private volatile boolean read;
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    public TokenProvider(Supplier<String> fetcher, Duration ttl, Duration refreshAhead) {
+        if (refreshAhead.compareTo(ttl) >= 0) {
+            throw new IllegalArgumentException("refreshAhead must be shorter than the ttl");
+        }
+        this.fetcher = fetcher;
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAheadNanos = refreshAhead.toNanos();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String getToken() {
+        CachedToken current = cached;
+        long now = System.nanoTime();
+        if (current != null && now - current.expiresAt < 0) {
+            hits.increment();
+            read = true;
+            if (now - current.refreshAt >= 0) {
+                refresh();
+            }
+            return current.value;
+        }
+        misses.increment();
+        try {
+            String value = refresh().join().value;
+            read = true;
+            return value;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached token, e.g. after the server rejected it, so the next call fetches a new one.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    /**
+     * Starts a fetch unless one is already running.
+     *
+     * @return the future of the fetch that will produce the next token
+     */
+    public CompletableFuture<CachedToken> refresh() {
+        while (true) {
+            CompletableFuture<CachedToken> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, mine)) {
+                try {
+                    refresher.execute(() -> fetchInto(mine));
+                } catch (RejectedExecutionException e) {
+                    inFlight.compareAndSet(mine, null);
+                    mine.completeExceptionally(new IllegalStateException("TokenProvider is closed"));
+                    return mine;
+                }
+                refreshes.increment();
+                return mine;
+            }
+        }
+    }
+
+    private void fetchInto(CompletableFuture<CachedToken> future) {
+        CachedToken token;
+        try {
+            String value = fetcher.get();
+            if (value == null) {
+                throw new IllegalStateException("Auth endpoint did not return a token");
+            }
+            long fetchedAt = System.nanoTime();
+            token = new CachedToken(value, fetchedAt + ttlNanos - refreshAheadNanos, fetchedAt + ttlNanos);
+        } catch (Throwable e) {
+            // RestAssured reports failed assertions as AssertionError and Groovy rethrows checked
+            // I/O exceptions undeclared, so anything must complete the future or callers hang
+            logger.error("Token refresh failed: {}", e.toString());
+            inFlight.compareAndSet(future, null);
+            future.completeExceptionally(e);
+            return;
+        }
+        // publish the token before clearing inFlight so nobody sees neither, and clear inFlight
+        // before completing so a caller that invalidates right away starts a fresh fetch
+        cached = token;
+        read = false;
+        inFlight.compareAndSet(future, null);
+        future.complete(token);
+        ScheduledFuture<?> previous = scheduledRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        try {
+            scheduledRefresh = refresher.schedule(this::refreshIfRead, ttlNanos - refreshAheadNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed while fetching
+        }
+    }
+
+    private void refreshIfRead() {
+        if (read) {
+            refresh();
+        } else {
+            logger.debug("Token not read since it was fetched, leaving its refresh to the next caller");
+        }
+    }
+
+    /**
+     * Stops the background refresh. The cached token is still served until it expires; fetching
+     * a new one then fails.
+     */
+    @Override
+    public void close() {
+        ScheduledFuture<?> scheduled = scheduledRefresh;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        refresher.shutdownNow();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TokenProvider[hits=%d, misses=%d, refreshes=%d]", getHits(), getMisses(), getRefreshes());
+    }
+
+    public static final class CachedToken {
+
+        private final String value;
+        private final long refreshAt;
+        private final long expiresAt;
+
+        private CachedToken(String value, long refreshAt, long expiresAt) {
+            this.value = value;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+}
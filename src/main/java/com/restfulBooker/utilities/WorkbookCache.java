@@ -0,0 +1,434 @@
+package com.restfulBooker.utilities;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Process-wide cache of parsed workbooks, so every {@link ExcelUtil} reading the same file shares
+ * one parsed copy instead of re-parsing it per instance.
+ * <p>
+ * Entries are keyed by absolute path and checked against the file's modification time and size on
+ * every acquire; a changed file is parsed again. Cell text is exposed through per-sheet views that
+ * are only built when a sheet is first read. Each entry is reference counted: it stays resident
+ * after the last user releases it, and unused entries are evicted least recently used first once
+ * the estimated resident size goes over {@code excel.cache.maxBytes} (default 256 MB). Entries in
+ * use are never evicted.
+ */
+public class WorkbookCache {
+
+    private static final Logger logger = LogManager.getLogger(WorkbookCache.class);
+    private static final WorkbookCache SHARED = new WorkbookCache(Long.getLong("excel.cache.maxBytes", 256L * 1024 * 1024));
+
+    // rough per-cell overhead of the parsed XML beans and of a view slot
+    private static final int CELL_OVERHEAD_BYTES = 48;
+
+    private final long maxResidentBytes;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong residentBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WorkbookCache(long maxResidentBytes) {
+        this.maxResidentBytes = maxResidentBytes;
+    }
+
+    public static WorkbookCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the parsed workbook for {@code path}, retained until {@link Entry#release()} is called
+     */
+    Entry acquire(String path) {
+        Path file = Paths.get(path).toAbsolutePath().normalize();
+        FileStamp stamp = FileStamp.of(file);
+        AtomicBoolean created = new AtomicBoolean();
+        Entry entry = entries.compute(file, (key, current) -> {
+            if (current != null && current.stamp.equals(stamp) && current.retain()) {
+                return current;
+            }
+            if (current != null) {
+                current.detach();
+            }
+            created.set(true);
+            return new Entry(key, stamp);
+        });
+        if (created.get()) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        try {
+            entry.load();
+        } catch (RuntimeException e) {
+            entries.remove(file, entry);
+            entry.release();
+            throw e;
+        }
+        evictIfNeeded();
+        return entry;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return estimated heap held by cached workbooks and their sheet views
+     */
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    public long getMaxResidentBytes() {
+        return maxResidentBytes;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops every entry that is not in use.
+     */
+    public void evictUnused() {
+        for (Path key : new ArrayList<>(entries.keySet())) {
+            evict(key);
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (residentBytes.get() > maxResidentBytes) {
+            Path oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (Entry entry : entries.values()) {
+                if (entry.isUnused() && entry.lastAccess < oldestAccess) {
+                    oldest = entry.file;
+                    oldestAccess = entry.lastAccess;
+                }
+            }
+            if (oldest == null || !evict(oldest)) {
+                return;
+            }
+        }
+    }
+
+    private boolean evict(Path key) {
+        AtomicBoolean evicted = new AtomicBoolean();
+        // compute locks the key, so no acquire can retain the entry while it is closed
+        entries.computeIfPresent(key, (k, entry) -> {
+            if (entry.tryClose()) {
+                evicted.set(true);
+                return null;
+            }
+            return entry;
+        });
+        if (evicted.get()) {
+            evictions.increment();
+            logger.debug("Evicted workbook {}", key);
+        }
+        return evicted.get();
+    }
+
+    /**
+     * One parsed workbook. Reads go through {@link #sheet(String)}; writes through
+     * {@link #setCellData}, which holds the entry's lock so views are never built mid-update.
+     */
+    final class Entry {
+
+        private final Path file;
+        private volatile FileStamp stamp;
+        private final Map<String, SheetView> views = new ConcurrentHashMap<>();
+        private Workbook workbook;
+        private long workbookBytes;
+        private int refs = 1;
+        private boolean detached;
+        private boolean closed;
+        private volatile long lastAccess;
+
+        private Entry(Path file, FileStamp stamp) {
+            this.file = file;
+            this.stamp = stamp;
+            this.lastAccess = clock.incrementAndGet();
+        }
+
+        private synchronized void load() {
+            if (workbook != null) {
+                return;
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                workbook = WorkbookFactory.create(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read workbook " + file, e);
+            }
+            workbookBytes = estimateWorkbookBytes(file);
+            residentBytes.addAndGet(workbookBytes);
+            logger.debug("Parsed workbook {} (~{} bytes resident)", file, workbookBytes);
+        }
+
+        private synchronized boolean retain() {
+            if (closed) {
+                return false;
+            }
+            refs++;
+            lastAccess = clock.incrementAndGet();
+            return true;
+        }
+
+        void release() {
+            synchronized (this) {
+                if (--refs == 0 && detached) {
+                    close();
+                }
+            }
+            evictIfNeeded();
+        }
+
+        private synchronized void detach() {
+            detached = true;
+            if (refs == 0) {
+                close();
+            }
+        }
+
+        private synchronized boolean isUnused() {
+            return refs == 0 && !closed;
+        }
+
+        private synchronized boolean tryClose() {
+            if (refs > 0) {
+                return false;
+            }
+            close();
+            return true;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long viewBytes = views.values().stream().mapToLong(view -> view.bytes).sum();
+            residentBytes.addAndGet(-(workbookBytes + viewBytes));
+            views.clear();
+            if (workbook != null) {
+                try {
+                    workbook.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close workbook {}: {}", file, e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * @return the cell text of {@code sheetName}, or {@code null} if there is no such sheet
+         */
+        SheetView sheet(String sheetName) {
+            SheetView view = views.get(sheetName);
+            if (view != null) {
+                return view;
+            }
+            synchronized (this) {
+                view = views.get(sheetName);
+                if (view == null) {
+                    Sheet sheet = workbook.getSheet(sheetName);
+                    if (sheet == null) {
+                        return null;
+                    }
+                    view = new SheetView(sheet);
+                    views.put(sheetName, view);
+                    residentBytes.addAndGet(view.bytes);
+                }
+                return view;
+            }
+        }
+
+        /**
+         * Sets a cell and writes the workbook back to disk, then re-stamps the entry so the
+         * write does not count as an outside change. Holds the file's write lock throughout, and
+         * parses the file again first if it has been written since, so updates from write
+         * sessions or other entries are not overwritten.
+         */
+        synchronized void setCellData(String sheetName, String value, int rowNum, int colNum) throws IOException {
+            ReentrantLock fileLock = ExcelWriteSession.fileLock(file);
+            fileLock.lock();
+            try {
+                if (!FileStamp.of(file).equals(stamp)) {
+                    reload();
+                }
+                Row row = workbook.getSheet(sheetName).getRow(rowNum);
+                Cell cell = row.getCell(colNum);
+                if (cell == null) {
+                    cell = row.createCell(colNum);
+                }
+                cell.setCellValue(value);
+
+                Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+                try {
+                    try (OutputStream out = Files.newOutputStream(temp)) {
+                        workbook.write(out);
+                    }
+                    try {
+                        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                stamp = FileStamp.of(file);
+            } finally {
+                fileLock.unlock();
+            }
+
+            SheetView stale = views.remove(sheetName);
+            if (stale != null) {
+                residentBytes.addAndGet(-stale.bytes);
+            }
+        }
+
+        private void reload() throws IOException {
+            logger.debug("Workbook {} changed since it was parsed, parsing it again", file);
+            FileStamp current = FileStamp.of(file);
+            Workbook fresh;
+            try (InputStream in = Files.newInputStream(file)) {
+                fresh = WorkbookFactory.create(in);
+            }
+            workbook.close();
+            workbook = fresh;
+            stamp = current;
+            long viewBytes = views.values().stream().mapToLong(view -> view.bytes).sum();
+            views.clear();
+            long bytes = estimateWorkbookBytes(file);
+            residentBytes.addAndGet(bytes - workbookBytes - viewBytes);
+            workbookBytes = bytes;
+        }
+    }
+
+    /**
+     * Immutable cell text of one sheet: {@code Cell.toString()} of every physical cell,
+     * {@code null} where a row or cell does not exist.
+     */
+    static final class SheetView {
+
+        private final String[][] rows;
+        private final long bytes;
+
+        private SheetView(Sheet sheet) {
+            rows = new String[sheet.getLastRowNum() + 1][];
+            long size = 0;
+            for (Row row : sheet) {
+                String[] cells = new String[Math.max(row.getLastCellNum(), 0)];
+                for (Cell cell : row) {
+                    String text = cell.toString();
+                    cells[cell.getColumnIndex()] = text;
+                    size += CELL_OVERHEAD_BYTES + 2L * text.length();
+                }
+                rows[row.getRowNum()] = cells;
+                size += 16 + 8L * cells.length;
+            }
+            bytes = size + 16 + 8L * rows.length;
+        }
+
+        int rowCount() {
+            return rows.length;
+        }
+
+        /**
+         * @return the cells of {@code rowNum} indexed by column, or {@code null} if the row does not exist
+         */
+        String[] row(int rowNum) {
+            return rowNum < rows.length ? rows[rowNum] : null;
+        }
+    }
+
+    static final class FileStamp {
+
+        private final long modified;
+        private final long size;
+
+        private FileStamp(long modified, long size) {
+            this.modified = modified;
+            this.size = size;
+        }
+
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read workbook " + file, e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FileStamp
+                    && ((FileStamp) other).modified == modified
+                    && ((FileStamp) other).size == size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(modified) * 31 + Long.hashCode(size);
+        }
+    }
+
+    /**
+     * The uncompressed size of the package parts approximates the parsed XML held in memory;
+     * .xls files are not zipped, so their size on disk is used instead.
+     */
+    private static long estimateWorkbookBytes(Path file) {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            long total = 0;
+            for (Enumeration<? extends ZipEntry> parts = zip.entries(); parts.hasMoreElements(); ) {
+                total += Math.max(parts.nextElement().getSize(), 0);
+            }
+            return total;
+        } catch (IOException e) {
+            try {
+                return Files.size(file);
+            } catch (IOException ignored) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.restfulBooker.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appender that keeps each test's log events in memory, keyed by the {@link #TEST_KEY} entry of
+ * the thread context, so that they can be written to {@code directory} if the test fails and
+ * dropped otherwise. Events without a test key, or for a test that has not {@link #begin begun},
+ * are ignored. At most {@code maxEventsPerTest} events are kept per test; older ones are dropped.
+ * <p>
+ * With asynchronous loggers the test's last events may still be in the ring buffer when it
+ * finishes, so {@link #end} logs an end-of-test marker through the same path and waits for it.
+ */
+@Plugin(name = "FailureLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class FailureLogBuffer extends AbstractAppender {
+
+    public static final String TEST_KEY = "test";
+
+    static final Marker END_OF_TEST = MarkerManager.getMarker("END_OF_TEST");
+
+    private static final Logger logger = LogManager.getLogger(FailureLogBuffer.class);
+
+    private final Path directory;
+    private final int maxEventsPerTest;
+    private final ConcurrentHashMap<String, TestLog> logs = new ConcurrentHashMap<>();
+
+    private FailureLogBuffer(String name, Filter filter, Layout<? extends Serializable> layout, Path directory, int maxEventsPerTest) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.directory = directory;
+        this.maxEventsPerTest = maxEventsPerTest;
+    }
+
+    @PluginFactory
+    public static FailureLogBuffer createAppender(@PluginAttribute("name") String name,
+                                                 @PluginAttribute(value = "directory", defaultString = "logs/failed") String directory,
+                                                 @PluginAttribute(value = "maxEventsPerTest", defaultInt = 10_000) int maxEventsPerTest,
+                                                 @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                 @PluginElement("Filter") Filter filter) {
+        return new FailureLogBuffer(name, filter, layout != null ? layout : PatternLayout.createDefaultLayout(), Paths.get(directory), maxEventsPerTest);
+    }
+
+    /**
+     * @return the buffer in the current logging configuration, or null if it has none
+     */
+    public static FailureLogBuffer find() {
+        if (!(LogManager.getContext(false) instanceof LoggerContext)) {
+            return null;
+        }
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        for (Appender appender : context.getConfiguration().getAppenders().values()) {
+            if (appender instanceof FailureLogBuffer) {
+                return (FailureLogBuffer) appender;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String test = event.getContextData().getValue(TEST_KEY);
+        TestLog log = test == null ? null : logs.get(test);
+        if (log == null) {
+            return;
+        }
+        if (event.getMarker() != null && event.getMarker().isInstanceOf(END_OF_TEST)) {
+            log.ended.countDown();
+            return;
+        }
+        log.add(getLayout().toByteArray(event), maxEventsPerTest);
+    }
+
+    /**
+     * Starts buffering the events logged under {@code test}, discarding any left from before.
+     */
+    public void begin(String test) {
+        logs.put(test, new TestLog());
+    }
+
+    /**
+     * Stops buffering {@code test}. The current thread must still carry {@code test} in its
+     * thread context, so that the end-of-test marker is attributed to it.
+     *
+     * @param failed whether to write the buffered events to {@code directory/fileName}
+     * @return the file written, or null if the test passed, logged nothing or was never begun
+     */
+    public Path end(String test, boolean failed, String fileName) throws IOException {
+        TestLog log = logs.get(test);
+        if (log == null) {
+            return null;
+        }
+        if (failed && logger.isDebugEnabled()) {
+            logger.debug(END_OF_TEST, "End of {}", test);
+            try {
+                log.ended.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logs.remove(test);
+        synchronized (log) {
+            if (!failed || log.events.isEmpty()) {
+                return null;
+            }
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            synchronized (log) {
+                if (log.dropped > 0) {
+                    out.write(("... " + log.dropped + " earlier events dropped" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+                for (byte[] event : log.events) {
+                    out.write(event);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static final class TestLog {
+
+        private final ArrayDeque<byte[]> events = new ArrayDeque<>();
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private long dropped;
+
+        private synchronized void add(byte[] event, int max) {
+            if (events.size() == max) {
+                events.removeFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.restfulBooker.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+
+/**
+ * Tags everything a test logs on its own thread with the test's id and hands it to the
+ * {@link FailureLogBuffer}, which writes it to a file named after the test only if the test
+ * fails. Registered for every test through {@code META-INF/services} and extension
+ * autodetection in {@code junit-platform.properties}; does nothing if the logging
+ * configuration has no buffer.
+ */
+public class FailureLogExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final Logger logger = LogManager.getLogger(FailureLogExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        FailureLogBuffer buffer = FailureLogBuffer.find();
+        if (buffer != null) {
+            ThreadContext.put(FailureLogBuffer.TEST_KEY, context.getUniqueId());
+            buffer.begin(context.getUniqueId());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        FailureLogBuffer buffer = FailureLogBuffer.find();
+        try {
+            if (buffer != null) {
+                Path written = buffer.end(context.getUniqueId(), context.getExecutionException().isPresent(), fileName(context));
+                if (written != null) {
+                    logger.info("{} failed, its log is in {}", context.getDisplayName(), written);
+                }
+            }
+        } finally {
+            ThreadContext.remove(FailureLogBuffer.TEST_KEY);
+        }
+    }
+
+    static String fileName(ExtensionContext context) {
+        String method = context.getRequiredTestMethod().getName();
+        String name = context.getRequiredTestClass().getSimpleName() + "." + method;
+        if (!context.getDisplayName().equals(method + "()")) {
+            // parameterized invocations, e.g. "[3] booking=Booking(firstname=Jim, ...)"
+            name += "-" + context.getDisplayName();
+        }
+        name = name.replaceAll("[^A-Za-z0-9._-]+", "_");
+        return (name.length() > 150 ? name.substring(0, 150) : name) + ".log";
+    }
+}
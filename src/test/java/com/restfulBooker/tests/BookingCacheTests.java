@@ -0,0 +1,182 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.client.BookingApiException;
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.client.CacheStats;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingCacheTests {
+
+    // answers every GET /booking/{id} with the same booking after delayMillis, and echoes PUTs
+    private HttpServer stub;
+    private final AtomicInteger gets = new AtomicInteger();
+    private volatile long delayMillis;
+
+    @BeforeEach
+    public void startStub() throws Exception {
+        stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/booking/", exchange -> {
+            byte[] response;
+            try (InputStream in = exchange.getRequestBody()) {
+                response = in.readAllBytes();
+            }
+            if ("GET".equals(exchange.getRequestMethod())) {
+                gets.incrementAndGet();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response = ("{\"firstname\":\"Stub\",\"lastname\":\"Doe\",\"totalprice\":100,\"depositpaid\":true,"
+                        + "\"bookingdates\":{\"checkin\":\"2021-01-01\",\"checkout\":\"2021-01-02\"}}").getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        stub.start();
+    }
+
+    @AfterEach
+    public void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    public void testCachedLifecycleSeesItsOwnWrites() {
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try (BookingClient auth = BookingClient.builder(server.getBaseUri()).build()) {
+            String token = auth.auth("admin", "password123").join();
+            try (BookingClient client = BookingClient.builder(server.getBaseUri()).token(() -> token).cache(100, Duration.ofMinutes(1)).build()) {
+                Booking booking = booking("John");
+                int id = client.createBooking(booking).join().getBookingid();
+
+                // the create primed the cache, and callers cannot change what it holds
+                Booking read = client.getBooking(id).join();
+                assertEquals(booking, read);
+                read.setFirstname("Changed");
+                assertEquals(booking, client.getBooking(id).join());
+
+                Booking replacement = booking("Jane");
+                client.updateBooking(id, replacement).join();
+                assertEquals(replacement, client.getBooking(id).join());
+                assertEquals(replacement, client.getBooking(id).join());
+
+                client.partialUpdateBooking(id, new Booking("Jim", null, 200, true, null, null)).join();
+                assertEquals("Jim", client.getBooking(id).join().getFirstname());
+
+                client.deleteBooking(id).join();
+                CompletionException missing = assertThrows(CompletionException.class, () -> client.getBooking(id).join());
+                assertEquals(404, ((BookingApiException) missing.getCause()).getStatusCode());
+
+                CacheStats stats = client.getCacheStats();
+                // reads after the create and after the first read of each write hit; the rest missed
+                assertEquals(3, stats.getHits(), stats.toString());
+                assertEquals(3, stats.getMisses(), stats.toString());
+                assertEquals(3, stats.getSavedRequests());
+                assertEquals(0.5, stats.getHitRatio(), 1e-9);
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testConcurrentReadsShareOneRequestAndWritesInvalidateIt() {
+        delayMillis = 300;
+        try (BookingClient client = client(100, Duration.ofMinutes(1))) {
+            List<CompletableFuture<Booking>> reads = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                reads.add(client.getBooking(7));
+            }
+            reads.forEach(read -> assertEquals("Stub", read.join().getFirstname()));
+            assertEquals(1, gets.get());
+            assertEquals(49, client.getCacheStats().getCoalesced());
+            assertNotSame(reads.get(0).join(), reads.get(1).join());
+
+            client.getBooking(7).join();
+            assertEquals(1, gets.get());
+
+            // a read in flight when a write is sent may return the old booking, so it is not cached
+            client.clearCache();
+            CompletableFuture<Booking> inFlight = client.getBooking(7);
+            client.updateBooking(7, booking("Jane")).join();
+            inFlight.join();
+            client.getBooking(7).join();
+            assertEquals(3, gets.get());
+        }
+    }
+
+    @Test
+    public void testEntriesExpireAndHotBookingsSurviveAScan() throws Exception {
+        try (BookingClient client = client(10, Duration.ofMillis(200))) {
+            client.getBooking(1).join();
+            Thread.sleep(250);
+            client.getBooking(1).join();
+            assertEquals(2, gets.get());
+            assertEquals(1, client.getCacheStats().getExpirations());
+        }
+
+        gets.set(0);
+        try (BookingClient client = client(10, Duration.ofMinutes(1))) {
+            for (int round = 0; round < 10; round++) {
+                for (int id = 1; id <= 5; id++) {
+                    client.getBooking(id).join();
+                }
+            }
+            for (int id = 100; id < 200; id++) {
+                client.getBooking(id).join();
+            }
+            int afterScan = gets.get();
+            for (int id = 1; id <= 5; id++) {
+                client.getBooking(id).join();
+            }
+            assertEquals(afterScan, gets.get(), "hot bookings were evicted by the scan");
+            assertEquals(105, afterScan);
+            assertTrue(client.getCacheStats().getRejections() >= 90, client.getCacheStats().toString());
+        }
+
+        try (BookingClient uncached = client(0, Duration.ofMinutes(1))) {
+            gets.set(0);
+            uncached.getBooking(1).join();
+            uncached.getBooking(1).join();
+            assertEquals(2, gets.get());
+            assertFalse(uncached.isCaching());
+            assertEquals(0, uncached.getCacheStats().getLookups());
+        }
+    }
+
+    private BookingClient client(int maxEntries, Duration ttl) {
+        return BookingClient.builder("http://127.0.0.1:" + stub.getAddress().getPort())
+                .token(() -> "token")
+                .cache(maxEntries, ttl)
+                .build();
+    }
+
+    private static Booking booking(String firstname) {
+        return new Booking(firstname, "Doe", 120, true, new BookingDates("2021-01-01", "2021-01-05"), "Breakfast");
+    }
+}
@@ -0,0 +1,120 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.client.BookingApiException;
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingClientTests {
+
+    private static EmbeddedBookerServer server;
+    private static BookingClient client;
+
+    @BeforeAll
+    public static void setup() {
+        server = new EmbeddedBookerServer(0).start();
+        BookingClient auth = BookingClient.builder(server.getBaseUri()).build();
+        String token = auth.auth("admin", "password123").join();
+        auth.close();
+        client = BookingClient.builder(server.getBaseUri()).maxConcurrentRequests(4).token(() -> token).build();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void testBookingLifecycle() {
+        Booking booking = booking("John", 123);
+
+        BookingResponse created = client.createBooking(booking).join();
+        int id = created.getBookingid();
+        assertEquals(booking, created.getBooking());
+        assertEquals(booking, client.getBooking(id).join());
+        assertTrue(client.getBookingIds().join().contains(id));
+
+        Booking replacement = booking("Jane", 150);
+        assertEquals(replacement, client.updateBooking(id, replacement).join());
+
+        Booking patch = new Booking("Jim", null, 200, true, null, null);
+        Booking patched = client.partialUpdateBooking(id, patch).join();
+        assertEquals("Jim", patched.getFirstname());
+        assertEquals("Doe", patched.getLastname());
+        assertEquals(replacement.getBookingdates(), patched.getBookingdates());
+
+        client.deleteBooking(id).join();
+        BookingApiException missing = failure(client.getBooking(id));
+        assertEquals(404, missing.getStatusCode());
+    }
+
+    @Test
+    public void testRejectedRequestsFailTheFuture() {
+        assertEquals(200, failure(client.auth("admin", "wrong")).getStatusCode());
+
+        BookingClient anonymous = BookingClient.builder(server.getBaseUri()).token(() -> "invalid").build();
+        try {
+            assertEquals(403, failure(anonymous.deleteBooking(1)).getStatusCode());
+        } finally {
+            anonymous.close();
+        }
+    }
+
+    @Test
+    public void testMissingOrFailingTokenFailsTheFuture() {
+        BookingClient tokenless = BookingClient.builder(server.getBaseUri()).build();
+        BookingClient failing = BookingClient.builder(server.getBaseUri()).token(() -> {
+            throw new IllegalStateException("auth unavailable");
+        }).build();
+        try {
+            CompletableFuture<Void> deleted = tokenless.deleteBooking(1);
+            CompletionException e = assertThrows(CompletionException.class, deleted::join);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+
+            e = assertThrows(CompletionException.class, failing.updateBooking(1, booking("John", 1))::join);
+            assertEquals("auth unavailable", e.getCause().getMessage());
+            assertEquals(0, failing.getQueuedRequests());
+            failing.ping().join();
+        } finally {
+            tokenless.close();
+            failing.close();
+        }
+    }
+
+    @Test
+    public void testRequestsBeyondTheLimitQueue() {
+        client.ping().join();
+        List<CompletableFuture<BookingResponse>> created = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            created.add(client.createBooking(booking("Queued", i)));
+        }
+        assertTrue(client.getQueuedRequests() > 0, "only 4 of 200 requests may be in flight");
+
+        for (int i = 0; i < created.size(); i++) {
+            assertEquals(i, created.get(i).join().getBooking().getTotalprice());
+        }
+        assertEquals(0, client.getQueuedRequests());
+    }
+
+    private static BookingApiException failure(CompletableFuture<?> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(BookingApiException.class, e.getCause());
+    }
+
+    private static Booking booking(String firstname, int totalprice) {
+        return new Booking(firstname, "Doe", totalprice, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+    }
+}
@@ -0,0 +1,74 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.BookingDataset;
+import com.restfulBooker.utilities.CsvUtil;
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.JsonFileUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingDatasetTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCompiledDatasetMatchesSources() throws IOException {
+        String csv = "src/test/resources/data/bookings.csv";
+        String json = "src/test/resources/data/bookings.json";
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        ExcelUtilTests.writeWorkbook(xlsx, 40);
+
+        List<Booking> fromXlsx;
+        try (Stream<Booking> bookings = ExcelUtil.streamBookings(xlsx.toString(), "Bookings")) {
+            fromXlsx = bookings.collect(Collectors.toList());
+        }
+
+        assertAll("Verify compiled datasets",
+                () -> assertEquals(CsvUtil.readBookingsFromCsv(csv), BookingDataset.load(csv).stream().collect(Collectors.toList())),
+                () -> assertEquals(JsonFileUtil.readBookingsFromJson(json), BookingDataset.load(json).stream().collect(Collectors.toList())),
+                () -> assertEquals(fromXlsx, BookingDataset.load(xlsx.toString(), "Bookings").stream().collect(Collectors.toList()))
+        );
+    }
+
+    @Test
+    public void testChangedSourceIsRecompiled() throws IOException {
+        Path csv = tempDir.resolve("bookings.csv");
+        CsvUtilTests.writeCsv(csv, 100);
+        BookingDataset first = BookingDataset.load(csv.toString());
+        assertEquals(100, first.size());
+        assertEquals(CsvUtil.readBookingsFromCsv(csv.toString()).get(99), first.get(99));
+
+        CsvUtilTests.writeCsv(csv, 250);
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        BookingDataset second = BookingDataset.load(csv.toString());
+
+        assertEquals(250, second.size());
+        assertEquals(CsvUtil.readBookingsFromCsv(csv.toString()), second.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testColumnAccessAndBounds() throws IOException {
+        Path csv = tempDir.resolve("bookings.csv");
+        CsvUtilTests.writeCsv(csv, 10);
+        BookingDataset dataset = BookingDataset.load(csv.toString());
+
+        List<Booking> expected = CsvUtil.readBookingsFromCsv(csv.toString());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTotalprice(), dataset.totalprice(i));
+            assertEquals(expected.get(i).isDepositpaid(), dataset.depositpaid(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> dataset.get(10));
+    }
+}
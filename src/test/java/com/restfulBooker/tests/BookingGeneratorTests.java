@@ -0,0 +1,84 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.BookingGenerator;
+import com.restfulBooker.utilities.CsvUtil;
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.JsonFileUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingGeneratorTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSameSeedGivesSameBookings() {
+        BookingGenerator generator = new BookingGenerator(42);
+        List<Booking> first = generator.stream(1_000).collect(Collectors.toList());
+        assertEquals(first, new BookingGenerator(42).stream(1_000).collect(Collectors.toList()));
+        assertEquals(first.get(777), generator.booking(777));
+        assertNotEquals(first, new BookingGenerator(43).stream(1_000).collect(Collectors.toList()));
+
+        for (Booking booking : first) {
+            LocalDate checkin = LocalDate.parse(booking.getBookingdates().getCheckin());
+            long nights = ChronoUnit.DAYS.between(checkin, LocalDate.parse(booking.getBookingdates().getCheckout()));
+            assertTrue(nights >= 1 && nights <= 14, booking.toString());
+            assertEquals(0, booking.getTotalprice() % nights, booking.toString());
+            assertFalse(booking.getFirstname().isEmpty());
+            assertNotNull(booking.getAdditionalneeds());
+        }
+    }
+
+    @Test
+    public void testParallelBookingsAreUniqueAndMatchSequential() {
+        BookingGenerator generator = new BookingGenerator(7);
+        assertTrue(generator.capacity() > 1_000_000_000L, "capacity " + generator.capacity());
+        List<Booking> parallel = generator.stream(200_000).parallel().collect(Collectors.toList());
+        assertEquals(generator.stream(200_000).collect(Collectors.toList()), parallel);
+
+        Set<String> keys = new HashSet<>();
+        for (Booking booking : parallel) {
+            assertTrue(keys.add(booking.getFirstname() + "|" + booking.getLastname() + "|" + booking.getBookingdates().getCheckin()),
+                    "duplicate " + booking);
+        }
+    }
+
+    @Test
+    public void testWrittenFilesReadBackThroughDatasetReaders() throws Exception {
+        BookingGenerator generator = new BookingGenerator(2024);
+        List<Booking> expected = generator.stream(10, 2_010).collect(Collectors.toList());
+
+        for (String name : List.of("bookings.csv", "bookings.json", "bookings.ndjson", "bookings.xlsx")) {
+            Path file = tempDir.resolve(name);
+            generator.write(file, 10, 2_010);
+            Stream<Booking> read;
+            if (name.endsWith(".csv")) {
+                read = CsvUtil.streamBookingsFromCsv(file.toString());
+            } else if (name.endsWith(".xlsx")) {
+                read = ExcelUtil.streamBookings(file.toString(), "Sheet1");
+            } else {
+                read = JsonFileUtil.streamBookingsFromJson(file.toString());
+            }
+            try (Stream<Booking> bookings = read) {
+                assertEquals(expected, bookings.collect(Collectors.toList()), name);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> generator.write(tempDir.resolve("bookings.txt"), 0, 1));
+        IllegalArgumentException sharded = assertThrows(IllegalArgumentException.class,
+                () -> BookingGenerator.main(new String[]{"1", "10", tempDir.resolve("bookings").toString(), "2"}));
+        assertTrue(sharded.getMessage().startsWith("Unsupported output"), sharded.getMessage());
+    }
+}
@@ -0,0 +1,87 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.BookingScenario;
+import com.restfulBooker.utilities.BookingTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingTestContextTests {
+
+    @AfterEach
+    public void clear() {
+        BookingTestContext.clear();
+    }
+
+    @Test
+    public void testScopedBindingIsRestored() {
+        BookingScenario outer = BookingScenario.of(booking(1));
+        BookingScenario inner = outer.withBookingId(7);
+
+        BookingTestContext.runWith(outer, () -> {
+            BookingTestContext.runWith(inner, () -> assertSame(inner, BookingTestContext.current()));
+            assertSame(outer, BookingTestContext.current());
+            assertNull(outer.getBookingId());
+        });
+
+        assertNull(BookingTestContext.current());
+        assertThrows(IllegalStateException.class, BookingTestContext::require);
+    }
+
+    @Test
+    public void testUnscopedFlow() {
+        Booking expected = booking(2);
+        BookingTestContext.begin(expected);
+        BookingTestContext.setBookingId(42);
+
+        assertEquals(BookingScenario.of(expected).withBookingId(42), BookingTestContext.require());
+        assertEquals(42, BookingTestContext.getBookingId());
+
+        BookingTestContext.clear();
+        assertNull(BookingTestContext.getBookingId());
+    }
+
+    @Test
+    public void testConcurrentFlowsDoNotShareState() throws Exception {
+        ExecutorService flowThreads = Executors.newFixedThreadPool(8);
+        ExecutorService callbacks = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Integer>> flows = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                int id = i;
+                flows.add(CompletableFuture.supplyAsync(() -> BookingTestContext.callWith(BookingScenario.of(booking(id)).withBookingId(id),
+                        // the callback hops to another pool and still sees this flow's scenario
+                        () -> CompletableFuture.supplyAsync(BookingTestContext.wrap(() -> {
+                            BookingScenario scenario = BookingTestContext.require();
+                            assertEquals(scenario.getBookingId(), scenario.getExpected().getTotalprice());
+                            return scenario.getBookingId();
+                        }), callbacks).join()), flowThreads));
+            }
+
+            for (int i = 0; i < flows.size(); i++) {
+                assertEquals(i, flows.get(i).get());
+            }
+            // nothing is left bound on the pool threads once the flows are done
+            for (int i = 0; i < 16; i++) {
+                assertNull(CompletableFuture.supplyAsync(BookingTestContext::current, flowThreads).get());
+                assertNull(CompletableFuture.supplyAsync(BookingTestContext::current, callbacks).get());
+            }
+        } finally {
+            flowThreads.shutdownNow();
+            callbacks.shutdownNow();
+        }
+    }
+
+    private static Booking booking(int totalprice) {
+        return new Booking("John", "Doe", totalprice, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+    }
+}
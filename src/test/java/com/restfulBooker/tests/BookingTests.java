@@ -4,41 +4,30 @@ import com.restfulBooker.config.TestConfig;
 import com.restfulBooker.models.Booking;
 import com.restfulBooker.models.BookingDates;
 import com.restfulBooker.utilities.JsonUtil;
-import io.restassured.RestAssured;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.core.util.Assert;
 import org.junit.jupiter.api.*;
 
 import static io.restassured.RestAssured.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+// every test creates the booking it works on, so the tests can run in any order and concurrently
 public class BookingTests {
 
     private static final Logger logger = LogManager.getLogger(BookingTests.class);
-    private static int bookingId;
 
-    @BeforeAll
-    public static void setup() {
-        RestAssured.requestSpecification = TestConfig.requestSpecification;
-        logger.info("Test setup completed.");
-    }
-
-    @Test
-    @Order(1)
-    public void testCreateBooking() throws Exception {
+    private static int createBooking() throws Exception {
         BookingDates bookingDates = new BookingDates("2021-01-01", "2021-01-10");
 
         Booking newBooking = new Booking("John", "Doe", 123, true, bookingDates, "Breakfast");
 
         logger.info("Creating a new booking with firstname: {}, lastname: {}", newBooking.getFirstname(), newBooking.getLastname());
 
-        Response response = given()
-                .body(JsonUtil.toJson(newBooking))
+        Response response = given(TestConfig.requestSpecification)
+                .body(JsonUtil.toJsonBytes(newBooking))
                 .when()
                 .post("/booking")
                 .then()
@@ -46,20 +35,26 @@ public class BookingTests {
                 .extract().response();
 
         JsonPath jsonPath = response.jsonPath();
-        bookingId = jsonPath.getInt("bookingid");
+        int bookingId = jsonPath.getInt("bookingid");
 
         logger.info("Booking created successfully with bookingId: {}", bookingId);
 
         assertEquals("John", jsonPath.getString("booking.firstname"));
         assertEquals("Doe", jsonPath.getString("booking.lastname"));
+        return bookingId;
     }
 
     @Test
-    @Order(2)
-    public void testGetBooking() {
+    public void testCreateBooking() throws Exception {
+        createBooking();
+    }
+
+    @Test
+    public void testGetBooking() throws Exception {
+        int bookingId = createBooking();
         logger.info("Retrieving booking with bookingId: {}", bookingId);
 
-        Response response = given()
+        Response response = given(TestConfig.requestSpecification)
                 .when()
                 .get("/booking/" + bookingId)
                 .then()
@@ -74,17 +69,17 @@ public class BookingTests {
     }
 
     @Test
-    @Order(3)
     public void testUpdateBooking() throws Exception {
+        int bookingId = createBooking();
         BookingDates bookingDates = new BookingDates("2021-02-01", "2021-02-10");
 
         Booking updatedBooking = new Booking("Jane", "Doe", 150, false, bookingDates, "Lunch");
 
         logger.info("Updating booking with bookingId: {}", bookingId);
 
-        Response response = given()
-                .header("Cookie", "token=" + TestConfig.token)
-                .body(JsonUtil.toJson(updatedBooking))
+        Response response = given(TestConfig.requestSpecification)
+                .header("Cookie", "token=" + TestConfig.getToken())
+                .body(JsonUtil.toJsonBytes(updatedBooking))
                 .when()
                 .put("/booking/" + bookingId)
                 .then()
@@ -101,15 +96,15 @@ public class BookingTests {
     }
 
     @Test
-    @Order(4)
     public void testPartialUpdateBooking() throws Exception {
+        int bookingId = createBooking();
         Booking partialUpdate = new Booking("Jim", "Beam", 200, true, null, "Dinner");
 
         logger.info("Partially updating booking with bookingId: {}", bookingId);
 
-        Response response = given()
-                .header("Cookie", "token=" + TestConfig.token)
-                .body(JsonUtil.toJson(partialUpdate))
+        Response response = given(TestConfig.requestSpecification)
+                .header("Cookie", "token=" + TestConfig.getToken())
+                .body(JsonUtil.toJsonBytes(partialUpdate))
                 .when()
                 .patch("/booking/" + bookingId)
                 .then()
@@ -124,29 +119,25 @@ public class BookingTests {
     }
 
     @Test
-    @Order(5)
-    public void testDeleteBooking() {
+    public void testDeleteBooking() throws Exception {
+        int bookingId = createBooking();
         logger.info("Deleting booking with bookingId: {}", bookingId);
 
-        given()
-                .header("Cookie", "token=" + TestConfig.token)
+        given(TestConfig.requestSpecification)
+                .header("Cookie", "token=" + TestConfig.getToken())
                 .when()
                 .delete("/booking/" + bookingId)
                 .then()
                 .statusCode(201);
 
         logger.info("Booking deleted successfully with bookingId: {}", bookingId);
-
-        // Reset bookingId after deletion
-        bookingId = 0;
     }
 
     @Test
-    @Order(6)
     public void testGetBookingIds() {
         logger.info("Retrieving all booking IDs");
 
-        given()
+        given(TestConfig.requestSpecification)
                 .when()
                 .get("/booking")
                 .then()
@@ -156,11 +147,10 @@ public class BookingTests {
     }
 
     @Test
-    @Order(7)
     public void testHealthCheck() {
         logger.info("Performing health check");
 
-        given()
+        given(TestConfig.requestSpecification)
                 .when()
                 .get("/ping")
                 .then()
@@ -0,0 +1,66 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.BookingVerifier;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingVerifierTests {
+
+    private static final Booking EXPECTED = new Booking("John", "Doe", 123, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+
+    @Test
+    public void testMatchingResponsePasses() {
+        BookingResponse created = BookingVerifier.assertBookingResponse("Verify booking details", response(SchemaValidatorTests.VALID_RESPONSE), EXPECTED);
+
+        assertEquals(1, created.getBookingid());
+        assertEquals(EXPECTED, created.getBooking());
+    }
+
+    @Test
+    public void testEveryMismatchIsReported() {
+        String body = "{\"firstname\":\"Jon\",\"lastname\":\"Doe\",\"totalprice\":124,\"depositpaid\":true,"
+                + "\"bookingdates\":{\"checkin\":\"2021-01-01\",\"checkout\":\"2021-01-11\"},\"additionalneeds\":null}";
+
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> BookingVerifier.assertBooking("Verify retrieved booking details", response(body), EXPECTED));
+
+        // each line reads the same as the assertEquals failure it replaces
+        assertEquals("Verify retrieved booking details (4 failures)"
+                        + "\n\t" + assertEqualsMessage("John", "Jon", "firstname")
+                        + "\n\t" + assertEqualsMessage(123, 124, "totalprice")
+                        + "\n\t" + assertEqualsMessage("2021-01-10", "2021-01-11", "bookingdates.checkout")
+                        + "\n\t" + assertEqualsMessage("Breakfast", null, "additionalneeds"),
+                error.getMessage());
+    }
+
+    @Test
+    public void testMissingNestedObjects() {
+        Booking actual = new Booking("John", "Doe", 123, true, null, "Breakfast");
+
+        assertEquals(List.of("bookingdates ==> expected: <" + EXPECTED.getBookingdates() + "> but was: <null>"),
+                BookingVerifier.mismatches(EXPECTED, actual));
+
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> BookingVerifier.assertBookingResponse("Verify booking details", response("{\"bookingid\":1}"), EXPECTED));
+        assertTrue(error.getMessage().startsWith("Verify booking details (1 failure)\n\tbooking ==> expected:"), error.getMessage());
+
+        assertThrows(AssertionError.class, () -> BookingVerifier.assertBooking("Verify", response("not json"), EXPECTED));
+    }
+
+    private static String assertEqualsMessage(Object expected, Object actual, String field) {
+        return assertThrows(AssertionFailedError.class, () -> assertEquals(expected, actual, field)).getMessage();
+    }
+
+    private static Response response(String body) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(body).build();
+    }
+}
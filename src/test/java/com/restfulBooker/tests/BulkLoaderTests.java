@@ -0,0 +1,150 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.client.BookingClient;
+import com.restfulBooker.load.BulkLoadReport;
+import com.restfulBooker.load.BulkLoader;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkLoaderTests {
+
+    private static EmbeddedBookerServer server;
+    private static BookingClient client;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setup() {
+        server = new EmbeddedBookerServer(0).start();
+        client = BookingClient.builder(server.getBaseUri()).build();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    public void testEveryRowIsCreatedAndWritten() throws Exception {
+        Path output = tempDir.resolve("ids.csv");
+        BulkLoadReport report = new BulkLoader(client, 8, 3, Duration.ofMillis(10))
+                .load(IntStream.range(0, 500).mapToObj(BulkLoaderTests::booking), output);
+
+        assertEquals(500, report.getSubmitted());
+        assertEquals(500, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.getCreatesPerSecond() > 0);
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals("row,bookingid", lines.get(0));
+        List<String[]> rows = lines.subList(1, lines.size()).stream().map(line -> line.split(",")).collect(Collectors.toList());
+        assertEquals(LongStream.range(0, 500).boxed().collect(Collectors.toSet()),
+                rows.stream().map(row -> Long.parseLong(row[0])).collect(Collectors.toSet()));
+        Set<Integer> ids = rows.stream().map(row -> Integer.parseInt(row[1])).collect(Collectors.toSet());
+        assertEquals(500, ids.size());
+        for (String[] row : rows) {
+            assertEquals(Integer.parseInt(row[0]), client.getBooking(Integer.parseInt(row[1])).join().getTotalprice());
+        }
+    }
+
+    @Test
+    public void testReaderStaysWithinConcurrencyOfWriter() throws Exception {
+        BulkLoader loader = new BulkLoader(client, 4, 1, Duration.ofMillis(10));
+        AtomicInteger mostInFlight = new AtomicInteger();
+        Stream<Booking> source = IntStream.range(0, 300)
+                .mapToObj(BulkLoaderTests::booking)
+                .peek(booking -> mostInFlight.accumulateAndGet(loader.getInFlight(), Math::max));
+
+        BulkLoadReport report = loader.load(source, tempDir.resolve("ids.csv"));
+
+        assertEquals(300, report.getCreated());
+        assertTrue(mostInFlight.get() <= 4, "a row was read while " + mostInFlight.get() + " creates were in flight");
+        assertEquals(0, loader.getInFlight());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() throws Exception {
+        // the first attempt of every third row fails with 503, and any booking named "Invalid" with 400
+        AtomicInteger requests = new AtomicInteger();
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        HttpServer flaky = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        flaky.createContext("/booking", exchange -> {
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            int n = requests.incrementAndGet();
+            int row = Integer.parseInt(body.replaceAll(".*\"totalprice\":(\\d+).*", "$1"));
+            int status = body.contains("\"Invalid\"") ? 400 : row % 3 == 0 && seen.add(body) ? 503 : 200;
+            byte[] response = (status == 200 ? "{\"bookingid\":" + n + ",\"booking\":" + body + "}" : "Error").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        flaky.start();
+        try (BookingClient flakyClient = BookingClient.builder("http://127.0.0.1:" + flaky.getAddress().getPort()).build()) {
+            Stream<Booking> source = Stream.concat(
+                    IntStream.range(0, 60).mapToObj(BulkLoaderTests::booking),
+                    Stream.of(new Booking("Invalid", "Doe", 1, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast")));
+
+            BulkLoadReport report = new BulkLoader(flakyClient, 4, 5, Duration.ofMillis(5)).load(source, tempDir.resolve("ids.csv"));
+
+            assertEquals(61, report.getSubmitted());
+            assertEquals(60, report.getCreated());
+            assertEquals(1, report.getFailed(), "a 400 is not retried");
+            assertEquals(20, report.getRetries(), "expected each 503 to be retried once");
+        } finally {
+            flaky.stop(0);
+        }
+    }
+
+    @Test
+    public void testFailingSourceStopsTheLoad() {
+        BulkLoader loader = new BulkLoader(client, 4, 1, Duration.ofMillis(10));
+        Stream<Booking> source = IntStream.range(0, 10).mapToObj(row -> {
+            if (row == 5) {
+                throw new UncheckedIOException(new IOException("row 5 is unreadable"));
+            }
+            return booking(row);
+        });
+
+        UncheckedIOException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(UncheckedIOException.class, () -> loader.load(source, tempDir.resolve("ids.csv"))));
+        assertEquals("row 5 is unreadable", e.getCause().getMessage());
+        assertEquals(0, loader.getInFlight());
+    }
+
+    private static Booking booking(int row) {
+        return new Booking("Bulk", "Doe", row, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast");
+    }
+}
@@ -0,0 +1,153 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.config.ConnectionPool;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+// every test counts the connections the shared TLS stub accepts
+@Execution(ExecutionMode.SAME_THREAD)
+public class ConnectionPoolTests {
+
+    private static final char[] PASSWORD = "changeit".toCharArray();
+
+    private static HttpsServer stub;
+    private static ExecutorService stubThreads;
+    private static SSLContext trustStub;
+    private static String baseUri;
+    // one client address per TCP connection, and so per TLS handshake
+    private static final Set<SocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    @BeforeAll
+    public static void startTlsStub() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = ConnectionPoolTests.class.getResourceAsStream("/tls/stub-keystore.p12")) {
+            keyStore.load(in, PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD);
+        SSLContext tls = SSLContext.getInstance("TLS");
+        tls.init(keyManagers.getKeyManagers(), null, null);
+
+        stub = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.setHttpsConfigurator(new HttpsConfigurator(tls));
+        stub.createContext("/ping", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            byte[] body = "Created".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(201, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubThreads = Executors.newFixedThreadPool(8);
+        stub.setExecutor(stubThreads);
+        stub.start();
+        baseUri = "https://127.0.0.1:" + stub.getAddress().getPort();
+
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        trustStub = SSLContext.getInstance("TLS");
+        trustStub.init(null, trustManagers.getTrustManagers(), null);
+    }
+
+    @AfterAll
+    public static void stopTlsStub() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @BeforeEach
+    public void resetConnections() {
+        connections.clear();
+    }
+
+    @Test
+    public void testHandshakesFollowPoolSizeNotRequestCount() throws Exception {
+        try (ConnectionPool pool = new ConnectionPool(4, 4, Duration.ofSeconds(30), Duration.ofSeconds(30), trustStub)) {
+            RequestSpecification spec = spec(pool);
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> sent = new ArrayList<>();
+                for (int caller = 0; caller < 8; caller++) {
+                    sent.add(callers.submit(() -> {
+                        for (int i = 0; i < 25; i++) {
+                            given(spec).get("/ping").then().statusCode(201);
+                        }
+                    }));
+                }
+                for (Future<?> future : sent) {
+                    future.get();
+                }
+            } finally {
+                callers.shutdown();
+            }
+
+            assertTrue(connections.size() <= 4, "200 requests over a pool of 4 took " + connections.size() + " connections");
+            assertEquals(connections.size(), pool.getConnectionsOpened());
+            assertEquals(200 - pool.getConnectionsOpened(), pool.getConnectionsReused());
+            assertEquals(0, pool.getLeasedConnections());
+        }
+    }
+
+    @Test
+    public void testWithoutPoolEveryRequestHandshakes() {
+        RequestSpecification spec = new RequestSpecBuilder().setBaseUri(baseUri).setRelaxedHTTPSValidation().build();
+        for (int i = 0; i < 20; i++) {
+            given(spec).get("/ping").then().statusCode(201);
+        }
+        assertEquals(20, connections.size());
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws InterruptedException {
+        try (ConnectionPool pool = new ConnectionPool(4, 4, Duration.ofMillis(200), Duration.ofSeconds(30), trustStub)) {
+            given(spec(pool)).get("/ping").then().statusCode(201);
+            assertEquals(1, pool.getIdleConnections());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (pool.getIdleConnections() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, pool.getIdleConnections(), "the evictor should close the idle connection");
+        }
+    }
+
+    private static RequestSpecification spec(ConnectionPool pool) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(pool.httpClientFactory())))
+                .build();
+    }
+}
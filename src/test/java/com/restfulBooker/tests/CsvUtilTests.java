@@ -0,0 +1,108 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.utilities.CsvUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvUtilTests {
+
+    private static final Logger logger = LogManager.getLogger(CsvUtilTests.class);
+    private static final String BOOKINGS_CSV = "src/test/resources/data/bookings.csv";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStreamingReaderMatchesCommonsCsv() throws IOException {
+        List<Booking> expected = CsvUtil.readBookingsFromCsv(BOOKINGS_CSV);
+
+        List<Booking> streamed;
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(BOOKINGS_CSV)) {
+            streamed = bookings.collect(Collectors.toList());
+        }
+
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    public void testParallelStreamingOfLargeFile() throws IOException {
+        // a few MB so the file is split into several chunks
+        Path csv = tempDir.resolve("bookings-large.csv");
+        int rows = 60_000;
+        writeCsv(csv, rows);
+
+        List<Booking> expected = CsvUtil.readBookingsFromCsv(csv.toString());
+
+        List<Booking> streamed;
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv.toString(), true)) {
+            streamed = bookings.collect(Collectors.toList());
+        }
+
+        logger.info("Parsed {} rows from {} bytes", streamed.size(), Files.size(csv));
+        assertAll("Verify parallel streaming",
+                () -> assertEquals(rows, streamed.size()),
+                () -> assertEquals(expected, streamed)
+        );
+    }
+
+    @Test
+    public void testQuotedFieldsAndCrLf() throws IOException {
+        Path csv = tempDir.resolve("quoted.csv");
+        Files.writeString(csv, "firstname,lastname,totalprice,depositpaid,checkin,checkout,additionalneeds\r\n"
+                + "\"O'Neil, Jr\",Smith,-5,TRUE,2021-01-01,2021-01-10,\"Say \"\"hi\"\"\"\r\n"
+                + "\r\n"
+                + "Zoë,Brontë,0,false,2021-02-01,2021-02-10,", StandardCharsets.UTF_8);
+
+        List<Booking> streamed;
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv.toString())) {
+            streamed = bookings.collect(Collectors.toList());
+        }
+
+        assertEquals(CsvUtil.readBookingsFromCsv(csv.toString()), streamed);
+        assertEquals("O'Neil, Jr", streamed.get(0).getFirstname());
+        assertEquals("Say \"hi\"", streamed.get(0).getAdditionalneeds());
+    }
+
+    @Test
+    public void testMalformedTotalpriceIsRejected() throws IOException {
+        Path csv = tempDir.resolve("prices.csv");
+        String header = "firstname,lastname,totalprice,depositpaid,checkin,checkout,additionalneeds\n";
+        Files.writeString(csv, header + "John,Doe,12  ,true,2021-01-01,2021-01-10,\n", StandardCharsets.UTF_8);
+        try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv.toString())) {
+            assertEquals(12, bookings.findFirst().orElseThrow().getTotalprice());
+        }
+
+        for (String price : List.of("12 abc", "1 000", "- ", "+")) {
+            Files.writeString(csv, header + "John,Doe," + price + ",true,2021-01-01,2021-01-10,\n", StandardCharsets.UTF_8);
+            try (Stream<Booking> bookings = CsvUtil.streamBookingsFromCsv(csv.toString())) {
+                assertThrows(NumberFormatException.class, () -> bookings.collect(Collectors.toList()), price);
+            }
+        }
+    }
+
+    static void writeCsv(Path file, int rows) throws IOException {
+        String[] names = {"John", "Jane", "Alice", "Bob", "\"Mc\"\"Kay, Jr\"", "Zoë"};
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("firstname,lastname,totalprice,depositpaid,checkin,checkout,additionalneeds\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(names[i % names.length]);
+                writer.write(",Doe" + i + "," + (i * 7 % 5000) + "," + (i % 2 == 0) + ",2021-01-01,2021-01-10,Breakfast");
+                writer.write(i % 3 == 0 ? "\r\n" : "\n");
+            }
+        }
+    }
+}
@@ -3,11 +3,11 @@ package com.restfulBooker.tests;
 import com.restfulBooker.config.TestConfig;
 import com.restfulBooker.models.Booking;
 import com.restfulBooker.models.BookingDates;
-import com.restfulBooker.utilities.BookingTestContext;
-import com.restfulBooker.utilities.CsvUtil;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.BookingDataset;
+import com.restfulBooker.utilities.BookingScenario;
+import com.restfulBooker.utilities.BookingVerifier;
 import com.restfulBooker.utilities.JsonUtil;
-import io.restassured.RestAssured;
-import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,40 +23,32 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @Tag("regression")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class DataDrivenBookingTests {
 
     private static final Logger logger = LogManager.getLogger(DataDrivenBookingTests.class);
 
-    @BeforeAll
-    public static void setup() {
-        RestAssured.requestSpecification = TestConfig.requestSpecification;
-        logger.info("Test setup completed.");
-    }
-
     static Stream<Booking> bookingProvider() throws IOException {
-        return CsvUtil.readBookingsFromCsv("src/test/resources/data/bookings.csv").stream();
+        return BookingDataset.load("src/test/resources/data/bookings.csv").stream();
     }
 
     @DisplayName("Create Booking Data Driven with CSV")
     @ParameterizedTest
     @MethodSource("bookingProvider")
-    @Order(1)
     @Tag("smoke")
     public void testCreateBookingDataDriven(Booking booking) {
-        logger.info("Creating a new booking with firstname: {}, lastname: {}", booking.getFirstname(), booking.getLastname());
+        createBooking(booking);
+    }
 
-        BookingTestContext.setExpectedFirstname(booking.getFirstname());
-        BookingTestContext.setExpectedLastname(booking.getLastname());
-        BookingTestContext.setExpectedTotalPrice(booking.getTotalprice());
-        BookingTestContext.setExpectedDepositPaid(booking.isDepositpaid());
-        BookingTestContext.setExpectedBookingDates(booking.getBookingdates());
-        BookingTestContext.setExpectedAdditionalNeeds(booking.getAdditionalneeds());
+    /**
+     * Creates {@code booking} and checks the response, so that each test works on a booking of its own.
+     */
+    private BookingScenario createBooking(Booking booking) {
+        logger.info("Creating a new booking with firstname: {}, lastname: {}", booking.getFirstname(), booking.getLastname());
 
         Response response = null;
         try {
-            response = given()
-                    .body(JsonUtil.toJson(booking))
+            response = given(TestConfig.requestSpecification)
+                    .body(JsonUtil.toJsonBytes(booking))
                     .when()
                     .post("/booking")
                     .then()
@@ -67,35 +59,25 @@ public class DataDrivenBookingTests {
             fail("Booking creation failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
-        Integer bookingId = jsonPath.getInt("bookingid");
-        BookingTestContext.setBookingId(bookingId);
+        BookingResponse created = BookingVerifier.assertBookingResponse("Verify booking details", response, booking);
+        Integer bookingId = created.getBookingid();
 
         logger.info("Booking created successfully with bookingId: {}", bookingId);
-
-        assertAll("Verify booking details",
-                () -> assertEquals(booking.getFirstname(), jsonPath.getString("booking.firstname")),
-                () -> assertEquals(booking.getLastname(), jsonPath.getString("booking.lastname")),
-                () -> assertEquals(booking.getTotalprice(), jsonPath.getInt("booking.totalprice")),
-                () -> assertEquals(booking.isDepositpaid(), jsonPath.getBoolean("booking.depositpaid")),
-                () -> assertEquals(booking.getBookingdates().getCheckin(), jsonPath.getString("booking.bookingdates.checkin")),
-                () -> assertEquals(booking.getBookingdates().getCheckout(), jsonPath.getString("booking.bookingdates.checkout")),
-                () -> assertEquals(booking.getAdditionalneeds(), jsonPath.getString("booking.additionalneeds"))
-        );
+        return BookingScenario.of(booking).withBookingId(bookingId);
     }
 
     @DisplayName("Get Booking Data Driven with CSV")
     @ParameterizedTest
     @MethodSource("bookingProvider")
-    @Order(2)
     @Tag("Smoke")
-    public void testGetBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+    public void testGetBooking(Booking booking) {
+        BookingScenario scenario = createBooking(booking);
+        Integer bookingId = scenario.getBookingId();
         logger.info("Retrieving booking with bookingId: {}", bookingId);
 
         Response response = null;
         try {
-            response = given()
+            response = given(TestConfig.requestSpecification)
                     .when()
                     .get("/booking/" + bookingId)
                     .then()
@@ -106,27 +88,17 @@ public class DataDrivenBookingTests {
             fail("Booking retrieval failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
-
-        assertAll("Verify retrieved booking details",
-                () -> assertEquals(BookingTestContext.getExpectedFirstname(), jsonPath.getString("firstname")),
-                () -> assertEquals(BookingTestContext.getExpectedLastname(), jsonPath.getString("lastname")),
-                () -> assertEquals(BookingTestContext.getExpectedTotalPrice(), jsonPath.getInt("totalprice")),
-                () -> assertEquals(BookingTestContext.getExpectedDepositPaid(), jsonPath.getBoolean("depositpaid")),
-                () -> assertEquals(BookingTestContext.getExpectedBookingDates().getCheckin(), jsonPath.getString("bookingdates.checkin")),
-                () -> assertEquals(BookingTestContext.getExpectedBookingDates().getCheckout(), jsonPath.getString("bookingdates.checkout")),
-                () -> assertEquals(BookingTestContext.getExpectedAdditionalNeeds(), jsonPath.getString("additionalneeds"))
-        );
+        Booking retrieved = BookingVerifier.assertBooking("Verify retrieved booking details", response, scenario.getExpected());
 
-        logger.info("Booking retrieved successfully with firstname: {}, lastname: {}", jsonPath.getString("firstname"), jsonPath.getString("lastname"));
+        logger.info("Booking retrieved successfully with firstname: {}, lastname: {}", retrieved.getFirstname(), retrieved.getLastname());
     }
 
     @DisplayName("Update Booking Data Driven with CSV")
     @ParameterizedTest
     @MethodSource("bookingProvider")
-    @Order(3)
-    public void testUpdateBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+    public void testUpdateBooking(Booking booking) {
+        BookingScenario scenario = createBooking(booking);
+        Integer bookingId = scenario.getBookingId();
         logger.info("Updating booking with bookingId: {}", bookingId);
 
         BookingDates bookingDates = new BookingDates("2021-02-01", "2021-02-10");
@@ -134,9 +106,9 @@ public class DataDrivenBookingTests {
 
         Response response = null;
         try {
-            response = given()
-                    .header("Cookie", "token=" + TestConfig.token)
-                    .body(JsonUtil.toJson(updatedBooking))
+            response = given(TestConfig.requestSpecification)
+                    .header("Cookie", "token=" + TestConfig.getToken())
+                    .body(JsonUtil.toJsonBytes(updatedBooking))
                     .when()
                     .put("/booking/" + bookingId)
                     .then()
@@ -147,27 +119,17 @@ public class DataDrivenBookingTests {
             fail("Booking update failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
+        Booking updated = BookingVerifier.assertBooking("Verify updated booking details", response, updatedBooking);
 
-        assertAll("Verify updated booking details",
-                () -> assertEquals("Jane", jsonPath.getString("firstname")),
-                () -> assertEquals("Doe", jsonPath.getString("lastname")),
-                () -> assertEquals(150, jsonPath.getInt("totalprice")),
-                () -> assertFalse(jsonPath.getBoolean("depositpaid")),
-                () -> assertEquals("2021-02-01", jsonPath.getString("bookingdates.checkin")),
-                () -> assertEquals("2021-02-10", jsonPath.getString("bookingdates.checkout")),
-                () -> assertEquals("Lunch", jsonPath.getString("additionalneeds"))
-        );
-
-        logger.info("Booking updated successfully with new dates: checkin={}, checkout={}", jsonPath.getString("bookingdates.checkin"), jsonPath.getString("bookingdates.checkout"));
+        logger.info("Booking updated successfully with new dates: checkin={}, checkout={}", updated.getBookingdates().getCheckin(), updated.getBookingdates().getCheckout());
     }
 
     @DisplayName("Delete Booking Data Driven with CSV")
     @ParameterizedTest
     @MethodSource("bookingProvider")
-    @Order(4)
-    public void testDeleteBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+    public void testDeleteBooking(Booking booking) {
+        BookingScenario scenario = createBooking(booking);
+        Integer bookingId = scenario.getBookingId();
         logger.info("Deleting booking with bookingId: {}", bookingId);
 
         if (bookingId == null) {
@@ -175,8 +137,8 @@ public class DataDrivenBookingTests {
         }
 
         try {
-            given()
-                    .header("Cookie", "token=" + TestConfig.token)
+            given(TestConfig.requestSpecification)
+                    .header("Cookie", "token=" + TestConfig.getToken())
                     .when()
                     .delete("/booking/" + bookingId)
                     .then()
@@ -190,7 +152,7 @@ public class DataDrivenBookingTests {
 
         // Verify Deletion
         try {
-            given()
+            given(TestConfig.requestSpecification)
                     .when()
                     .get("/booking/" + bookingId)
                     .then()
@@ -199,8 +161,5 @@ public class DataDrivenBookingTests {
             logger.error("Error verifying booking deletion: {}", e.getMessage(), e);
             fail("Booking deletion verification failed due to an exception");
         }
-
-        // Clear context after deletion
-        BookingTestContext.clear();
     }
 }
@@ -0,0 +1,387 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.ExcelUtil;
+import com.restfulBooker.utilities.ExcelWriteSession;
+import com.restfulBooker.utilities.WorkbookCache;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the cache tests assert on the hit and miss counters of the shared WorkbookCache, which any
+// other class reading a workbook through ExcelUtil would also move
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+public class ExcelUtilTests {
+
+    static final String[] HEADER = {"firstname", "lastname", "totalprice", "depositpaid", "checkin", "checkout", "additionalneeds"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStreamingReadReturnsTypedValues() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 3);
+
+        List<Map<String, String>> rows;
+        try (Stream<Map<String, String>> stream = ExcelUtil.streamDataList(xlsx.toString(), "Bookings")) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(3, rows.size());
+        Map<String, String> first = rows.get(0);
+        assertAll("Verify typed cell values",
+                () -> assertEquals("Guest0", first.get("firstname")),
+                () -> assertEquals("100", first.get("totalprice")),
+                () -> assertEquals("true", first.get("depositpaid")),
+                () -> assertEquals("2021-01-01", first.get("checkin")),
+                () -> assertEquals("2021-01-10", first.get("checkout")),
+                () -> assertFalse(rows.get(1).containsKey("additionalneeds"))
+        );
+    }
+
+    @Test
+    public void testStreamingReadMatchesWorkbookRead() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 500);
+
+        List<Map<String, String>> expected = new ExcelUtil(xlsx.toString(), "Bookings").getDataList();
+        List<Map<String, String>> streamed;
+        try (Stream<Map<String, String>> stream = ExcelUtil.streamDataList(xlsx.toString(), "Bookings")) {
+            streamed = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).get("firstname"), streamed.get(i).get("firstname"));
+            assertEquals(expected.get(i).get("additionalneeds"), streamed.get(i).get("additionalneeds"));
+            // the workbook path renders 100 as "100.0"
+            assertEquals(Double.parseDouble(expected.get(i).get("totalprice")), Double.parseDouble(streamed.get(i).get("totalprice")));
+        }
+    }
+
+    @Test
+    public void testStreamBookings() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 2);
+
+        List<Booking> bookings;
+        try (Stream<Booking> stream = ExcelUtil.streamBookings(xlsx.toString(), "Bookings")) {
+            bookings = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(new Booking("Guest0", "Doe", 100, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast"), bookings.get(0));
+        assertEquals(new Booking("Guest1", "Doe", 101, false, new BookingDates("2021-01-02", "2021-01-11"), null), bookings.get(1));
+    }
+
+    @Test
+    public void testUnknownSheetIsReported() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 1);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> ExcelUtil.streamDataList(xlsx.toString(), "Missing"));
+        assertTrue(error.getMessage().contains("Missing"));
+    }
+
+    @Test
+    public void testWriteSessionFromParallelThreads() throws Exception {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 200);
+        long before = Files.getLastModifiedTime(xlsx).toMillis();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try (ExcelWriteSession session = ExcelUtil.openWriteSession(xlsx.toString(), "Bookings")) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int row = 1 + thread; row <= 200; row += 8) {
+                        session.setCellData("Updated" + row, "additionalneeds", row);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(200, session.pendingUpdates());
+            // nothing is written until commit
+            assertEquals(before, Files.getLastModifiedTime(xlsx).toMillis());
+        } finally {
+            pool.shutdown();
+        }
+
+        ExcelUtil excel = new ExcelUtil(xlsx.toString(), "Bookings");
+        for (int row = 1; row <= 200; row++) {
+            assertEquals("Updated" + row, excel.getCellData(row, 6));
+        }
+        assertEquals("Guest0", excel.getCellData(1, 0));
+    }
+
+    @Test
+    public void testWriteSessionFlushesOnInterval() throws Exception {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 5);
+
+        try (ExcelWriteSession session = ExcelUtil.openWriteSession(xlsx.toString(), "Bookings").flushEvery(Duration.ofMillis(50))) {
+            session.setCellData("Late checkout", "additionalneeds", 1);
+            // the file is replaced atomically, so polling it never sees a partial write
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            String value = new ExcelUtil(xlsx.toString(), "Bookings").getCellData(1, 6);
+            while (!"Late checkout".equals(value) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+                value = new ExcelUtil(xlsx.toString(), "Bookings").getCellData(1, 6);
+            }
+            assertEquals("Late checkout", value);
+            assertEquals(0, session.pendingUpdates());
+        }
+    }
+
+    @Test
+    public void testStreamingWriteSession() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 50);
+
+        try (ExcelWriteSession session = ExcelUtil.openStreamingWriteSession(xlsx.toString(), "Bookings")) {
+            session.setCellData("Dinner", "additionalneeds", 2);
+            session.setCellData("Smith", 50, 1);
+            session.setCellData("Extra", 52, 0);
+        }
+
+        List<Map<String, String>> rows;
+        try (Stream<Map<String, String>> stream = ExcelUtil.streamDataList(xlsx.toString(), "Bookings")) {
+            rows = stream.collect(Collectors.toList());
+        }
+        assertAll("Verify streamed rewrite",
+                () -> assertEquals(52, rows.size()),
+                () -> assertEquals("Dinner", rows.get(1).get("additionalneeds")),
+                () -> assertEquals("Smith", rows.get(49).get("lastname")),
+                () -> assertEquals("Extra", rows.get(51).get("firstname")),
+                () -> assertEquals("100", rows.get(0).get("totalprice")),
+                () -> assertEquals("true", rows.get(0).get("depositpaid"))
+        );
+    }
+
+    @Test
+    public void testStreamingWriteKeepsRowNumbersAndCellTypes() throws IOException {
+        // rows 1, 3 and 4 have no cells, so the sheet XML skips them
+        Path xlsx = tempDir.resolve("sparse.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(xlsx)) {
+            Sheet sheet = workbook.createSheet("Bookings");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("firstname");
+            header.createCell(1).setCellValue("checkin");
+            header.createCell(2).setCellValue("code");
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("Guest2");
+            second.createCell(1).setCellValue(LocalDate.of(2021, 1, 1));
+            second.getCell(1).setCellStyle(dateStyle);
+            second.createCell(2).setCellValue("007");
+            Row fifth = sheet.createRow(5);
+            fifth.createCell(0).setCellValue("Guest5");
+            fifth.createCell(2).setCellValue("NaN");
+            workbook.write(out);
+        }
+
+        try (ExcelWriteSession session = ExcelUtil.openStreamingWriteSession(xlsx.toString(), "Bookings")) {
+            session.setCellData("Updated", "firstname", 5);
+            session.setCellData("Added", 3, 0);
+            session.setCellData("Appended", 7, 0);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(Files.newInputStream(xlsx))) {
+            Sheet sheet = workbook.getSheet("Bookings");
+            assertAll("Verify sparse rewrite",
+                    () -> assertNull(sheet.getRow(1)),
+                    () -> assertEquals("Guest2", sheet.getRow(2).getCell(0).getStringCellValue()),
+                    () -> assertEquals("Added", sheet.getRow(3).getCell(0).getStringCellValue()),
+                    () -> assertNull(sheet.getRow(4)),
+                    () -> assertEquals("Updated", sheet.getRow(5).getCell(0).getStringCellValue()),
+                    () -> assertEquals("Appended", sheet.getRow(7).getCell(0).getStringCellValue()),
+                    () -> assertEquals(CellType.STRING, sheet.getRow(2).getCell(2).getCellType()),
+                    () -> assertEquals("007", sheet.getRow(2).getCell(2).getStringCellValue()),
+                    () -> assertEquals("NaN", sheet.getRow(5).getCell(2).getStringCellValue()),
+                    () -> assertEquals(CellType.NUMERIC, sheet.getRow(2).getCell(1).getCellType()),
+                    () -> assertTrue(DateUtil.isCellDateFormatted(sheet.getRow(2).getCell(1))),
+                    () -> assertEquals(LocalDate.of(2021, 1, 1), sheet.getRow(2).getCell(1).getLocalDateTimeCellValue().toLocalDate())
+            );
+        }
+    }
+
+    @Test
+    public void testWritersOnTheSameFileKeepEachOthersUpdates() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 5);
+
+        try (ExcelUtil excel = new ExcelUtil(xlsx.toString(), "Bookings");
+             ExcelWriteSession first = ExcelUtil.openWriteSession(xlsx.toString(), "Bookings");
+             ExcelWriteSession second = ExcelUtil.openWriteSession(xlsx.toString(), "Bookings")) {
+            first.setCellData("First", "additionalneeds", 1);
+            first.commit();
+            second.setCellData("Second", "additionalneeds", 2);
+            second.commit();
+            // parsed before either commit
+            excel.setCellData("Third", "additionalneeds", 3);
+            first.setCellData("Fourth", "additionalneeds", 4);
+        }
+
+        try (ExcelUtil excel = new ExcelUtil(xlsx.toString(), "Bookings")) {
+            assertEquals("First", excel.getCellData(1, 6));
+            assertEquals("Second", excel.getCellData(2, 6));
+            assertEquals("Third", excel.getCellData(3, 6));
+            assertEquals("Fourth", excel.getCellData(4, 6));
+        }
+    }
+
+    @Test
+    public void testFailedCommitKeepsPendingUpdates() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        Path original = tempDir.resolve("original.xlsx");
+        writeWorkbook(xlsx, 3);
+        Files.copy(xlsx, original);
+
+        try (ExcelWriteSession session = ExcelUtil.openWriteSession(xlsx.toString(), "Bookings")) {
+            session.setCellData("Dinner", "additionalneeds", 1);
+            // replaced meanwhile by a workbook without the sheet
+            try (XSSFWorkbook other = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(xlsx)) {
+                other.createSheet("Other");
+                other.write(out);
+            }
+            assertThrows(IllegalArgumentException.class, session::commit);
+            assertEquals(1, session.pendingUpdates());
+
+            Files.copy(original, xlsx, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(xlsx, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            session.commit();
+            assertEquals(0, session.pendingUpdates());
+        }
+
+        try (ExcelUtil excel = new ExcelUtil(xlsx.toString(), "Bookings")) {
+            assertEquals("Dinner", excel.getCellData(1, 6));
+        }
+    }
+
+    @Test
+    public void testSetCellDataWritesThrough() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 3);
+
+        new ExcelUtil(xlsx.toString(), "Bookings").setCellData("Lunch", "additionalneeds", 2);
+
+        assertEquals("Lunch", new ExcelUtil(xlsx.toString(), "Bookings").getCellData(2, 6));
+    }
+
+    @Test
+    public void testWorkbookIsSharedBetweenInstances() throws IOException {
+        Path xlsx = tempDir.resolve("bookings.xlsx");
+        writeWorkbook(xlsx, 20);
+        WorkbookCache cache = WorkbookCache.shared();
+
+        long misses = cache.getMisses();
+        long hits = cache.getHits();
+        try (ExcelUtil first = new ExcelUtil(xlsx.toString(), "Bookings");
+             ExcelUtil second = new ExcelUtil(xlsx.toString(), "Bookings")) {
+            assertEquals(first.getDataList(), second.getDataList());
+            assertEquals(misses + 1, cache.getMisses());
+            assertEquals(hits + 1, cache.getHits());
+            assertTrue(cache.getResidentBytes() > 0);
+        }
+
+        // a changed file is parsed again
+        writeWorkbook(xlsx, 3);
+        Files.setLastModifiedTime(xlsx, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+        try (ExcelUtil changed = new ExcelUtil(xlsx.toString(), "Bookings")) {
+            assertEquals(4, changed.rowCount());
+            assertEquals(misses + 2, cache.getMisses());
+        }
+    }
+
+    @Test
+    public void testOnlyUnusedWorkbooksAreEvicted() throws IOException {
+        Path held = tempDir.resolve("held.xlsx");
+        Path released = tempDir.resolve("released.xlsx");
+        writeWorkbook(held, 5);
+        writeWorkbook(released, 5);
+        WorkbookCache cache = WorkbookCache.shared();
+
+        try (ExcelUtil excel = new ExcelUtil(held.toString(), "Bookings")) {
+            new ExcelUtil(released.toString(), "Bookings").close();
+            long evictions = cache.getEvictions();
+
+            cache.evictUnused();
+
+            assertTrue(cache.getEvictions() > evictions);
+            long misses = cache.getMisses();
+            assertEquals("Guest0", new ExcelUtil(held.toString(), "Bookings").getCellData(1, 0));
+            assertEquals(misses, cache.getMisses());
+            assertEquals("Guest0", new ExcelUtil(released.toString(), "Bookings").getCellData(1, 0));
+            assertEquals(misses + 1, cache.getMisses());
+            assertEquals("Guest4", excel.getCellData(5, 0));
+        }
+    }
+
+    /**
+     * Writes typed cells: numeric price, boolean deposit and date-formatted check-in/check-out.
+     * Every odd row leaves additionalneeds empty.
+     */
+    static void writeWorkbook(Path file, int rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Bookings");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+            LocalDate checkin = LocalDate.of(2021, 1, 1);
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("Guest" + i);
+                row.createCell(1).setCellValue("Doe");
+                row.createCell(2).setCellValue(100 + i);
+                row.createCell(3).setCellValue(i % 2 == 0);
+                row.createCell(4).setCellValue(checkin.plusDays(i));
+                row.getCell(4).setCellStyle(dateStyle);
+                row.createCell(5).setCellValue(checkin.plusDays(i + 9));
+                row.getCell(5).setCellStyle(dateStyle);
+                if (i % 2 == 0) {
+                    row.createCell(6).setCellValue("Breakfast");
+                }
+            }
+            workbook.write(out);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.logging.FailureLogBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailureLogBufferTests {
+
+    private static final Logger logger = LogManager.getLogger(FailureLogBufferTests.class);
+
+    @Test
+    public void testEveryTestIsTaggedAndLoggingIsAsynchronous() {
+        assertNotNull(FailureLogBuffer.find(), "log4j2.xml should configure a FailureLogBuffer");
+        assertNotNull(ThreadContext.get(FailureLogBuffer.TEST_KEY), "FailureLogExtension should tag every test");
+        assertInstanceOf(AsyncLoggerContext.class, LogManager.getContext(false));
+    }
+
+    @Test
+    public void testOnlyFailedTestsAreWritten() throws Exception {
+        FailureLogBuffer buffer = FailureLogBuffer.find();
+        String ownTest = ThreadContext.get(FailureLogBuffer.TEST_KEY);
+        String test = "failure-log-buffer-" + System.nanoTime();
+        ThreadContext.put(FailureLogBuffer.TEST_KEY, test);
+        try {
+            buffer.begin(test);
+            for (int i = 0; i < 1000; i++) {
+                logger.debug("Request {} sent", i);
+            }
+            Path written = buffer.end(test, true, test + ".log");
+            try {
+                // every event logged before end() is in the file, even those still queued when it was called
+                List<String> lines = Files.readAllLines(written);
+                assertEquals(1000, lines.size());
+                assertTrue(lines.get(999).endsWith("Request 999 sent"), lines.get(999));
+            } finally {
+                Files.delete(written);
+            }
+
+            buffer.begin(test);
+            logger.info("Request sent");
+            assertNull(buffer.end(test, false, test + ".log"));
+            assertFalse(Files.exists(written));
+
+            // a failed test that logged nothing leaves no empty file behind
+            buffer.begin(test);
+            assertNull(buffer.end(test, true, test + ".log"));
+            assertFalse(Files.exists(written));
+        } finally {
+            ThreadContext.put(FailureLogBuffer.TEST_KEY, ownTest);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.utilities.JsonFileUtil;
+import com.restfulBooker.utilities.JsonUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonFileUtilTests {
+
+    private static final String BOOKINGS_JSON = "src/test/resources/data/bookings.json";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testStreamingReaderMatchesListReader() throws IOException {
+        List<Booking> expected = JsonFileUtil.readBookingsFromJson(BOOKINGS_JSON);
+
+        List<Booking> streamed;
+        try (Stream<Booking> bookings = JsonFileUtil.streamBookingsFromJson(BOOKINGS_JSON)) {
+            streamed = bookings.collect(Collectors.toList());
+        }
+
+        assertFalse(streamed.isEmpty());
+        assertEquals(expected, streamed);
+    }
+
+    @Test
+    public void testNewlineDelimitedJson() throws IOException {
+        Path ndjson = tempDir.resolve("bookings.ndjson");
+        writeNdjson(ndjson, 1_000);
+
+        List<Booking> streamed;
+        try (Stream<Booking> bookings = JsonFileUtil.streamBookingsFromJson(ndjson.toString())) {
+            streamed = bookings.collect(Collectors.toList());
+        }
+
+        assertAll("Verify NDJSON bookings",
+                () -> assertEquals(1_000, streamed.size()),
+                () -> assertEquals(booking(0), streamed.get(0)),
+                () -> assertEquals(booking(999), streamed.get(999))
+        );
+    }
+
+    @Test
+    public void testStreamIsLazy() throws IOException {
+        // a broken last element must not stop the first ones from being read
+        Path json = tempDir.resolve("truncated.json");
+        Files.writeString(json, "[" + JsonUtil.toJson(booking(0)) + "," + JsonUtil.toJson(booking(1)) + ",{\"firstname\": ", StandardCharsets.UTF_8);
+
+        try (Stream<Booking> bookings = JsonFileUtil.streamBookingsFromJson(json.toString())) {
+            assertEquals(List.of(booking(0), booking(1)), bookings.limit(2).collect(Collectors.toList()));
+        }
+        assertThrows(RuntimeException.class, () -> {
+            try (Stream<Booking> bookings = JsonFileUtil.streamBookingsFromJson(json.toString())) {
+                bookings.forEach(booking -> { });
+            }
+        });
+    }
+
+    private static Booking booking(int i) {
+        return new Booking("Guest" + i, "Doe", 100 + i, i % 2 == 0, new BookingDates("2021-01-01", "2021-01-10"), i % 3 == 0 ? null : "Breakfast");
+    }
+
+    private static void writeNdjson(Path file, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(JsonUtil.toJson(booking(i)));
+                writer.write('\n');
+            }
+        }
+    }
+}
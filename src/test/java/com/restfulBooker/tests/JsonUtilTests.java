@@ -0,0 +1,93 @@
+package com.restfulBooker.tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.JsonUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonUtilTests {
+
+    private static final ObjectMapper reference = new ObjectMapper();
+
+    @Test
+    public void testEncodingMatchesObjectMapper() throws IOException {
+        for (Booking booking : samples()) {
+            BookingResponse response = new BookingResponse();
+            response.setBookingid(42);
+            response.setBooking(booking);
+
+            assertEquals(reference.writeValueAsString(booking), JsonUtil.toJson(booking));
+            assertArrayEquals(reference.writeValueAsString(booking).getBytes(StandardCharsets.UTF_8), JsonUtil.toJsonBytes(booking));
+            assertEquals(reference.writeValueAsString(response), JsonUtil.toJson(response));
+            assertEquals(reference.writeValueAsString(booking.getBookingdates()), JsonUtil.toJson(booking.getBookingdates()));
+        }
+    }
+
+    @Test
+    public void testDecodingMatchesObjectMapper() throws IOException {
+        for (Booking booking : samples()) {
+            String json = reference.writeValueAsString(booking);
+            assertEquals(reference.readValue(json, Booking.class), JsonUtil.fromJson(json, Booking.class));
+            assertEquals(booking, JsonUtil.fromJson(json.getBytes(StandardCharsets.UTF_8), Booking.class));
+        }
+
+        String response = "{\"bookingid\":7,\"extra\":[1,{\"a\":null}],\"booking\":{\"additionalneeds\":null,\"firstname\":\"Jo\","
+                + "\"bookingdates\":{\"checkout\":\"2021-01-10\",\"checkin\":\"2021-01-01\"},\"depositpaid\":true,\"totalprice\":5}}";
+        assertEquals(reference.readValue(response, BookingResponse.class), JsonUtil.fromJson(response, BookingResponse.class));
+    }
+
+    @Test
+    public void testFallsBackToObjectMapper() throws IOException {
+        // coercions the codec leaves to databinding
+        String coerced = "{\"firstname\":\"Jo\",\"totalprice\":\"12\",\"depositpaid\":true}";
+        assertEquals(12, JsonUtil.fromJson(coerced, Booking.class).getTotalprice());
+
+        Booking loneSurrogate = new Booking("\uD800", "Doe", 1, true, null, null);
+        assertEquals(reference.writeValueAsString(Map.of("x", "ok")), JsonUtil.toJson(Map.of("x", "ok")));
+        assertEquals(reference.writeValueAsString(loneSurrogate), JsonUtil.toJson(loneSurrogate));
+        assertThrows(IOException.class, () -> JsonUtil.fromJson("{\"firstname\":", Booking.class));
+    }
+
+    private static List<Booking> samples() {
+        List<Booking> samples = new ArrayList<>();
+        samples.add(new Booking("John", "Doe", 123, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast"));
+        samples.add(new Booking(null, null, Integer.MIN_VALUE, false, null, null));
+        samples.add(new Booking("Zoë \"Q\" \\ /", "Brontë\n\t\r\b\f\u0001\u001f\u007f", -1, true,
+                new BookingDates(null, " "), "emoji 😀 and 日本語"));
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            samples.add(new Booking(randomString(random), randomString(random), random.nextInt(), random.nextBoolean(),
+                    new BookingDates(randomString(random), randomString(random)), random.nextInt(5) == 0 ? null : randomString(random)));
+        }
+        return samples;
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder text = new StringBuilder();
+        int length = random.nextInt(40);
+        for (int i = 0; i < length; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                text.append((char) (0x20 + random.nextInt(0x5F)));
+            } else if (kind < 7) {
+                text.append((char) random.nextInt(0x20));
+            } else if (kind < 9) {
+                text.append((char) (0xA0 + random.nextInt(0xD000)));
+            } else {
+                text.appendCodePoint(0x10000 + random.nextInt(0x1000));
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.restfulBooker.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restfulBooker.metrics.EndpointLatency;
+import com.restfulBooker.metrics.LatencyFilter;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyFilterTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRequestsAreGroupedByNormalizedEndpoint() throws Exception {
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try {
+            LatencyFilter filter = new LatencyFilter();
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri(server.getBaseUri())
+                    .addFilter(filter)
+                    .build();
+            int id = given(spec).contentType("application/json")
+                    .body("{\"firstname\":\"John\",\"lastname\":\"Doe\",\"totalprice\":1,\"depositpaid\":true,"
+                            + "\"bookingdates\":{\"checkin\":\"2021-01-01\",\"checkout\":\"2021-01-02\"}}")
+                    .post("/booking").path("bookingid");
+            for (int i = 0; i < 5; i++) {
+                given(spec).get("/booking/" + id).then().statusCode(200);
+            }
+            given(spec).get("/booking/{id}", 987654).then().statusCode(404);
+            given(spec).get("/booking?firstname=John").then().statusCode(200);
+
+            List<EndpointLatency> snapshot = filter.snapshot();
+            assertEquals(List.of("GET /booking 200", "POST /booking 200", "GET /booking/{id} 200", "GET /booking/{id} 404"),
+                    snapshot.stream().map(series -> series.getMethod() + " " + series.getEndpoint() + " " + series.getStatus()).collect(Collectors.toList()));
+            assertEquals(5, snapshot.get(2).getCount());
+            assertTrue(snapshot.get(2).millisAtPercentile(50) > 0);
+
+            filter.export(tempDir);
+            JsonNode json = new ObjectMapper().readTree(tempDir.resolve("latency.json").toFile());
+            assertEquals(4, json.size());
+            assertEquals("/booking/{id}", json.get(2).get("endpoint").asText());
+            assertEquals(5, json.get(2).get("count").asLong());
+            assertTrue(json.get(2).has("p999Ms"));
+
+            String prom = Files.readString(tempDir.resolve("latency.prom"));
+            assertTrue(prom.contains("# TYPE booker_request_duration_seconds summary"));
+            assertTrue(prom.contains("booker_request_duration_seconds_count{method=\"GET\",endpoint=\"/booking/{id}\",status=\"200\"} 5"), prom);
+            assertTrue(prom.contains("booker_request_duration_seconds{method=\"GET\",endpoint=\"/booking/{id}\",status=\"404\",quantile=\"0.99\"}"), prom);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyFilter filter = new LatencyFilter();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> recorded = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                recorded.add(threads.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        filter.record("GET", "/booking/" + i, 200, 1_000 + i);
+                        if (i % 10_000 == 0) {
+                            // snapshots taken mid-run must not lose or double count values
+                            filter.snapshot();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : recorded) {
+                future.get();
+            }
+        } finally {
+            threads.shutdown();
+        }
+        List<EndpointLatency> snapshot = filter.snapshot();
+        assertEquals(1, snapshot.size());
+        assertEquals(400_000, snapshot.get(0).getCount());
+        assertEquals(50_999, snapshot.get(0).getHistogram().getMaxValue(), 50);
+    }
+}
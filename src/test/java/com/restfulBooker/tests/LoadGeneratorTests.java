@@ -0,0 +1,169 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.load.BookingOperation;
+import com.restfulBooker.load.LoadGenerator;
+import com.restfulBooker.load.LoadProfile;
+import com.restfulBooker.load.LoadReport;
+import com.restfulBooker.load.OperationStats;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+// the generators' worker threads are counted by name, so the runs must not overlap
+@Tag("load")
+@Execution(ExecutionMode.SAME_THREAD)
+public class LoadGeneratorTests {
+
+    private static final Logger logger = LogManager.getLogger(LoadGeneratorTests.class);
+
+    private static EmbeddedBookerServer server;
+    private static RequestSpecification spec;
+    private static String token;
+
+    @BeforeAll
+    public static void setup() {
+        server = new EmbeddedBookerServer(0).start();
+        spec = new RequestSpecBuilder()
+                .setBaseUri(server.getBaseUri())
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Accept", "application/json")
+                .build();
+        token = given(spec)
+                .body(Map.of("username", "admin", "password", "password123"))
+                .post("/auth")
+                .path("token");
+        // pay RestAssured's one-off initialisation before any latency is measured
+        given(spec).get("/ping");
+        logger.info("Test setup completed.");
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testArrivalScheduleFollowsProfile() {
+        LoadProfile profile = LoadProfile.builder()
+                .ratePerSecond(100)
+                .rampUp(Duration.ofSeconds(2))
+                .steady(Duration.ofSeconds(4))
+                .rampDown(Duration.ofSeconds(2))
+                .build();
+
+        assertEquals(600, profile.totalArrivals());
+        assertEquals(0, profile.arrivalOffsetNanos(0));
+        // ramp-up delivers half its peak rate on average, so 100 arrivals fit in the first 2s
+        assertEquals(Duration.ofSeconds(2).toNanos(), profile.arrivalOffsetNanos(100), 1_000_000);
+        assertEquals(Duration.ofSeconds(6).toNanos(), profile.arrivalOffsetNanos(500), 1_000_000);
+
+        long previous = -1;
+        for (long n = 0; n < profile.totalArrivals(); n++) {
+            long offset = profile.arrivalOffsetNanos(n);
+            assertTrue(offset >= previous, "arrival " + n + " scheduled before its predecessor");
+            previous = offset;
+        }
+        assertTrue(previous <= profile.getTotalDuration().toNanos());
+    }
+
+    @Test
+    public void testRunAgainstEmbeddedServer() {
+        Booking booking = new Booking("Load", "Runner", 250, true, new BookingDates("2021-01-01", "2021-01-05"), "Breakfast");
+        LoadGenerator generator = new LoadGenerator(spec, () -> token, () -> booking);
+
+        LoadProfile profile = LoadProfile.builder()
+                .ratePerSecond(40)
+                .rampUp(Duration.ofMillis(500))
+                .steady(Duration.ofSeconds(1))
+                .rampDown(Duration.ofMillis(500))
+                .build();
+
+        LoadReport report = generator.run(profile);
+        logger.info("Load report: {}", report);
+
+        assertAll("Verify load report",
+                () -> assertEquals(profile.totalArrivals(), report.getScheduled()),
+                () -> assertEquals(report.getScheduled(), report.getCompleted() + report.getDropped()),
+                () -> assertEquals(0, report.getErrors()),
+                () -> assertEquals(report.getDropped() == 0, report.isValid()),
+                () -> assertTrue(report.getOperations().containsKey(BookingOperation.CREATE)),
+                () -> assertTrue(report.getOperations().get(BookingOperation.CREATE).getLatency().getMaxValue() > 0)
+        );
+    }
+
+    @Test
+    public void testSlowServerDropsArrivalsInsteadOfStartingThreads() throws Exception {
+        AtomicInteger mostWorkers = new AtomicInteger();
+        HttpServer slow = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        slow.setExecutor(Executors.newCachedThreadPool());
+        slow.createContext("/booking", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            long workers = Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("load-worker-")).count();
+            mostWorkers.accumulateAndGet((int) workers, Math::max);
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] response = "{\"bookingid\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        slow.start();
+        try {
+            RequestSpecification slowSpec = new RequestSpecBuilder()
+                    .setBaseUri("http://127.0.0.1:" + slow.getAddress().getPort())
+                    .addHeader("Content-Type", "application/json")
+                    .build();
+            LoadProfile profile = LoadProfile.builder()
+                    .ratePerSecond(200)
+                    .steady(Duration.ofSeconds(1))
+                    .maxInFlight(4)
+                    .weight(BookingOperation.CREATE, 1)
+                    .build();
+
+            LoadReport report = new LoadGenerator(slowSpec, () -> token, LoadGeneratorTests::booking).run(profile);
+
+            assertEquals(report.getScheduled(), report.getCompleted() + report.getDropped());
+            assertTrue(report.getDropped() > 100, report.toString());
+            assertFalse(report.isValid());
+            // the dropped arrivals are in the latency histogram, so a stalled server shows in the tail
+            OperationStats creates = report.getOperations().get(BookingOperation.CREATE);
+            assertEquals(report.getDropped(), creates.getDropped());
+            assertEquals(report.getScheduled(), creates.getLatency().getTotalCount());
+            assertTrue(creates.latencyMillisAtPercentile(99) > creates.serviceTimeMillisAtPercentile(99), creates.toString());
+            assertTrue(mostWorkers.get() <= 4, mostWorkers.get() + " worker threads for 4 requests in flight");
+        } finally {
+            slow.stop(0);
+        }
+    }
+
+    private static Booking booking() {
+        return new Booking("Load", "Runner", 250, true, new BookingDates("2021-01-01", "2021-01-05"), "Breakfast");
+    }
+}
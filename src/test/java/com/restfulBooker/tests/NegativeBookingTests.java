@@ -6,7 +6,6 @@ import com.restfulBooker.models.Booking;
 import com.restfulBooker.models.BookingDates;
 import com.restfulBooker.models.ErrorResponse;
 import com.restfulBooker.utilities.JsonUtil;
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,19 +14,11 @@ import org.junit.jupiter.api.*;
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class NegativeBookingTests {
 
     private static final Logger logger = LogManager.getLogger(NegativeBookingTests.class);
 
-    @BeforeAll
-    public static void setup() {
-        RestAssured.requestSpecification = TestConfig.requestSpecification;
-        logger.info("Test setup completed.");
-    }
-
     @Test
-    @Order(1)
     public void testCreateBookingWithInvalidData() throws Exception {
         BookingDates bookingDates = new BookingDates("invalid-date", "invalid-date");
 
@@ -35,8 +26,8 @@ public class NegativeBookingTests {
 
         logger.info("Creating a new booking with invalid data");
 
-        Response response = given()
-                .body(JsonUtil.toJson(newBooking))
+        Response response = given(TestConfig.requestSpecification)
+                .body(JsonUtil.toJsonBytes(newBooking))
                 .when()
                 .post("/booking")
                 .then()
@@ -52,7 +43,6 @@ public class NegativeBookingTests {
     }
 
     @Test
-    @Order(2)
     public void testCreateBookingWithMissingRequiredFields() throws Exception {
         BookingDates bookingDates = new BookingDates("2021-01-01", "2021-01-10");
 
@@ -62,8 +52,8 @@ public class NegativeBookingTests {
 
         logger.info("Creating a new booking with missing required fields");
 
-        Response response = given()
-                .body(JsonUtil.toJson(newBooking))
+        Response response = given(TestConfig.requestSpecification)
+                .body(JsonUtil.toJsonBytes(newBooking))
                 .when()
                 .post("/booking")
                 .then()
@@ -80,7 +70,6 @@ public class NegativeBookingTests {
     }
 
     @Test
-    @Order(3)
     public void testUpdateBookingWithInvalidToken() throws Exception {
         BookingDates bookingDates = new BookingDates("2021-02-01", "2021-02-10");
 
@@ -88,9 +77,9 @@ public class NegativeBookingTests {
 
         logger.info("Updating booking with invalid token");
 
-        Response response = given()
+        Response response = given(TestConfig.requestSpecification)
                 .header("Cookie", "token=invalidtoken")
-                .body(JsonUtil.toJson(updatedBooking))
+                .body(JsonUtil.toJsonBytes(updatedBooking))
                 .when()
                 .put("/booking/1") // Adjust booking ID based on your setup
                 .then()
@@ -106,11 +95,10 @@ public class NegativeBookingTests {
     }
 
     @Test
-    @Order(4)
     public void testDeleteBookingWithInvalidToken() throws JsonProcessingException {
         logger.info("Deleting booking with invalid token");
 
-        Response response = given()
+        Response response = given(TestConfig.requestSpecification)
                 .header("Cookie", "token=invalidtoken")
                 .when()
                 .delete("/booking/1") // Adjust booking ID based on your setup
@@ -127,13 +115,12 @@ public class NegativeBookingTests {
     }
 
     @Test
-    @Order(5)
     public void testGetNonexistentBooking() throws JsonProcessingException {
         int nonexistentBookingId = 999999; // Use a booking ID that doesn't exist
 
         logger.info("Retrieving nonexistent booking with bookingId: {}", nonexistentBookingId);
 
-        Response response = given()
+        Response response = given(TestConfig.requestSpecification)
                 .when()
                 .get("/booking/" + nonexistentBookingId)
                 .then()
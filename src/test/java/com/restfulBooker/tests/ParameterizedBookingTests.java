@@ -3,10 +3,10 @@ package com.restfulBooker.tests;
 import com.restfulBooker.config.TestConfig;
 import com.restfulBooker.models.Booking;
 import com.restfulBooker.models.BookingDates;
-import com.restfulBooker.utilities.BookingTestContext;
+import com.restfulBooker.models.BookingResponse;
+import com.restfulBooker.utilities.BookingScenario;
+import com.restfulBooker.utilities.BookingVerifier;
 import com.restfulBooker.utilities.JsonUtil;
-import io.restassured.RestAssured;
-import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,17 +17,10 @@ import org.junit.jupiter.params.provider.CsvSource;
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class ParameterizedBookingTests {
 
     private static final Logger logger = LogManager.getLogger(ParameterizedBookingTests.class);
 
-    @BeforeAll
-    public static void setup() {
-        RestAssured.requestSpecification = TestConfig.requestSpecification;
-        logger.info("Test setup completed.");
-    }
-
     @ParameterizedTest
     @CsvSource({
             "John, Doe, 123, true, 2021-01-01, 2021-01-10, Breakfast",
@@ -40,24 +33,21 @@ public class ParameterizedBookingTests {
             "Frank, Blue, 500, false, 2021-08-01, 2021-08-31, Dinner",
             "Grace, Red, 600, true, 2021-09-01, 2021-09-30, Lunch"
     })
-    @Order(1)
     public void testCreateBookingParameterized(String firstname, String lastname, int totalprice, boolean depositpaid, String checkin, String checkout, String additionalneeds) {
         BookingDates bookingDates = new BookingDates(checkin, checkout);
-        Booking newBooking = new Booking(firstname, lastname, totalprice, depositpaid, bookingDates, additionalneeds);
-
-        BookingTestContext.setExpectedFirstname(firstname);
-        BookingTestContext.setExpectedLastname(lastname);
-        BookingTestContext.setExpectedTotalPrice(totalprice);
-        BookingTestContext.setExpectedDepositPaid(depositpaid);
-        BookingTestContext.setExpectedBookingDates(bookingDates);
-        BookingTestContext.setExpectedAdditionalNeeds(additionalneeds);
+        createBooking(new Booking(firstname, lastname, totalprice, depositpaid, bookingDates, additionalneeds));
+    }
 
-        logger.info("Creating a new booking with firstname: {}, lastname: {}", firstname, lastname);
+    /**
+     * Creates {@code newBooking} and checks the response, so that each test works on a booking of its own.
+     */
+    private static BookingScenario createBooking(Booking newBooking) {
+        logger.info("Creating a new booking with firstname: {}, lastname: {}", newBooking.getFirstname(), newBooking.getLastname());
 
         Response response = null;
         try {
-            response = given()
-                    .body(JsonUtil.toJson(newBooking))
+            response = given(TestConfig.requestSpecification)
+                    .body(JsonUtil.toJsonBytes(newBooking))
                     .when()
                     .post("/booking")
                     .then()
@@ -68,31 +58,25 @@ public class ParameterizedBookingTests {
             fail("Booking creation failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
-        BookingTestContext.setBookingId(jsonPath.getInt("bookingid"));
+        BookingResponse created = BookingVerifier.assertBookingResponse("Verify booking details", response, newBooking);
 
-        logger.info("Booking created successfully with bookingId: {}", BookingTestContext.getBookingId());
+        logger.info("Booking created successfully with bookingId: {}", created.getBookingid());
+        return BookingScenario.of(newBooking).withBookingId(created.getBookingid());
+    }
 
-        assertAll("Verify booking details",
-                () -> assertEquals(firstname, jsonPath.getString("booking.firstname")),
-                () -> assertEquals(lastname, jsonPath.getString("booking.lastname")),
-                () -> assertEquals(totalprice, jsonPath.getInt("booking.totalprice")),
-                () -> assertEquals(depositpaid, jsonPath.getBoolean("booking.depositpaid")),
-                () -> assertEquals(checkin, jsonPath.getString("booking.bookingdates.checkin")),
-                () -> assertEquals(checkout, jsonPath.getString("booking.bookingdates.checkout")),
-                () -> assertEquals(additionalneeds, jsonPath.getString("booking.additionalneeds"))
-        );
+    private static BookingScenario createBooking() {
+        return createBooking(new Booking("John", "Doe", 123, true, new BookingDates("2021-01-01", "2021-01-10"), "Breakfast"));
     }
 
     @Test
-    @Order(2)
     public void testGetBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+        BookingScenario scenario = createBooking();
+        Integer bookingId = scenario.getBookingId();
         logger.info("Retrieving booking with bookingId: {}", bookingId);
 
         Response response = null;
         try {
-            response = given()
+            response = given(TestConfig.requestSpecification)
                     .when()
                     .get("/booking/" + bookingId)
                     .then()
@@ -103,25 +87,15 @@ public class ParameterizedBookingTests {
             fail("Booking retrieval failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
-
-        assertAll("Verify retrieved booking details",
-                () -> assertEquals(BookingTestContext.getExpectedFirstname(), jsonPath.getString("firstname")),
-                () -> assertEquals(BookingTestContext.getExpectedLastname(), jsonPath.getString("lastname")),
-                () -> assertEquals(BookingTestContext.getExpectedTotalPrice(), jsonPath.getInt("totalprice")),
-                () -> assertEquals(BookingTestContext.getExpectedDepositPaid(), jsonPath.getBoolean("depositpaid")),
-                () -> assertEquals(BookingTestContext.getExpectedBookingDates().getCheckin(), jsonPath.getString("bookingdates.checkin")),
-                () -> assertEquals(BookingTestContext.getExpectedBookingDates().getCheckout(), jsonPath.getString("bookingdates.checkout")),
-                () -> assertEquals(BookingTestContext.getExpectedAdditionalNeeds(), jsonPath.getString("additionalneeds"))
-        );
+        Booking retrieved = BookingVerifier.assertBooking("Verify retrieved booking details", response, scenario.getExpected());
 
-        logger.info("Booking retrieved successfully with firstname: {}, lastname: {}", jsonPath.getString("firstname"), jsonPath.getString("lastname"));
+        logger.info("Booking retrieved successfully with firstname: {}, lastname: {}", retrieved.getFirstname(), retrieved.getLastname());
     }
 
     @Test
-    @Order(3)
     public void testUpdateBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+        BookingScenario scenario = createBooking();
+        Integer bookingId = scenario.getBookingId();
         logger.info("Updating booking with bookingId: {}", bookingId);
 
         BookingDates bookingDates = new BookingDates("2021-02-01", "2021-02-10");
@@ -129,9 +103,9 @@ public class ParameterizedBookingTests {
 
         Response response = null;
         try {
-            response = given()
-                    .header("Cookie", "token=" + TestConfig.token)
-                    .body(JsonUtil.toJson(updatedBooking))
+            response = given(TestConfig.requestSpecification)
+                    .header("Cookie", "token=" + TestConfig.getToken())
+                    .body(JsonUtil.toJsonBytes(updatedBooking))
                     .when()
                     .put("/booking/" + bookingId)
                     .then()
@@ -142,30 +116,20 @@ public class ParameterizedBookingTests {
             fail("Booking update failed due to an exception");
         }
 
-        JsonPath jsonPath = response.jsonPath();
+        Booking updated = BookingVerifier.assertBooking("Verify updated booking details", response, updatedBooking);
 
-        assertAll("Verify updated booking details",
-                () -> assertEquals("Jane", jsonPath.getString("firstname")),
-                () -> assertEquals("Doe", jsonPath.getString("lastname")),
-                () -> assertEquals(150, jsonPath.getInt("totalprice")),
-                () -> assertFalse(jsonPath.getBoolean("depositpaid")),
-                () -> assertEquals("2021-02-01", jsonPath.getString("bookingdates.checkin")),
-                () -> assertEquals("2021-02-10", jsonPath.getString("bookingdates.checkout")),
-                () -> assertEquals("Lunch", jsonPath.getString("additionalneeds"))
-        );
-
-        logger.info("Booking updated successfully with new dates: checkin={}, checkout={}", jsonPath.getString("bookingdates.checkin"), jsonPath.getString("bookingdates.checkout"));
+        logger.info("Booking updated successfully with new dates: checkin={}, checkout={}", updated.getBookingdates().getCheckin(), updated.getBookingdates().getCheckout());
     }
 
     @Test
-    @Order(4)
     public void testDeleteBooking() {
-        Integer bookingId = BookingTestContext.getBookingId();
+        BookingScenario scenario = createBooking();
+        Integer bookingId = scenario.getBookingId();
         logger.info("Deleting booking with bookingId: {}", bookingId);
 
         try {
-            given()
-                    .header("Cookie", "token=" + TestConfig.token)
+            given(TestConfig.requestSpecification)
+                    .header("Cookie", "token=" + TestConfig.getToken())
                     .when()
                     .delete("/booking/" + bookingId)
                     .then()
@@ -179,7 +143,7 @@ public class ParameterizedBookingTests {
 
         // Verify Deletion
         try {
-            given()
+            given(TestConfig.requestSpecification)
                     .when()
                     .get("/booking/" + bookingId)
                     .then()
@@ -188,18 +152,14 @@ public class ParameterizedBookingTests {
             logger.error("Error verifying booking deletion: {}", e.getMessage(), e);
             fail("Booking deletion verification failed due to an exception");
         }
-
-        // Clear context after deletion
-        BookingTestContext.clear();
     }
 
 
     @Test
-    @Order(5)
     public void testGetBookingIds() {
         logger.info("Retrieving all booking IDs");
 
-        given()
+        given(TestConfig.requestSpecification)
                 .when()
                 .get("/booking")
                 .then()
@@ -209,11 +169,10 @@ public class ParameterizedBookingTests {
     }
 
     @Test
-    @Order(6)
     public void testHealthCheck() {
         logger.info("Performing health check");
 
-        given()
+        given(TestConfig.requestSpecification)
                 .when()
                 .get("/ping")
                 .then()
@@ -0,0 +1,72 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.utilities.CompiledSchema;
+import com.restfulBooker.utilities.SchemaValidator;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaValidatorTests {
+
+    static final String VALID_RESPONSE = "{\"bookingid\":1,\"booking\":{\"firstname\":\"John\",\"lastname\":\"Doe\",\"totalprice\":123,"
+            + "\"depositpaid\":true,\"bookingdates\":{\"checkin\":\"2021-01-01\",\"checkout\":\"2021-01-10\"},\"additionalneeds\":\"Breakfast\"}}";
+
+    private final CompiledSchema schema = SchemaValidator.schema(SchemaValidator.BOOKING_SCHEMA);
+
+    @Test
+    public void testValidResponseMatchesClasspathValidator() {
+        assertTrue(JsonSchemaValidator.matchesJsonSchemaInClasspath(SchemaValidator.BOOKING_SCHEMA).matches(VALID_RESPONSE));
+        assertEquals(List.of(), schema.validate(bytes(VALID_RESPONSE)));
+        assertSame(schema, SchemaValidator.schema(SchemaValidator.BOOKING_SCHEMA));
+    }
+
+    @Test
+    public void testTypeAndRequiredViolations() {
+        String body = "{\"bookingid\":\"1\",\"booking\":{\"firstname\":\"John\",\"totalprice\":12.5,"
+                + "\"depositpaid\":true,\"bookingdates\":{\"checkin\":\"2021-01-01\"}}}";
+
+        List<String> errors = schema.validate(bytes(body));
+
+        assertAll("Verify reported violations",
+                () -> assertTrue(errors.contains("$.bookingid: expected integer but was string"), errors.toString()),
+                () -> assertTrue(errors.contains("$.booking.totalprice: expected integer but was number"), errors.toString()),
+                () -> assertTrue(errors.contains("$.booking.lastname: required property is missing"), errors.toString()),
+                () -> assertTrue(errors.contains("$.booking.bookingdates.checkout: required property is missing"), errors.toString()),
+                () -> assertEquals(4, errors.size(), errors.toString())
+        );
+    }
+
+    @Test
+    public void testDateFormat() {
+        String body = VALID_RESPONSE.replace("2021-01-10", "2021-02-30").replace("2021-01-01", "01/01/2021");
+
+        List<String> errors = schema.validate(bytes(body));
+
+        assertEquals(List.of(
+                "$.booking.bookingdates.checkin: \"01/01/2021\" is not a valid date",
+                "$.booking.bookingdates.checkout: \"2021-02-30\" is not a valid date"), errors);
+    }
+
+    @Test
+    public void testRequiredNameListedTwice() {
+        CompiledSchema duplicate = SchemaValidator.schema("schemas/duplicate-required-schema.json");
+
+        assertEquals(List.of(), duplicate.validate(bytes("{\"firstname\":\"John\",\"lastname\":\"Doe\"}")));
+        assertEquals(List.of("$.lastname: required property is missing"), duplicate.validate(bytes("{\"firstname\":\"John\"}")));
+    }
+
+    @Test
+    public void testMalformedJsonIsReported() {
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> SchemaValidator.validate(SchemaValidator.BOOKING_SCHEMA, bytes("{\"bookingid\":1,")));
+        assertTrue(error.getMessage().contains("malformed JSON"), error.getMessage());
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.config.ConnectionPool;
+import com.restfulBooker.load.SoakMetric;
+import com.restfulBooker.load.SoakProfile;
+import com.restfulBooker.load.SoakReport;
+import com.restfulBooker.load.SoakRunner;
+import com.restfulBooker.load.SoakSample;
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+// samples JVM-wide thread and file counts, so other tests must not start or stop threads meanwhile
+@Isolated
+public class SoakRunnerTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSoakWritesTimeSeriesAndPassesWithoutLeaks() throws Exception {
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try (ConnectionPool pool = new ConnectionPool(4, 4, Duration.ofSeconds(30), Duration.ofSeconds(30))) {
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri(server.getBaseUri())
+                    .setConfig(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(pool.httpClientFactory())))
+                    .addHeader("Content-Type", "application/json")
+                    .addHeader("Accept", "application/json")
+                    .build();
+            String token = given(spec).body(Map.of("username", "admin", "password", "password123")).post("/auth").path("token");
+            Booking booking = new Booking("Soak", "Test", 100, true, new BookingDates("2021-01-01", "2021-01-03"), "Breakfast");
+
+            Path output = tempDir.resolve("soak.csv");
+            SoakReport report = new SoakRunner(spec, () -> token, () -> booking, pool).run(SoakProfile.builder()
+                    .duration(Duration.ofSeconds(3))
+                    .sampleInterval(Duration.ofMillis(250))
+                    .warmup(Duration.ofSeconds(1))
+                    .workers(2)
+                    .build(), output);
+
+            assertTrue(report.isPassed(), report.toString());
+            assertEquals(0, report.getErrors());
+            assertTrue(report.getIterations() > 0);
+            assertEquals(SoakMetric.values().length, report.getGrowth().size(), report.getGrowth().toString());
+
+            List<String> lines = Files.readAllLines(output);
+            assertEquals("elapsedSeconds,iterations,errors,heapAfterGcBytes,openFiles,threads,connections,directBufferBytes", lines.get(0));
+            assertEquals(report.getSamples().size() + 1, lines.size());
+            assertTrue(report.getSamples().size() >= 12, lines.toString());
+            String[] last = lines.get(lines.size() - 1).split(",");
+            assertEquals(report.getIterations(), Long.parseLong(last[1]));
+            assertTrue(Long.parseLong(last[6]) <= 4, "connections " + last[6]);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testSteadyGrowthAfterWarmupFailsTheRun() {
+        List<SoakSample> samples = new ArrayList<>();
+        for (int i = 0; i <= 30; i++) {
+            // heap jumps during the warmup and is noisy afterwards; threads climb one per sample
+            long heap = (i < 5 ? i * 50L : 250L + (i % 2) * 8) << 20;
+            samples.add(new SoakSample(i * 10_000L, i * 100L, 0, heap, 40, 20 + (i < 5 ? 0 : i), 4, -1));
+        }
+        SoakReport report = SoakReport.of(samples, SoakProfile.builder()
+                .duration(Duration.ofMinutes(5))
+                .warmup(Duration.ofSeconds(50))
+                .build());
+
+        assertFalse(report.isPassed());
+        assertEquals(1, report.getViolations().size(), report.toString());
+        assertTrue(report.getViolations().get(0).startsWith("threads grew by 25"), report.getViolations().toString());
+        assertTrue(Math.abs(report.getGrowth().get(SoakMetric.HEAP_AFTER_GC)) < 8L << 20);
+        assertFalse(report.getGrowth().containsKey(SoakMetric.DIRECT_BUFFERS));
+
+        assertTrue(SoakReport.of(samples, SoakProfile.builder()
+                .duration(Duration.ofMinutes(5))
+                .warmup(Duration.ofSeconds(50))
+                .allowedGrowth(SoakMetric.THREADS, 32L)
+                .build()).isPassed());
+    }
+}
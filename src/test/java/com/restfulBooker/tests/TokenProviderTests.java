@@ -0,0 +1,147 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.utilities.TokenProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenProviderTests {
+
+    private static final Logger logger = LogManager.getLogger(TokenProviderTests.class);
+
+    @Test
+    public void testConcurrentCallersShareOneFetch() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        try (TokenProvider provider = new TokenProvider(slowFetcher(fetches), Duration.ofMinutes(10), Duration.ofMinutes(1))) {
+            int workers = 500;
+            ExecutorService executor = Executors.newFixedThreadPool(workers);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> tokens = new ArrayList<>();
+            try {
+                for (int i = 0; i < workers; i++) {
+                    tokens.add(executor.submit(() -> {
+                        start.await();
+                        return provider.getToken();
+                    }));
+                }
+                start.countDown();
+                for (Future<String> token : tokens) {
+                    assertEquals("token-1", token.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            logger.info("Concurrent burst finished: {}", provider);
+            assertAll("Verify single-flight fetch",
+                    () -> assertEquals(1, fetches.get()),
+                    () -> assertEquals(1, provider.getRefreshes()),
+                    () -> assertEquals(workers, provider.getHits() + provider.getMisses())
+            );
+        }
+    }
+
+    @Test
+    public void testCachedTokenIsReusedUntilExpiry() throws Exception {
+        // the background refresh fails, so the token is only replaced once it has expired
+        AtomicInteger fetches = new AtomicInteger();
+        try (TokenProvider provider = new TokenProvider(() -> {
+            int fetch = fetches.incrementAndGet();
+            if (fetch == 2) {
+                throw new IllegalStateException("auth unavailable");
+            }
+            return "token-" + fetch;
+        }, Duration.ofMillis(200), Duration.ofMillis(50))) {
+            assertEquals("token-1", provider.getToken());
+            assertEquals("token-1", provider.getToken());
+            assertEquals(1, provider.getMisses());
+            assertEquals(1, provider.getHits());
+
+            Thread.sleep(250);
+            assertEquals("token-3", provider.getToken());
+            assertEquals(2, provider.getMisses());
+        }
+    }
+
+    @Test
+    public void testTokenIsRefreshedAheadOfExpiry() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try (TokenProvider provider = new TokenProvider(() -> {
+            int fetch = fetches.incrementAndGet();
+            if (fetch == 2) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "token-" + fetch;
+        }, Duration.ofMillis(500), Duration.ofMillis(400))) {
+            assertEquals("token-1", provider.getToken());
+            // the refresh starts 100 ms in by itself, without anyone asking for a token
+            while (fetches.get() < 2) {
+                Thread.sleep(5);
+            }
+            // and the cached token is still served while it runs
+            assertEquals("token-1", provider.getToken());
+            CompletableFuture<TokenProvider.CachedToken> refreshing = provider.refresh();
+            release.countDown();
+            assertEquals("token-2", refreshing.join().getValue());
+            assertEquals("token-2", provider.getToken());
+            assertEquals(1, provider.getMisses());
+        }
+    }
+
+    @Test
+    public void testInvalidateForcesNewFetch() {
+        AtomicInteger fetches = new AtomicInteger();
+        try (TokenProvider provider = new TokenProvider(() -> "token-" + fetches.incrementAndGet(), Duration.ofMinutes(10), Duration.ofMinutes(1))) {
+            assertEquals("token-1", provider.getToken());
+            provider.invalidate();
+            assertEquals("token-2", provider.getToken());
+        }
+    }
+
+    @Test
+    public void testIdleProviderStopsRefreshing() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        try (TokenProvider provider = new TokenProvider(() -> "token-" + fetches.incrementAndGet(), Duration.ofMillis(200), Duration.ofMillis(150))) {
+            assertEquals("token-1", provider.getToken());
+            // refreshed 50 ms in as token-1 was read, but token-2 never is, so it is not replaced
+            Thread.sleep(400);
+            assertEquals(2, fetches.get());
+            assertEquals("token-3", provider.getToken());
+            assertEquals(2, provider.getMisses());
+
+            provider.close();
+            Thread.sleep(250);
+            assertThrows(IllegalStateException.class, provider::getToken);
+            assertEquals(3, fetches.get());
+        }
+    }
+
+    private static Supplier<String> slowFetcher(AtomicInteger fetches) {
+        return () -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "token-" + fetches.incrementAndGet();
+        };
+    }
+}
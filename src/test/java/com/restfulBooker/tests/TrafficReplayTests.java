@@ -0,0 +1,224 @@
+package com.restfulBooker.tests;
+
+import com.restfulBooker.models.Booking;
+import com.restfulBooker.models.BookingDates;
+import com.restfulBooker.server.EmbeddedBookerServer;
+import com.restfulBooker.traffic.AccessLogReader;
+import com.restfulBooker.traffic.CaptureFile;
+import com.restfulBooker.traffic.CapturedExchange;
+import com.restfulBooker.traffic.ReplayOptions;
+import com.restfulBooker.traffic.ReplayReport;
+import com.restfulBooker.traffic.TrafficCaptureFilter;
+import com.restfulBooker.traffic.TrafficReplayer;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrafficReplayTests {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCapturedTrafficReplaysWithNewBookingIds() throws Exception {
+        Path capture = tempDir.resolve("traffic.bin");
+        EmbeddedBookerServer recorded = new EmbeddedBookerServer(0).start();
+        int kept;
+        try {
+            // two writers append two segments to the same file, as two suite runs would
+            for (int run = 0; run < 2; run++) {
+                try (TrafficCaptureFilter filter = new TrafficCaptureFilter(capture)) {
+                    RequestSpecification spec = spec(recorded.getBaseUri()).addFilter(filter).build();
+                    String token = token(spec);
+                    int id = given(spec).body(booking("Run" + run)).post("/booking").path("bookingid");
+                    given(spec).get("/booking/" + id).then().statusCode(200);
+                    given(spec).header("Cookie", "token=" + token).body("{\"additionalneeds\":\"Dinner\"}").patch("/booking/" + id).then().statusCode(200);
+                    if (run == 0) {
+                        given(spec).header("Cookie", "token=" + token).delete("/booking/" + id).then().statusCode(201);
+                        given(spec).get("/booking/{id}", id).then().statusCode(404);
+                    }
+                }
+            }
+        } finally {
+            recorded.stop();
+        }
+
+        List<CapturedExchange> exchanges;
+        try (Stream<CapturedExchange> read = CaptureFile.read(capture)) {
+            exchanges = read.collect(Collectors.toList());
+        }
+        assertTrue(CaptureFile.isCaptureFile(capture));
+        assertEquals(List.of("POST /auth", "POST /booking", "GET /booking/1", "PATCH /booking/1", "DELETE /booking/1", "GET /booking/1",
+                        "POST /auth", "POST /booking", "GET /booking/2", "PATCH /booking/2"),
+                exchanges.stream().map(exchange -> exchange.getMethod() + " " + exchange.getPath()).collect(Collectors.toList()));
+        CapturedExchange create = exchanges.get(7);
+        assertEquals(2, create.getCreatedId());
+        assertEquals(200, create.getStatus());
+        assertEquals("application/json", create.getHeaders().get("Content-Type"));
+        assertTrue(new String(create.getBody()).contains("\"firstname\":\"Run1\""), new String(create.getBody()));
+        assertEquals(404, exchanges.get(5).getStatus());
+        assertFalse(exchanges.get(2).isCreate());
+        assertTrue(exchanges.get(9).getStartMicros() > exchanges.get(0).getStartMicros());
+
+        EmbeddedBookerServer target = new EmbeddedBookerServer(0).start();
+        try {
+            RequestSpecification spec = spec(target.getBaseUri()).build();
+            for (int i = 0; i < 5; i++) {
+                given(spec).body(booking("Existing" + i)).post("/booking").then().statusCode(200);
+            }
+            String token = token(spec);
+            ReplayReport report;
+            try (TrafficReplayer replayer = new TrafficReplayer(ReplayOptions.builder()
+                    .baseUri(target.getBaseUri())
+                    .speed(0)
+                    .lanes(4)
+                    .tokenSupplier(() -> token)
+                    .build())) {
+                report = replayer.replay(exchanges.stream());
+            }
+            assertEquals(10, report.getSent());
+            assertEquals(0, report.getErrors());
+            assertEquals(0, report.getStatusMismatches(), report.toString());
+            assertEquals(2, report.getIdsMapped());
+
+            // the captured ids 1 and 2 belong to other bookings here and were left alone
+            given(spec).get("/booking/1").then().statusCode(200);
+            assertEquals("Existing1", given(spec).get("/booking/2").path("firstname"));
+            List<Integer> run1 = given(spec).get("/booking?firstname=Run1").jsonPath().getList("bookingid");
+            assertEquals(1, run1.size());
+            assertEquals("Dinner", given(spec).get("/booking/" + run1.get(0)).path("additionalneeds"));
+            assertTrue(given(spec).get("/booking?firstname=Run0").jsonPath().getList("bookingid").isEmpty());
+        } finally {
+            target.stop();
+        }
+    }
+
+    @Test
+    public void testAppendingAfterATornRecordDropsIt() throws Exception {
+        Path capture = tempDir.resolve("torn.bin");
+        EmbeddedBookerServer recorded = new EmbeddedBookerServer(0).start();
+        try {
+            try (TrafficCaptureFilter filter = new TrafficCaptureFilter(capture)) {
+                RequestSpecification spec = spec(recorded.getBaseUri()).addFilter(filter).build();
+                token(spec);
+                given(spec).body(booking("Torn")).post("/booking").then().statusCode(200);
+            }
+            // a crash part way through writing the create
+            try (FileChannel channel = FileChannel.open(capture, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 3);
+            }
+            try (TrafficCaptureFilter filter = new TrafficCaptureFilter(capture)) {
+                given(spec(recorded.getBaseUri()).addFilter(filter).build()).get("/ping").then().statusCode(201);
+            }
+        } finally {
+            recorded.stop();
+        }
+
+        List<CapturedExchange> exchanges;
+        try (Stream<CapturedExchange> read = CaptureFile.read(capture)) {
+            exchanges = read.collect(Collectors.toList());
+        }
+        assertEquals(List.of("POST /auth", "GET /ping"),
+                exchanges.stream().map(exchange -> exchange.getMethod() + " " + exchange.getPath()).collect(Collectors.toList()));
+        assertEquals(201, exchanges.get(1).getStatus());
+        assertEquals(List.of(0, 1), exchanges.stream().map(CapturedExchange::getSegment).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testPacedReplayKeepsCompressedInterArrivalTimes() {
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try (TrafficReplayer replayer = new TrafficReplayer(ReplayOptions.builder().baseUri(server.getBaseUri()).speed(4).build())) {
+            List<CapturedExchange> exchanges = List.of(ping(0), ping(400_000), ping(800_000), ping(1_200_000));
+            ReplayReport report = replayer.replay(exchanges.stream());
+            assertEquals(4, report.getSent());
+            assertEquals(0, report.getStatusMismatches());
+            // 1.2 s of captured traffic at 4x takes 300 ms
+            assertTrue(report.getElapsed().toMillis() >= 295, report.toString());
+            assertTrue(report.getElapsed().toMillis() < 1_000, report.toString());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testPacedReplayRestartsTimingAtEachSegment() {
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try (TrafficReplayer replayer = new TrafficReplayer(ReplayOptions.builder().baseUri(server.getBaseUri()).speed(4).build())) {
+            long day = 86_400_000_000L;
+            List<CapturedExchange> exchanges = List.of(ping(0, 0), ping(400_000, 0), ping(day, 1), ping(day + 400_000, 1));
+            ReplayReport report = replayer.replay(exchanges.stream());
+            assertEquals(4, report.getSent());
+            // 100 ms for each segment, not the 6 hours between them at 4x
+            assertTrue(report.getElapsed().toMillis() >= 195, report.toString());
+            assertTrue(report.getElapsed().toMillis() < 1_000, report.toString());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testAccessLogReplaysWithSynthesizedBodies() throws Exception {
+        Path log = tempDir.resolve("access.log");
+        Files.write(log, List.of(
+                "10.0.0.1 - - [10/Oct/2023:13:55:36 +0000] \"POST /booking HTTP/1.1\" 200 190",
+                "10.0.0.2 - - [10/Oct/2023:13:55:37 +0000] \"GET /booking/900 HTTP/1.1\" 200 170 \"-\" \"curl/8.0\"",
+                "not an access log line",
+                "10.0.0.2 - - [10/Oct/2023:13:55:38 +0000] \"PUT /booking/900 HTTP/1.1\" 200 170",
+                "10.0.0.2 - - [10/Oct/2023:13:55:38 +0000] \"PATCH /booking/900 HTTP/1.1\" 200 170",
+                "10.0.0.2 - - [10/Oct/2023:13:55:39 +0000] \"GET /booking?firstname=Sally HTTP/1.1\" 200 20",
+                "10.0.0.2 - - [10/Oct/2023:13:55:40 +0000] \"DELETE /booking/900 HTTP/1.1\" 201 7",
+                "10.0.0.2 - - [10/Oct/2023:13:55:41 +0000] \"GET /booking/900 HTTP/1.1\" 404 9"));
+
+        EmbeddedBookerServer server = new EmbeddedBookerServer(0).start();
+        try (TrafficReplayer replayer = new TrafficReplayer(ReplayOptions.builder()
+                .baseUri(server.getBaseUri())
+                .speed(0)
+                .lanes(1)
+                .tokenSupplier(() -> token(spec(server.getBaseUri()).build()))
+                .build());
+             Stream<CapturedExchange> exchanges = AccessLogReader.read(log, 1)) {
+            ReplayReport report = replayer.replay(exchanges);
+            assertEquals(7, report.getSent());
+            assertEquals(0, report.getStatusMismatches(), report.toString());
+            assertEquals(1, report.getIdsMapped());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static CapturedExchange ping(long offsetMicros) {
+        return ping(offsetMicros, 0);
+    }
+
+    private static CapturedExchange ping(long offsetMicros, int segment) {
+        return new CapturedExchange(1_000_000_000L + offsetMicros, 0, "GET", "/ping", Map.of(), new byte[0], 201, CapturedExchange.NOT_A_CREATE, segment);
+    }
+
+    private static RequestSpecBuilder spec(String baseUri) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Accept", "application/json");
+    }
+
+    private static String token(RequestSpecification spec) {
+        return given(spec).body(Map.of("username", "admin", "password", "password123")).post("/auth").path("token");
+    }
+
+    private static Booking booking(String firstname) {
+        return new Booking(firstname, "Replay", 150, true, new BookingDates("2021-03-01", "2021-03-04"), "Breakfast");
+    }
+}